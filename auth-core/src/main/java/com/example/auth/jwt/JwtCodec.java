@@ -0,0 +1,222 @@
+package com.example.auth.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.jsonwebtoken.impl.TextCodec;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * JWT编解码（HS512）
+ * servlet应用和reactive应用共用，两边签发的token格式完全一致，可以互相验证
+ * <p>
+ * 签名密钥在构造时构建一次，HS512签名使用线程本地的Mac实例，
+ * token的编解码不依赖每次新建的jjwt parser，生成的token与jjwt（HS512）格式完全兼容
+ * 实例线程安全，验证只做HMAC计算，可在事件循环线程上执行
+ */
+public class JwtCodec {
+
+    /**
+     * 签名算法
+     */
+    private static final SignatureAlgorithm ALGORITHM = SignatureAlgorithm.HS512;
+
+    /**
+     * 固定的JWT头部：{"alg":"HS512"}
+     */
+    private static final String HEADER_JSON = "{\"alg\":\"" + ALGORITHM.getValue() + "\"}";
+
+    private static final Base64.Encoder BASE64_URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+    /**
+     * HS512签名（64字节）Base64URL编码后的长度
+     */
+    private static final int SIGNATURE_LENGTH = 86;
+
+    /**
+     * 编码后的JWT头部，所有token共用
+     */
+    private static final String ENCODED_HEADER =
+            BASE64_URL_ENCODER.encodeToString(HEADER_JSON.getBytes(StandardCharsets.UTF_8));
+
+    /**
+     * JWT头部和claims的JSON读写器（线程安全，可复用）
+     * 使用独立的ObjectMapper，不受应用全局Jackson配置（如Long转String）影响
+     */
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectReader MAP_READER = JSON.readerFor(Map.class);
+    private static final ObjectWriter MAP_WRITER = JSON.writerFor(Map.class);
+
+    /**
+     * 签名密钥（构造时构建一次，不可变）
+     */
+    private final SecretKeySpec signingKey;
+
+    /**
+     * 线程本地的HMAC实例，避免每次签名/验签都查找算法提供者并初始化Mac
+     */
+    private final ThreadLocal<Mac> macHolder;
+
+    /**
+     * 构造函数
+     *
+     * @param secret Base64编码的密钥，与jjwt的signWith(alg, String)/setSigningKey(String)一致
+     */
+    public JwtCodec(String secret) {
+        byte[] keyBytes = secret == null ? null : TextCodec.BASE64.decode(secret);
+        if (keyBytes == null || keyBytes.length == 0) {
+            throw new IllegalStateException("jwt.secret must be a non-empty Base64 encoded key");
+        }
+        signingKey = new SecretKeySpec(keyBytes, ALGORITHM.getJcaName());
+        macHolder = ThreadLocal.withInitial(this::newMac);
+        // 构造时初始化一次，密钥不可用时尽早失败
+        newMac();
+    }
+
+    /**
+     * 对claims进行HS512签名，生成紧凑格式的JWS
+     *
+     * @param claims token声明
+     * @return JWT token
+     */
+    public String sign(Map<String, Object> claims) {
+        String payload;
+        try {
+            payload = BASE64_URL_ENCODER.encodeToString(MAP_WRITER.writeValueAsBytes(claims));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to serialize JWT claims", ex);
+        }
+
+        String signingInput = ENCODED_HEADER + '.' + payload;
+        byte[] signature = mac().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + '.' + BASE64_URL_ENCODER.encodeToString(signature);
+    }
+
+    /**
+     * 校验token并解析claims
+     * 校验内容与jjwt的parseClaimsJws一致：结构、算法、签名、exp和nbf，
+     * 但按开销从低到高排列，并以返回值代替异常；结构和exp在计算HMAC之前检查，格式错误或已过期的token不会消耗签名计算
+     *
+     * @param token JWT token
+     * @return 验证结果，验证通过时包含claims（只读，调用方不要修改）
+     */
+    public TokenVerification verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return TokenVerification.failed(TokenStatus.MALFORMED);
+        }
+
+        // 结构检查：header.payload.signature，各段均为Base64URL字符，签名长度固定
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot <= firstDot + 1
+                || token.length() - secondDot - 1 != SIGNATURE_LENGTH
+                || !isBase64Url(token, 0, firstDot)
+                || !isBase64Url(token, firstDot + 1, secondDot)
+                || !isBase64Url(token, secondDot + 1, token.length())) {
+            return TokenVerification.failed(TokenStatus.MALFORMED);
+        }
+
+        // 头部检查：只接受HS512，拒绝alg=none等其他算法
+        if (!token.regionMatches(0, ENCODED_HEADER, 0, firstDot) || firstDot != ENCODED_HEADER.length()) {
+            Map<String, Object> header = readJson(token.substring(0, firstDot));
+            if (header == null) {
+                return TokenVerification.failed(TokenStatus.MALFORMED);
+            }
+            if (!ALGORITHM.getValue().equals(header.get("alg"))) {
+                return TokenVerification.failed(TokenStatus.BAD_SIGNATURE);
+            }
+        }
+
+        // 解析claims并检查有效期（在计算HMAC之前，过期token无需验签）
+        Map<String, Object> body = readJson(token.substring(firstDot + 1, secondDot));
+        if (body == null) {
+            return TokenVerification.failed(TokenStatus.MALFORMED);
+        }
+        Claims claims = new DefaultClaims(body);
+        long now = System.currentTimeMillis();
+        Date expiration;
+        Date notBefore;
+        try {
+            expiration = claims.getExpiration();
+            notBefore = claims.getNotBefore();
+        } catch (RuntimeException ex) {
+            // exp/nbf不是合法的时间值
+            return TokenVerification.failed(TokenStatus.MALFORMED);
+        }
+        if ((expiration != null && now >= expiration.getTime())
+                || (notBefore != null && now < notBefore.getTime())) {
+            return TokenVerification.failed(TokenStatus.EXPIRED);
+        }
+
+        // 签名检查（常量时间比较）
+        byte[] expected = mac().doFinal(token.substring(0, secondDot).getBytes(StandardCharsets.US_ASCII));
+        byte[] actual = BASE64_URL_DECODER.decode(token.substring(secondDot + 1));
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return TokenVerification.failed(TokenStatus.BAD_SIGNATURE);
+        }
+        return TokenVerification.valid(claims);
+    }
+
+    /**
+     * 判断指定区间内的字符是否都是Base64URL字符
+     */
+    private static boolean isBase64Url(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 解码Base64URL编码的JSON对象
+     *
+     * @return 解析结果，内容不是合法的JSON对象时返回null
+     */
+    private static Map<String, Object> readJson(String base64Url) {
+        try {
+            return MAP_READER.readValue(BASE64_URL_DECODER.decode(base64Url));
+        } catch (IOException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * 获取当前线程的Mac实例
+     */
+    private Mac mac() {
+        Mac mac = macHolder.get();
+        // 防御性重置，确保上一次异常中断不会残留状态
+        mac.reset();
+        return mac;
+    }
+
+    /**
+     * 创建并初始化一个新的HS512 Mac实例
+     */
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM.getJcaName());
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to initialize " + ALGORITHM.getJcaName(), ex);
+        }
+    }
+}
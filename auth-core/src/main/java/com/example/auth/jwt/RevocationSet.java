@@ -0,0 +1,241 @@
+package com.example.auth.jwt;
+
+import com.example.auth.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 一种token（访问token或刷新token）的已吊销jti名单
+ * 1. 名单按token过期时间分代，每代覆盖该类token有效期/generations的时间窗口，各代有独立的布隆过滤器和jti集合
+ * 2. 检查时根据exp直接定位所在的代，布隆过滤器判断"一定不存在"即放行，绝大多数请求不访问jti集合
+ * 3. 布隆过滤器命中时以jti集合为准：误判只多一次集合查询，不会把未吊销的token判为已吊销
+ * 4. 一代的时间窗口结束后，其中的token都已过期，整代丢弃，无需逐条清理或重建布隆过滤器
+ * jti集合条数有上限，已满时不再记录新的吊销并返回false，由调用方决定如何处理
+ */
+@Slf4j
+public class RevocationSet {
+
+    /**
+     * 名单已满日志的最小输出间隔（毫秒）
+     */
+    private static final long FULL_LOG_INTERVAL = 60000;
+
+    /**
+     * 名称，用于日志
+     */
+    private final String name;
+
+    /**
+     * 布隆过滤器期望误判率
+     */
+    private final double falsePositiveRate;
+
+    /**
+     * jti集合最大条数
+     */
+    private final int maxSize;
+
+    /**
+     * 每代覆盖的时间窗口（毫秒）
+     */
+    private final long window;
+
+    /**
+     * 每代的预计吊销数
+     */
+    private final long expectedPerGeneration;
+
+    /**
+     * 各代名单：时间窗口序号（exp/窗口长度） -> 名单
+     */
+    private final ConcurrentSkipListMap<Long, Generation> generationMap = new ConcurrentSkipListMap<>();
+
+    /**
+     * jti集合总条数
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final LongAdder bloomNegativeCount = new LongAdder();
+    private final LongAdder revokedCount = new LongAdder();
+    private final LongAdder falsePositiveCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+
+    /**
+     * 上次输出名单已满日志的时间
+     */
+    private final AtomicLong lastFullLogTime = new AtomicLong();
+
+    /**
+     * 构造函数
+     *
+     * @param name               名称，用于日志
+     * @param ttl                该类token的有效期（毫秒）
+     * @param generations        分代数，每代覆盖的时间窗口为ttl/generations
+     * @param expectedInsertions token有效期内预计的吊销数，各代布隆过滤器按其1/generations计算大小
+     * @param falsePositiveRate  布隆过滤器期望误判率
+     * @param maxSize            jti集合最大条数
+     */
+    public RevocationSet(String name, long ttl, int generations, long expectedInsertions,
+                         double falsePositiveRate, int maxSize) {
+        int count = Math.max(1, generations);
+        this.name = name;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxSize = maxSize;
+        this.window = Math.max(1, ttl / count);
+        this.expectedPerGeneration = Math.max(1, expectedInsertions / count);
+        log.info("token吊销名单[{}]: generations={}, window={}ms, expectedPerGeneration={}, maxSize={}",
+                name, count, window, expectedPerGeneration, maxSize);
+    }
+
+    /**
+     * 记录已吊销的jti，直到expiration
+     * 多个线程同时记录同一jti时只有一个返回true
+     *
+     * @param jti        token唯一标识
+     * @param expiration token过期时间（毫秒）
+     * @return 是否为本次新记录；已过期、此前已记录或名单已满时返回false
+     */
+    public boolean add(String jti, long expiration) {
+        long now = System.currentTimeMillis();
+        if (expiration <= now) {
+            return false;
+        }
+        purgeExpired(now);
+
+        Generation generation = generationMap.computeIfAbsent(expiration / window,
+                key -> new Generation(new BloomFilter(expectedPerGeneration, falsePositiveRate)));
+        if (generation.jtis.contains(jti)) {
+            return false;
+        }
+        if (size.incrementAndGet() > maxSize) {
+            size.decrementAndGet();
+            droppedCount.increment();
+            logFull(now);
+            return false;
+        }
+        // 先写布隆过滤器，其他线程一旦在jti集合中看到该jti，布隆过滤器必然已命中
+        generation.bloomFilter.put(jti);
+        if (!generation.jtis.add(jti)) {
+            size.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 判断jti是否已吊销
+     *
+     * @param jti        token唯一标识
+     * @param expiration token过期时间（毫秒）
+     * @return 是否已吊销
+     */
+    public boolean contains(String jti, long expiration) {
+        if (generationMap.isEmpty()) {
+            return false;
+        }
+        Generation generation = generationMap.get(expiration / window);
+        if (generation == null || !generation.bloomFilter.mightContain(jti)) {
+            bloomNegativeCount.increment();
+            return false;
+        }
+        if (generation.jtis.contains(jti)) {
+            revokedCount.increment();
+            return true;
+        }
+        falsePositiveCount.increment();
+        return false;
+    }
+
+    /**
+     * jti集合总条数
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * 每代覆盖的时间窗口（毫秒）
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * 每代的预计吊销数
+     */
+    public long getExpectedPerGeneration() {
+        return expectedPerGeneration;
+    }
+
+    /**
+     * 布隆过滤器判断不存在、直接放行的检查次数
+     */
+    public long getBloomNegativeCount() {
+        return bloomNegativeCount.sum();
+    }
+
+    /**
+     * 判定为已吊销的检查次数
+     */
+    public long getRevokedCount() {
+        return revokedCount.sum();
+    }
+
+    /**
+     * 布隆过滤器误判、经jti集合确认未吊销的检查次数
+     */
+    public long getFalsePositiveCount() {
+        return falsePositiveCount.sum();
+    }
+
+    /**
+     * 名单已满未能记录的吊销次数
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * 丢弃时间窗口已结束的代，其中的token都已过期
+     *
+     * @param now 当前时间（毫秒）
+     */
+    private void purgeExpired(long now) {
+        ConcurrentNavigableMap<Long, Generation> expired = generationMap.headMap(now / window);
+        for (Map.Entry<Long, Generation> entry : expired.entrySet()) {
+            if (generationMap.remove(entry.getKey(), entry.getValue())) {
+                size.addAndGet(-entry.getValue().jtis.size());
+            }
+        }
+    }
+
+    /**
+     * 名单已满，按时间间隔采样输出日志
+     */
+    private void logFull(long now) {
+        long last = lastFullLogTime.get();
+        if (now - last >= FULL_LOG_INTERVAL && lastFullLogTime.compareAndSet(last, now)) {
+            log.warn("token吊销名单[{}]已达上限{}条，新的吊销未记录，累计{}次", name, maxSize, droppedCount.sum());
+        }
+    }
+
+    /**
+     * 一个时间窗口内过期的已吊销token
+     */
+    private static class Generation {
+        private final BloomFilter bloomFilter;
+        private final Set<String> jtis = ConcurrentHashMap.newKeySet();
+
+        private Generation(BloomFilter bloomFilter) {
+            this.bloomFilter = bloomFilter;
+        }
+    }
+}
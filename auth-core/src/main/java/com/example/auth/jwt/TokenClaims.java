@@ -0,0 +1,115 @@
+package com.example.auth.jwt;
+
+import cn.hutool.core.util.IdUtil;
+import io.jsonwebtoken.Claims;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * token claims的结构
+ * servlet应用和reactive应用按相同的字段签发和识别token：
+ * 1. 公共字段：sub（用户ID）、iat、exp（秒）、jti（用于吊销）、typ（access/refresh）
+ * 2. 访问token另外携带用户名、昵称、状态和权限，认证时可直接由claims构建用户主体
+ * 访问/刷新token拆分前签发的旧token没有typ和jti
+ */
+public final class TokenClaims {
+
+    /**
+     * token类型
+     */
+    public static final String TYPE = "typ";
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
+    /**
+     * 访问token中的用户主体字段
+     */
+    public static final String USERNAME = "username";
+    public static final String NICKNAME = "nickname";
+    public static final String STATUS = "status";
+    public static final String AUTHORITIES = "auth";
+
+    private TokenClaims() {
+    }
+
+    /**
+     * 构建公共claims（时间字段按JWT规范使用秒）
+     *
+     * @param userId 用户ID
+     * @param type   token类型
+     * @param ttl    有效期（毫秒）
+     * @return 可继续写入的claims
+     */
+    public static Map<String, Object> base(Long userId, String type, long ttl) {
+        long now = System.currentTimeMillis();
+        Map<String, Object> claims = new LinkedHashMap<>(16);
+        claims.put(Claims.SUBJECT, Long.toString(userId));        // 主题（用户ID）
+        claims.put(Claims.ISSUED_AT, now / 1000);                 // 签发时间
+        claims.put(Claims.EXPIRATION, (now + ttl) / 1000);        // 过期时间
+        claims.put(Claims.ID, IdUtil.fastSimpleUUID());           // 唯一标识，用于吊销
+        claims.put(TYPE, type);                                   // token类型
+        return claims;
+    }
+
+    /**
+     * 写入访问token的用户主体字段
+     *
+     * @param claims      token claims
+     * @param username    用户名
+     * @param nickname    昵称
+     * @param status      状态
+     * @param authorities 权限名称
+     */
+    public static void writePrincipal(Map<String, Object> claims, String username, String nickname,
+                                      Integer status, Collection<String> authorities) {
+        claims.put(USERNAME, username);
+        claims.put(NICKNAME, nickname);
+        claims.put(STATUS, status);
+        claims.put(AUTHORITIES, authorities);
+    }
+
+    /**
+     * 判断是否为刷新token
+     * 没有类型的token（拆分前签发）视为访问token
+     *
+     * @param claims 已验证的claims
+     * @return 是否为刷新token
+     */
+    public static boolean isRefreshToken(Claims claims) {
+        return TYPE_REFRESH.equals(claims.get(TYPE));
+    }
+
+    /**
+     * 判断是否为访问/刷新token拆分前签发的旧格式token（没有typ或jti，无法吊销）
+     *
+     * @param claims 已验证的claims
+     * @return 是否为旧格式token
+     */
+    public static boolean isLegacy(Claims claims) {
+        return claims.get(TYPE) == null || claims.getId() == null;
+    }
+
+    /**
+     * 用户ID
+     *
+     * @param claims 已验证的claims
+     * @return 用户ID
+     */
+    public static Long userId(Claims claims) {
+        return Long.parseLong(claims.getSubject());
+    }
+
+    /**
+     * 访问token中的权限名称
+     *
+     * @param claims 已验证的claims
+     * @return 权限名称，claims中没有权限字段时返回null
+     */
+    public static List<?> authorities(Claims claims) {
+        Object names = claims.get(AUTHORITIES);
+        return names instanceof List ? (List<?>) names : null;
+    }
+}
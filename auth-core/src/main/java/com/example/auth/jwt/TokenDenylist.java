@@ -0,0 +1,118 @@
+package com.example.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Date;
+
+/**
+ * 已吊销token名单（内存）
+ * 用户登出或刷新token轮换时记录token的jti，认证过滤器和刷新接口验签通过后检查token是否已吊销
+ * 访问token和刷新token的有效期和吊销频率相差很大，各自使用独立的{@link RevocationSet}：
+ * 分代窗口按各自的有效期计算，布隆过滤器按各自的预计吊销数计算大小，短有效期token的吊销不会挤占另一方的容量
+ * 布隆过滤器只用于快速放行，是否已吊销始终以jti集合为准；名单已满时新的吊销不再记录，{@link #revoke}返回false
+ * 名单只保存在当前实例内存中，多实例部署时各实例独立；由各应用按配置创建，检查结果计数可注册为指标
+ */
+@Slf4j
+public class TokenDenylist {
+
+    /**
+     * 是否启用
+     */
+    private final boolean enabled;
+
+    /**
+     * 访问token名单
+     */
+    private final RevocationSet access;
+
+    /**
+     * 刷新token名单
+     */
+    private final RevocationSet refresh;
+
+    /**
+     * 构造函数
+     *
+     * @param enabled 是否启用
+     * @param access  访问token名单
+     * @param refresh 刷新token名单
+     */
+    public TokenDenylist(boolean enabled, RevocationSet access, RevocationSet refresh) {
+        this.enabled = enabled;
+        this.access = access;
+        this.refresh = refresh;
+        log.info("token吊销名单: enabled={}", enabled);
+    }
+
+    /**
+     * 吊销token，直到token自身过期
+     * 没有jti或exp的token（本功能上线前签发）无法吊销，只能等待其自然过期
+     * 多个线程同时吊销同一token时只有一个返回true，刷新token轮换据此拒绝重复使用；
+     * 名单已满时同样返回false，刷新token轮换随之失败（需要重新登录），访问token在剩余有效期内仍可使用
+     *
+     * @param claims 已验证的token claims
+     * @return 是否为本次新吊销；未启用、token无法吊销、此前已吊销或名单已满时返回false
+     */
+    public boolean revoke(Claims claims) {
+        String jti = claims.getId();
+        Date expiration = claims.getExpiration();
+        if (!enabled || jti == null || expiration == null) {
+            return false;
+        }
+        return revocations(claims).add(jti, expiration.getTime());
+    }
+
+    /**
+     * 判断token是否已吊销
+     *
+     * @param claims 已验证的token claims
+     * @return 是否已吊销
+     */
+    public boolean isRevoked(Claims claims) {
+        if (!enabled) {
+            return false;
+        }
+        String jti = claims.getId();
+        Date expiration = claims.getExpiration();
+        if (jti == null || expiration == null) {
+            return false;
+        }
+        return revocations(claims).contains(jti, expiration.getTime());
+    }
+
+    /**
+     * 是否启用
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * jti集合总条数
+     */
+    public int size() {
+        return access.size() + refresh.size();
+    }
+
+    /**
+     * 访问token名单
+     */
+    public RevocationSet getAccess() {
+        return access;
+    }
+
+    /**
+     * 刷新token名单
+     */
+    public RevocationSet getRefresh() {
+        return refresh;
+    }
+
+    /**
+     * token类型对应的名单
+     */
+    private RevocationSet revocations(Claims claims) {
+        return TokenClaims.isRefreshToken(claims) ? refresh : access;
+    }
+}
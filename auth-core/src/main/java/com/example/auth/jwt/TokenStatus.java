@@ -0,0 +1,26 @@
+package com.example.auth.jwt;
+
+/**
+ * JWT token验证结果
+ */
+public enum TokenStatus {
+    /**
+     * token有效
+     */
+    VALID,
+
+    /**
+     * token不在有效期内（已过期或尚未生效）
+     */
+    EXPIRED,
+
+    /**
+     * 签名不匹配或签名算法不受支持
+     */
+    BAD_SIGNATURE,
+
+    /**
+     * token格式错误（结构、编码或JSON内容无法解析）
+     */
+    MALFORMED
+}
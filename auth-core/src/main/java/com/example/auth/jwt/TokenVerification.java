@@ -0,0 +1,94 @@
+package com.example.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.function.Function;
+
+/**
+ * JWT token验证结果及解析出的claims
+ * 验证失败的结果使用共享实例，失败路径不产生额外对象；
+ * 验证通过的结果随已验证token缓存复用，由claims构建的用户主体也随之复用
+ * 用户主体的类型由使用方决定，见{@link #getPrincipal(Function)}
+ */
+public final class TokenVerification {
+
+    private static final TokenVerification EXPIRED = new TokenVerification(TokenStatus.EXPIRED, null);
+    private static final TokenVerification BAD_SIGNATURE = new TokenVerification(TokenStatus.BAD_SIGNATURE, null);
+    private static final TokenVerification MALFORMED = new TokenVerification(TokenStatus.MALFORMED, null);
+
+    /**
+     * 验证结果
+     */
+    private final TokenStatus status;
+
+    /**
+     * 解析出的claims，仅在验证通过时不为空
+     */
+    private final Claims claims;
+
+    /**
+     * 由claims构建的用户主体，首次获取时构建
+     */
+    private volatile Object principal;
+
+    private TokenVerification(TokenStatus status, Claims claims) {
+        this.status = status;
+        this.claims = claims;
+    }
+
+    /**
+     * 验证通过的结果
+     *
+     * @param claims 解析出的claims
+     */
+    public static TokenVerification valid(Claims claims) {
+        return new TokenVerification(TokenStatus.VALID, claims);
+    }
+
+    /**
+     * 验证失败的结果
+     *
+     * @param status 失败原因
+     */
+    public static TokenVerification failed(TokenStatus status) {
+        switch (status) {
+            case EXPIRED:
+                return EXPIRED;
+            case BAD_SIGNATURE:
+                return BAD_SIGNATURE;
+            case MALFORMED:
+                return MALFORMED;
+            default:
+                throw new IllegalArgumentException("Not a failure status: " + status);
+        }
+    }
+
+    public TokenStatus getStatus() {
+        return status;
+    }
+
+    public Claims getClaims() {
+        return claims;
+    }
+
+    public boolean isValid() {
+        return status == TokenStatus.VALID;
+    }
+
+    /**
+     * 由claims构建的用户主体（只读，多个请求共享同一实例）
+     * 首次调用时用reader构建并缓存，同一进程内应始终传入同一个reader
+     *
+     * @param reader 由claims构建用户主体的方法，claims中没有用户信息时返回null
+     * @return 用户主体，验证未通过或claims中没有用户信息时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getPrincipal(Function<Claims, T> reader) {
+        Object result = principal;
+        if (result == null && claims != null) {
+            result = reader.apply(claims);
+            principal = result;
+        }
+        return (T) result;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.auth.password;
+
+import com.example.auth.util.MD5Util;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.regex.Pattern;
+
+/**
+ * 旧格式密码校验器
+ * 用于校验没有算法前缀的历史密码：
+ * 1. 不带{bcrypt}前缀的BCrypt哈希
+ * 2. MD5Util生成的32位MD5哈希
+ * 只用于校验，校验通过后由登录流程升级为当前的默认格式
+ */
+public class LegacyPasswordEncoder implements PasswordEncoder {
+
+    /**
+     * BCrypt哈希格式
+     */
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2([ayb])?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    /**
+     * MD5Util哈希格式：32位小写十六进制
+     */
+    private static final Pattern MD5_PATTERN = Pattern.compile("\\A[0-9a-f]{32}\\z");
+
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        throw new UnsupportedOperationException("Legacy password formats are verify-only");
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        if (BCRYPT_PATTERN.matcher(encodedPassword).matches()) {
+            return bcrypt.matches(rawPassword, encodedPassword);
+        }
+        if (MD5_PATTERN.matcher(encodedPassword).matches()) {
+            return MD5Util.matches(rawPassword.toString(), encodedPassword);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return true;
+    }
+}
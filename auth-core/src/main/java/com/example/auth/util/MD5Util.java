@@ -1,6 +1,6 @@
-package com.example.util;
+package com.example.auth.util;
 
-import org.springframework.util.DigestUtils;
+import cn.hutool.crypto.digest.DigestUtil;
 
 /**
  * MD5工具类
@@ -23,7 +23,7 @@ public class MD5Util {
      * 对密码进行MD5加密
      * 加密过程：
      * 1. 将原始密码和盐值拼接
-     * 2. 使用Spring的DigestUtils进行MD5加密
+     * 2. 使用hutool的DigestUtil进行MD5加密
      * 3. 将结果转换为32位小写字符串
      *
      * @param password 原始密码
@@ -33,7 +33,7 @@ public class MD5Util {
         // 拼接盐值
         String saltPassword = SALT_PREFIX + password + SALT_SUFFIX;
         // 进行MD5加密并返回
-        return DigestUtils.md5DigestAsHex(saltPassword.getBytes());
+        return DigestUtil.md5Hex(saltPassword.getBytes());
     }
     
     /**
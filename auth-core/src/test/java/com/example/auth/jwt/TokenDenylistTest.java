@@ -0,0 +1,170 @@
+package com.example.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenDenylistTest {
+
+    /**
+     * 访问token有效期5分钟，刷新token有效期7天
+     */
+    private static final long ACCESS_TTL = 300000;
+    private static final long REFRESH_TTL = 604800000;
+
+    private static TokenDenylist denylist(long accessTtl, int generations, long expectedInsertions, int maxSize) {
+        return new TokenDenylist(true,
+                new RevocationSet("access", accessTtl, generations, expectedInsertions, 0.01, maxSize),
+                new RevocationSet("refresh", REFRESH_TTL, generations, expectedInsertions, 0.01, maxSize));
+    }
+
+    private static TokenDenylist denylist(long accessTtl, int generations, int maxSize) {
+        return denylist(accessTtl, generations, 10000L, maxSize);
+    }
+
+    private static Claims claims(String jti, long expiresInMs) {
+        return claims(jti, new Date(System.currentTimeMillis() + expiresInMs), TokenClaims.TYPE_ACCESS);
+    }
+
+    private static Claims claims(String jti, Date expiration, String type) {
+        Claims claims = new DefaultClaims();
+        claims.setId(jti);
+        claims.setExpiration(expiration);
+        claims.put(TokenClaims.TYPE, type);
+        return claims;
+    }
+
+    @Test
+    void revokesOnlyOnce() {
+        TokenDenylist denylist = denylist(ACCESS_TTL, 24, 100);
+        Claims revoked = claims("a", 200000);
+
+        assertThat(denylist.revoke(revoked)).isTrue();
+        assertThat(denylist.revoke(revoked)).isFalse();
+
+        assertThat(denylist.isRevoked(revoked)).isTrue();
+        assertThat(denylist.isRevoked(claims("b", 200000))).isFalse();
+        assertThat(denylist.size()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresTokensThatCannotBeRevoked() {
+        TokenDenylist denylist = denylist(ACCESS_TTL, 24, 100);
+        Claims legacy = new DefaultClaims();
+        legacy.setExpiration(new Date(System.currentTimeMillis() + 200000));
+
+        assertThat(denylist.revoke(legacy)).isFalse();
+        assertThat(denylist.revoke(claims("expired", -1000))).isFalse();
+        assertThat(denylist.isRevoked(legacy)).isFalse();
+        assertThat(denylist.size()).isZero();
+    }
+
+    @Test
+    void disabledDenylistRevokesNothing() {
+        TokenDenylist denylist = new TokenDenylist(false,
+                new RevocationSet("access", ACCESS_TTL, 24, 10000L, 0.01, 100),
+                new RevocationSet("refresh", REFRESH_TTL, 24, 10000L, 0.01, 100));
+        Claims claims = claims("a", 200000);
+
+        assertThat(denylist.revoke(claims)).isFalse();
+        assertThat(denylist.isRevoked(claims)).isFalse();
+    }
+
+    @Test
+    void accessAndRefreshTokensUseSeparateGenerations() {
+        TokenDenylist denylist = denylist(ACCESS_TTL, 24, 100);
+        Date expiration = new Date(System.currentTimeMillis() + 200000);
+        Claims access = claims("a", expiration, TokenClaims.TYPE_ACCESS);
+        Claims refresh = claims("a", expiration, TokenClaims.TYPE_REFRESH);
+
+        // 各自的窗口按各自的有效期计算
+        assertThat(denylist.getAccess().getWindow()).isEqualTo(ACCESS_TTL / 24);
+        assertThat(denylist.getRefresh().getWindow()).isEqualTo(REFRESH_TTL / 24);
+
+        assertThat(denylist.revoke(refresh)).isTrue();
+        assertThat(denylist.isRevoked(refresh)).isTrue();
+        assertThat(denylist.isRevoked(access)).isFalse();
+        assertThat(denylist.getRefresh().size()).isEqualTo(1);
+        assertThat(denylist.getAccess().size()).isZero();
+    }
+
+    @Test
+    void tokensInDifferentGenerationsAreTrackedSeparately() {
+        // 每代10秒
+        TokenDenylist denylist = denylist(240000, 24, 100);
+        Claims soon = claims("a", 5000);
+        Claims later = claims("b", 200000);
+
+        assertThat(denylist.revoke(soon)).isTrue();
+        assertThat(denylist.revoke(later)).isTrue();
+
+        assertThat(denylist.isRevoked(soon)).isTrue();
+        assertThat(denylist.isRevoked(later)).isTrue();
+        // 同一jti、不同过期时间的token落在另一代，不受影响
+        assertThat(denylist.isRevoked(claims("a", 200000))).isFalse();
+        assertThat(denylist.size()).isEqualTo(2);
+    }
+
+    @Test
+    void dropsGenerationsWhoseWindowHasEnded() throws InterruptedException {
+        // 每代1秒（exp精确到秒）
+        TokenDenylist denylist = denylist(2000, 2, 100);
+        Claims first = claims("a", 1500);
+        assertThat(denylist.revoke(first)).isTrue();
+        assertThat(denylist.size()).isEqualTo(1);
+
+        // 等到first所在的代整体过期，下一次吊销时丢弃
+        Thread.sleep(first.getExpiration().getTime() + 1000 - System.currentTimeMillis() + 50);
+        Claims second = claims("b", 1500);
+        assertThat(denylist.revoke(second)).isTrue();
+
+        assertThat(denylist.size()).isEqualTo(1);
+        assertThat(denylist.isRevoked(first)).isFalse();
+        assertThat(denylist.isRevoked(second)).isTrue();
+    }
+
+    @Test
+    void overfilledBloomFilterNeverRejectsUnrevokedTokens() {
+        // 每代预计10次吊销
+        TokenDenylist denylist = denylist(ACCESS_TTL, 24, 240L, 100000);
+        assertThat(denylist.getAccess().getExpectedPerGeneration()).isEqualTo(10);
+        // 同一时刻过期的短有效期token全部落在同一代，吊销数远超该代布隆过滤器的容量
+        Date expiration = new Date(System.currentTimeMillis() + 200000);
+        for (int i = 0; i < 5000; i++) {
+            assertThat(denylist.revoke(claims("revoked" + i, expiration, TokenClaims.TYPE_ACCESS))).isTrue();
+        }
+
+        for (int i = 0; i < 5000; i++) {
+            assertThat(denylist.isRevoked(claims("revoked" + i, expiration, TokenClaims.TYPE_ACCESS))).isTrue();
+            assertThat(denylist.isRevoked(claims("valid" + i, expiration, TokenClaims.TYPE_ACCESS))).isFalse();
+        }
+        // 布隆过滤器已几乎全部误判，但只多了jti集合查询
+        assertThat(denylist.getAccess().getFalsePositiveCount()).isGreaterThan(4000);
+    }
+
+    @Test
+    void fullDenylistDropsNewRevocationsWithoutRejectingOthers() {
+        TokenDenylist denylist = denylist(ACCESS_TTL, 1, 2);
+        Claims first = claims("a", 200000);
+        assertThat(denylist.revoke(first)).isTrue();
+        assertThat(denylist.revoke(claims("b", 200000))).isTrue();
+
+        // 已满：新的吊销不记录
+        Claims dropped = claims("c", 200000);
+        assertThat(denylist.revoke(dropped)).isFalse();
+        assertThat(denylist.isRevoked(dropped)).isFalse();
+        assertThat(denylist.getAccess().getDroppedCount()).isEqualTo(1);
+        assertThat(denylist.size()).isEqualTo(2);
+
+        // 已记录的仍然有效，未吊销的不受影响
+        assertThat(denylist.isRevoked(first)).isTrue();
+        assertThat(denylist.isRevoked(claims("d", 200000))).isFalse();
+        // 刷新token名单的容量独立
+        assertThat(denylist.revoke(claims("c", new Date(System.currentTimeMillis() + 200000),
+                TokenClaims.TYPE_REFRESH))).isTrue();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.auth.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsAddedValuesAsAbsent() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("user" + i);
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            assertThat(filter.mightContain("user" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        assertThat(filter.mightContain("alice")).isFalse();
+        assertThat(filter.mightContain("")).isFalse();
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(20000, 0.01);
+        for (int i = 0; i < 20000; i++) {
+            filter.put("user" + i);
+        }
+
+        int falsePositives = 0;
+        int probes = 100000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void sizesBitArrayAndHashCountFromParameters() {
+        BloomFilter filter = new BloomFilter(1000000, 0.01);
+
+        // m = -n*ln(p)/(ln2)^2 ≈ 9.59 bits per element, k ≈ 7
+        assertThat(filter.getBitSize()).isBetween(9500000L, 9700000L);
+        assertThat(filter.getBitSize() % 64).isZero();
+        assertThat(filter.getHashCount()).isEqualTo(7);
+    }
+
+    @Test
+    void handlesDegenerateParameters() {
+        BloomFilter filter = new BloomFilter(0, 0.5);
+        filter.put("alice");
+
+        assertThat(filter.getBitSize()).isEqualTo(64);
+        assertThat(filter.getHashCount()).isPositive();
+        assertThat(filter.mightContain("alice")).isTrue();
+    }
+
+    @Test
+    void supportsNonAsciiValues() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        filter.put("张三");
+
+        assertThat(filter.mightContain("张三")).isTrue();
+        assertThat(filter.mightContain("张四")).isFalse();
+    }
+
+    @Test
+    void concurrentPutsAreNotLost() throws Exception {
+        BloomFilter filter = new BloomFilter(80000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20000; i++) {
+                        filter.put(thread + ":" + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int t = 0; t < 4; t++) {
+            for (int i = 0; i < 20000; i++) {
+                assertThat(filter.mightContain(t + ":" + i)).isTrue();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * 响应式用户接口应用启动类
+ * WebFlux + R2DBC实现的/user/*接口，与servlet应用共用sys_user表和JWT密钥
+ */
+@SpringBootApplication
+public class ReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveApplication.class, args);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.reactive.common.api;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 统一API返回结果封装类
+ *
+ * @author example
+ * @version 1.0.0
+ * @since 2025-01-11
+ * @param <T> 返回数据类型
+ */
+@Data
+public class Result<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 状态码
+     */
+    private int code;
+
+    /**
+     * 返回消息
+     */
+    private String message;
+
+    /**
+     * 返回数据
+     */
+    private T data;
+
+    /**
+     * 默认构造函数
+     */
+    public Result() {}
+
+    /**
+     * 全参构造函数
+     *
+     * @param code 状态码
+     * @param message 返回消息
+     * @param data 返回数据
+     */
+    public Result(int code, String message, T data) {
+        this.code = code;
+        this.message = message;
+        this.data = data;
+    }
+
+    /**
+     * 成功返回结果
+     */
+    public static <T> Result<T> success() {
+        return new Result<>(ResultCode.SUCCESS.getCode(), ResultCode.SUCCESS.getMessage(), null);
+    }
+
+    /**
+     * 成功返回结果
+     *
+     * @param data 获取的数据
+     */
+    public static <T> Result<T> success(T data) {
+        return new Result<>(ResultCode.SUCCESS.getCode(), ResultCode.SUCCESS.getMessage(), data);
+    }
+
+    /**
+     * 成功返回结果
+     *
+     * @param message 提示信息
+     * @param data 获取的数据
+     */
+    public static <T> Result<T> success(String message, T data) {
+        return new Result<>(ResultCode.SUCCESS.getCode(), message, data);
+    }
+
+    /**
+     * 失败返回结果
+     */
+    public static <T> Result<T> failed() {
+        return new Result<>(ResultCode.FAILED.getCode(), ResultCode.FAILED.getMessage(), null);
+    }
+
+    /**
+     * 失败返回结果
+     *
+     * @param message 提示信息
+     */
+    public static <T> Result<T> failed(String message) {
+        return new Result<>(ResultCode.FAILED.getCode(), message, null);
+    }
+
+    /**
+     * 失败返回结果
+     *
+     * @param errorCode 错误码
+     */
+    public static <T> Result<T> failed(IErrorCode errorCode) {
+        return new Result<>(errorCode.getCode(), errorCode.getMessage(), null);
+    }
+
+    /**
+     * 未授权返回结果
+     */
+    public static <T> Result<T> unauthorized() {
+        return new Result<>(ResultCode.UNAUTHORIZED.getCode(), ResultCode.UNAUTHORIZED.getMessage(), null);
+    }
+
+    /**
+     * 未授权返回结果
+     *
+     * @param message 提示信息
+     */
+    public static <T> Result<T> unauthorized(String message) {
+        return new Result<>(ResultCode.UNAUTHORIZED.getCode(), message, null);
+    }
+}
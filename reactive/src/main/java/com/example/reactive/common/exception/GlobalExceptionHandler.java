@@ -0,0 +1,148 @@
+package com.example.reactive.common.exception;
+
+import com.example.reactive.common.api.Result;
+import com.example.reactive.common.api.ResultCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AccountStatusException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 全局异常处理器
+ * 与servlet应用的GlobalExceptionHandler返回相同的Result结构
+ */
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    /**
+     * 繁忙（429）日志的最小输出间隔（毫秒），间隔内的拒绝只计数，不逐条输出
+     */
+    @Value("${logging.rejected-log-interval:60000}")
+    private long rejectedLogInterval;
+
+    /**
+     * 繁忙（429）响应次数
+     */
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * 上次输出繁忙日志的时间
+     */
+    private final AtomicLong rejectedLastLogTime = new AtomicLong();
+
+    /**
+     * 上次输出繁忙日志时的累计次数
+     */
+    private volatile long rejectedLastLoggedCount;
+
+    /**
+     * 处理自定义API异常
+     *
+     * @param e API异常
+     * @return 处理结果
+     */
+    @ExceptionHandler(ApiException.class)
+    public Result<?> handleApiException(ApiException e) {
+        // 系统繁忙是预期内的过载保护，采样记录，其余异常逐条记录
+        if (e.getErrorCode() == ResultCode.TOO_MANY_REQUESTS) {
+            recordRejected();
+        } else {
+            log.error("Api异常：{}", e.getMessage());
+        }
+        // 带错误码的异常返回对应的错误码
+        if (e.getErrorCode() != null) {
+            return Result.failed(e.getErrorCode());
+        }
+        return Result.failed(e.getMessage());
+    }
+
+    /**
+     * 处理认证异常
+     * 登录时用户名或密码错误、账号被禁用等，返回明确的提示而不是系统异常
+     *
+     * @param e 认证异常
+     * @return 处理结果
+     */
+    @ExceptionHandler(AuthenticationException.class)
+    public Result<?> handleAuthenticationException(AuthenticationException e) {
+        log.warn("认证失败：{}", e.getMessage());
+        if (e instanceof BadCredentialsException) {
+            return Result.unauthorized("用户名或密码错误");
+        }
+        if (e instanceof AccountStatusException) {
+            return Result.unauthorized("账号已被禁用");
+        }
+        return Result.unauthorized("认证失败");
+    }
+
+    /**
+     * 处理参数验证异常
+     * 请求体使用@Validated验证失败时抛出，返回第一个字段错误：字段名 + 错误信息
+     *
+     * @param e 参数验证异常
+     * @return 处理结果
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public Result<?> handleBindException(WebExchangeBindException e) {
+        String message = null;
+        FieldError fieldError = e.getFieldError();
+        if (fieldError != null) {
+            message = fieldError.getField() + fieldError.getDefaultMessage();
+        }
+        return Result.failed(message);
+    }
+
+    /**
+     * 处理请求参数异常（参数类型错误、请求体无法解析等）
+     *
+     * @param e 请求参数异常
+     * @return 处理结果
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public Result<?> handleInputException(ServerWebInputException e) {
+        log.warn("请求参数错误：{}", e.getReason());
+        return Result.failed(e.getReason());
+    }
+
+    /**
+     * 处理其他所有未知异常
+     *
+     * @param e 未知异常
+     * @return 处理结果
+     */
+    @ExceptionHandler(Exception.class)
+    public Result<?> handleException(Exception e) {
+        log.error("系统异常：", e);
+        // 返回通用错误信息，避免将具体错误暴露给用户
+        return Result.failed("系统异常，请联系管理员");
+    }
+
+    /**
+     * 记录繁忙拒绝
+     * 过载时每秒可能有大量拒绝，日志按时间间隔采样输出，避免日志本身加重负载
+     */
+    private void recordRejected() {
+        rejectedCount.increment();
+
+        long now = System.currentTimeMillis();
+        long last = rejectedLastLogTime.get();
+        if (now - last >= rejectedLogInterval && rejectedLastLogTime.compareAndSet(last, now)) {
+            long total = rejectedCount.sum();
+            long suppressed = total - rejectedLastLoggedCount;
+            rejectedLastLoggedCount = total;
+            log.warn("系统繁忙拒绝请求: 自上次记录以来{}次, 累计{}次", suppressed, total);
+        } else if (log.isDebugEnabled()) {
+            log.debug("系统繁忙拒绝请求");
+        }
+    }
+}
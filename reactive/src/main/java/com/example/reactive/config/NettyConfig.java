@@ -0,0 +1,33 @@
+package com.example.reactive.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Netty服务器配置
+ * 所有请求都在少量事件循环线程上处理，阻塞操作（密码哈希）交给独立的线程池
+ */
+@Slf4j
+@Configuration
+public class NettyConfig {
+
+    /**
+     * 事件循环线程数，0表示使用Reactor Netty的默认值（CPU核数，至少4个）
+     */
+    @Value("${server.netty.event-loop-threads:0}")
+    private int eventLoopThreads;
+
+    @Bean
+    public NettyServerCustomizer eventLoopCustomizer() {
+        if (eventLoopThreads <= 0) {
+            return httpServer -> httpServer;
+        }
+        log.info("Netty事件循环线程数: {}", eventLoopThreads);
+        LoopResources loops = LoopResources.create("http-event-loop", eventLoopThreads, true);
+        return httpServer -> httpServer.runOn(loops);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.reactive.config;
+
+import com.example.auth.password.LegacyPasswordEncoder;
+import com.example.reactive.security.BoundedPasswordHasher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 密码加密配置类
+ * 哈希格式与servlet应用一致（{bcrypt}前缀，兼容旧的BCrypt和MD5哈希），两边注册的用户可以互相登录
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    /**
+     * 新密码使用的算法标识，会以{bcrypt}前缀保存在哈希中
+     */
+    private static final String ENCODING_ID = "bcrypt";
+
+    /**
+     * 密码哈希线程数，0表示使用CPU核数
+     */
+    @Value("${security.password-hash.threads:0}")
+    private int threads;
+
+    /**
+     * 密码哈希等待队列容量，队列满时直接拒绝
+     */
+    @Value("${security.password-hash.queue-capacity:64}")
+    private int queueCapacity;
+
+    /**
+     * 调用方等待哈希结果的最长时间（毫秒）
+     */
+    @Value("${security.password-hash.timeout:5000}")
+    private long timeout;
+
+    /**
+     * BCrypt强度
+     */
+    @Value("${security.password-hash.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    /**
+     * 有界的密码哈希
+     * 哈希计算在独立的有界线程池中执行，不占用Netty事件循环线程
+     */
+    @Bean
+    public BoundedPasswordHasher passwordHasher() {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(ENCODING_ID, new BCryptPasswordEncoder(bcryptStrength));
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(ENCODING_ID, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(new LegacyPasswordEncoder());
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordHasher(delegating, poolSize, queueCapacity, timeout);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.reactive.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+
+/**
+ * R2DBC配置
+ * 启用审计，插入时填充创建时间和更新时间（对应servlet应用的MyMetaObjectHandler）
+ */
+@Configuration
+@EnableR2dbcAuditing
+public class R2dbcConfig {
+}
@@ -0,0 +1,85 @@
+package com.example.reactive.config;
+
+import com.example.reactive.security.JwtAuthenticationEntryPoint;
+import com.example.reactive.security.JwtAuthenticationWebFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * 安全配置
+ * 放行规则与servlet应用的SecurityConfig一致；不使用会话，认证信息只来自JWT
+ */
+@Configuration
+@EnableWebFluxSecurity
+@RequiredArgsConstructor
+public class SecurityConfig {
+
+    private final JwtAuthenticationEntryPoint unauthorizedHandler;
+    private final JwtAuthenticationWebFilter jwtAuthenticationWebFilter;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                // 启用CORS，禁用CSRF
+                .cors().configurationSource(corsConfigurationSource())
+                .and()
+                .csrf().disable()
+                // 不使用表单登录和Basic认证
+                .httpBasic().disable()
+                .formLogin().disable()
+                .logout().disable()
+                // 异常处理
+                .exceptionHandling()
+                .authenticationEntryPoint(unauthorizedHandler)
+                .and()
+                // 不需要session
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                // 请求权限配置
+                .authorizeExchange()
+                // 登录注册接口放行
+                .pathMatchers(
+                        "/user/login",
+                        "/user/register",
+                        "/user/refresh",
+                        "/user/logout"
+                ).permitAll()
+                // OPTIONS 请求都允许访问
+                .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // 其他所有请求需要身份认证
+                .anyExchange().authenticated()
+                .and()
+                // 添加JWT filter
+                .addFilterAt(jwtAuthenticationWebFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /**
+     * CORS配置
+     */
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOriginPatterns(Collections.singletonList("*"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(Collections.singletonList("*"));
+        configuration.setAllowCredentials(true);
+        configuration.setMaxAge(3600L);
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.reactive.config;
+
+import com.example.auth.jwt.RevocationSet;
+import com.example.auth.jwt.TokenClaims;
+import com.example.auth.jwt.TokenDenylist;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 已吊销token名单配置类
+ * 名单实现在auth-core中，与servlet应用共用；名单只保存在本进程内存中
+ */
+@Configuration
+public class TokenDenylistConfig {
+
+    /**
+     * 是否启用
+     */
+    @Value("${jwt.denylist.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 访问token有效期（毫秒）
+     */
+    @Value("${jwt.expiration}")
+    private long jwtExpirationInMs;
+
+    /**
+     * 刷新token有效期（毫秒）
+     */
+    @Value("${jwt.refresh.expiration:604800000}")
+    private long refreshExpirationInMs;
+
+    /**
+     * 分代数，访问token和刷新token的名单各自按自身有效期分代，每代覆盖有效期/generations的时间窗口
+     */
+    @Value("${jwt.denylist.generations:24}")
+    private int generations;
+
+    /**
+     * 布隆过滤器期望误判率
+     */
+    @Value("${jwt.denylist.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    /**
+     * 访问token有效期内预计的吊销数，用于计算访问token各代布隆过滤器大小
+     */
+    @Value("${jwt.denylist.access.expected-insertions:100000}")
+    private long accessExpectedInsertions;
+
+    /**
+     * 访问token名单最大条数
+     */
+    @Value("${jwt.denylist.access.max-size:1000000}")
+    private int accessMaxSize;
+
+    /**
+     * 刷新token有效期内预计的吊销数（每次轮换吊销一个），用于计算刷新token各代布隆过滤器大小
+     */
+    @Value("${jwt.denylist.refresh.expected-insertions:1000000}")
+    private long refreshExpectedInsertions;
+
+    /**
+     * 刷新token名单最大条数
+     */
+    @Value("${jwt.denylist.refresh.max-size:1000000}")
+    private int refreshMaxSize;
+
+    /**
+     * 已吊销token名单
+     */
+    @Bean
+    public TokenDenylist tokenDenylist() {
+        return new TokenDenylist(enabled,
+                new RevocationSet(TokenClaims.TYPE_ACCESS, jwtExpirationInMs, generations,
+                        accessExpectedInsertions, falsePositiveRate, accessMaxSize),
+                new RevocationSet(TokenClaims.TYPE_REFRESH, refreshExpirationInMs, generations,
+                        refreshExpectedInsertions, falsePositiveRate, refreshMaxSize));
+    }
+}
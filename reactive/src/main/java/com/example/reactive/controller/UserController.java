@@ -0,0 +1,178 @@
+package com.example.reactive.controller;
+
+import com.example.reactive.common.api.Result;
+import com.example.reactive.dto.LoginDTO;
+import com.example.reactive.dto.RefreshTokenDTO;
+import com.example.reactive.entity.User;
+import com.example.reactive.security.AuthService;
+import com.example.reactive.security.UserPrincipal;
+import com.example.reactive.service.UserService;
+import com.example.reactive.util.JwtUtil;
+import com.example.reactive.vo.CursorPageVO;
+import com.example.reactive.vo.LoginVO;
+import com.example.reactive.vo.PageVO;
+import com.example.reactive.vo.UserDetailVO;
+import com.example.reactive.vo.UserListVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * 用户控制器
+ * 与servlet应用的/user/*接口路径、参数和返回结构一致
+ * 导入、导出接口仍由servlet应用提供
+ */
+@Slf4j
+@RestController
+@RequestMapping("/user")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final UserService userService;
+    private final AuthService authService;
+    private final JwtUtil jwtUtil;
+
+    /**
+     * 用户注册
+     *
+     * @param user 用户信息
+     * @return 操作结果
+     */
+    @PostMapping("/register")
+    public Mono<Result<Void>> register(@Validated @RequestBody User user) {
+        return userService.register(user).thenReturn(Result.success());
+    }
+
+    /**
+     * 用户登录
+     *
+     * @param loginDTO 登录信息
+     * @return 登录结果
+     */
+    @PostMapping("/login")
+    public Mono<Result<LoginVO>> login(@Validated @RequestBody LoginDTO loginDTO) {
+        return authService.login(loginDTO.getUsername(), loginDTO.getPassword()).map(Result::success);
+    }
+
+    /**
+     * 刷新token
+     * 使用刷新token换取新的访问token和刷新token，旧的刷新token随即失效
+     *
+     * @param refreshTokenDTO 刷新token
+     * @return 新的token
+     */
+    @PostMapping("/refresh")
+    public Mono<Result<LoginVO>> refresh(@Validated @RequestBody RefreshTokenDTO refreshTokenDTO) {
+        return authService.refresh(refreshTokenDTO.getRefreshToken()).map(Result::success);
+    }
+
+    /**
+     * 用户登出
+     * 吊销请求携带的访问token和请求体中的刷新token
+     *
+     * @param principal       当前用户，未登录时为空
+     * @param request         请求
+     * @param refreshTokenDTO 刷新token（可选）
+     * @return 操作结果
+     */
+    @PostMapping("/logout")
+    public Mono<Result<Void>> logout(@AuthenticationPrincipal UserPrincipal principal,
+                                     ServerHttpRequest request,
+                                     @RequestBody(required = false) RefreshTokenDTO refreshTokenDTO) {
+        authService.logout(jwtUtil.resolveToken(request),
+                refreshTokenDTO == null ? null : refreshTokenDTO.getRefreshToken());
+        if (principal != null) {
+            log.info("用户[{}]已成功登出系统", principal.getUsername());
+        }
+        return Mono.just(Result.success());
+    }
+
+    /**
+     * 获取当前用户信息
+     *
+     * @param principal 当前用户
+     * @return 用户信息
+     */
+    @GetMapping("/info")
+    public Mono<Result<UserPrincipal>> getCurrentUser(@AuthenticationPrincipal UserPrincipal principal) {
+        return Mono.just(Result.success(principal));
+    }
+
+    /**
+     * 获取用户信息
+     *
+     * @param id 用户ID
+     * @return 用户信息，用户不存在时data为空
+     */
+    @GetMapping("/{id}")
+    public Mono<Result<UserDetailVO>> getUser(@PathVariable Long id) {
+        return userService.getUserDetail(id)
+                .map(Result::success)
+                .defaultIfEmpty(Result.success(null));
+    }
+
+    /**
+     * 获取用户列表
+     *
+     * @param pageNum 页码
+     * @param pageSize 每页数量
+     * @param keyword 搜索关键词
+     * @return 用户列表
+     */
+    @GetMapping("/list")
+    public Mono<Result<PageVO<UserListVO>>> list(
+            @RequestParam(defaultValue = "1") Integer pageNum,
+            @RequestParam(defaultValue = "10") Integer pageSize,
+            @RequestParam(required = false) String keyword
+    ) {
+        return userService.listUsers(pageNum, pageSize, keyword).map(Result::success);
+    }
+
+    /**
+     * 游标分页获取用户列表
+     * 请求中带有cursor参数时使用该接口，适合大表的深度翻页
+     *
+     * @param cursor 游标，首页传空字符串，之后传上一页返回的nextCursor
+     * @param pageSize 每页数量
+     * @param keyword 搜索关键词
+     * @param withTotal 是否返回总数
+     * @return 用户列表
+     */
+    @GetMapping(value = "/list", params = "cursor")
+    public Mono<Result<CursorPageVO<UserListVO>>> listByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer pageSize,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "false") Boolean withTotal
+    ) {
+        return userService.listUsersByCursor(cursor, pageSize, keyword, withTotal).map(Result::success);
+    }
+
+    /**
+     * 更新用户信息
+     *
+     * @param id 用户ID
+     * @param user 用户信息
+     * @return 操作结果
+     */
+    @PutMapping("/{id}")
+    public Mono<Result<Void>> updateUser(@PathVariable Long id, @RequestBody User user) {
+        user.setId(id);
+        return userService.updateById(user).thenReturn(Result.success());
+    }
+
+    /**
+     * 删除用户
+     *
+     * @param id 用户ID
+     * @return 操作结果
+     */
+    @DeleteMapping("/{id}")
+    public Mono<Result<Void>> deleteUser(@PathVariable Long id) {
+        return userService.removeById(id).thenReturn(Result.success());
+    }
+}
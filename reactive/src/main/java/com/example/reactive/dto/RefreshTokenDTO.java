@@ -0,0 +1,15 @@
+package com.example.reactive.dto;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * 刷新token请求参数
+ */
+@Data
+public class RefreshTokenDTO {
+
+    @NotBlank(message = "刷新token不能为空")
+    private String refreshToken;
+}
@@ -0,0 +1,36 @@
+package com.example.reactive.dto;
+
+import lombok.Data;
+
+/**
+ * 用户认证信息
+ * 只包含构建认证主体需要的字段，密码哈希仅在登录时查询
+ */
+@Data
+public class UserAuthDTO {
+
+    /**
+     * 用户ID
+     */
+    private Long id;
+
+    /**
+     * 用户名
+     */
+    private String username;
+
+    /**
+     * 昵称
+     */
+    private String nickname;
+
+    /**
+     * 密码哈希，按ID加载时为空
+     */
+    private String password;
+
+    /**
+     * 状态：0-禁用，1-启用
+     */
+    private Integer status;
+}
@@ -0,0 +1,74 @@
+package com.example.reactive.repository;
+
+import com.example.reactive.dto.UserAuthDTO;
+import com.example.reactive.entity.User;
+import com.example.reactive.vo.UserDetailVO;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * 用户Repository
+ * 查询语句与servlet应用的UserMapper保持一致，只查询需要的列；
+ * 自定义SQL不会自动追加逻辑删除条件，条件中需包含 deleted = 0
+ */
+public interface UserRepository extends ReactiveCrudRepository<User, Long> {
+
+    /**
+     * 按用户名查询登录认证信息（包含密码哈希）
+     *
+     * @param username 用户名
+     * @return 认证信息，不存在时为空
+     */
+    @Query("SELECT id, username, nickname, password, status FROM sys_user WHERE username = :username AND deleted = 0")
+    Mono<UserAuthDTO> findAuthByUsername(String username);
+
+    /**
+     * 按ID查询认证信息（不包含密码哈希），用于JWT认证
+     *
+     * @param id 用户ID
+     * @return 认证信息，不存在时为空
+     */
+    @Query("SELECT id, username, nickname, status FROM sys_user WHERE id = :id AND deleted = 0")
+    Mono<UserAuthDTO> findAuthById(Long id);
+
+    /**
+     * 按ID查询用户详情（不包含密码哈希）
+     *
+     * @param id 用户ID
+     * @return 用户详情，不存在时为空
+     */
+    @Query("SELECT id, username, nickname, email, phone, status, create_time, update_time FROM sys_user WHERE id = :id AND deleted = 0")
+    Mono<UserDetailVO> findDetailById(Long id);
+
+    /**
+     * 用户名是否已被占用（包含逻辑删除的用户，与唯一索引uk_username保持一致）
+     *
+     * @param username 用户名
+     * @return 是否已存在
+     */
+    Mono<Boolean> existsByUsername(String username);
+
+    /**
+     * 更新密码哈希，旧哈希不匹配（期间已被修改）时不更新
+     *
+     * @param id          用户ID
+     * @param oldPassword 旧的密码哈希
+     * @param newPassword 新的密码哈希
+     * @return 更新行数
+     */
+    @Modifying
+    @Query("UPDATE sys_user SET password = :newPassword WHERE id = :id AND password = :oldPassword")
+    Mono<Integer> updatePassword(Long id, String oldPassword, String newPassword);
+
+    /**
+     * 逻辑删除用户
+     *
+     * @param id 用户ID
+     * @return 更新行数
+     */
+    @Modifying
+    @Query("UPDATE sys_user SET deleted = 1, update_time = CURRENT_TIMESTAMP WHERE id = :id AND deleted = 0")
+    Mono<Integer> logicalDelete(Long id);
+}
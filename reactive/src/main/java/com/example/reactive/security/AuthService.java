@@ -0,0 +1,163 @@
+package com.example.reactive.security;
+
+import com.example.auth.jwt.TokenDenylist;
+import com.example.auth.jwt.TokenVerification;
+import com.example.reactive.common.api.ResultCode;
+import com.example.reactive.common.exception.ApiException;
+import com.example.reactive.repository.UserRepository;
+import com.example.reactive.util.JwtUtil;
+import com.example.reactive.vo.LoginVO;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+/**
+ * 认证服务类
+ * 处理用户认证相关的业务逻辑，校验顺序与servlet应用的DaoAuthenticationProvider一致：
+ * 先检查账号状态，再在有界的哈希线程池中校验密码
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthService {
+
+    private final ReactiveUserDetailsServiceImpl userDetailsService;
+    private final JwtUtil jwtUtil;
+    private final BoundedPasswordHasher passwordHasher;
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenDenylist tokenDenylist;
+
+    /**
+     * 用户登录
+     *
+     * @param username 用户名
+     * @param password 密码
+     * @return 登录结果，用户名或密码错误时以BadCredentialsException结束，账号禁用时以DisabledException结束
+     */
+    public Mono<LoginVO> login(String username, String password) {
+        return userDetailsService.findByUsername(username)
+                .onErrorMap(UsernameNotFoundException.class, e -> new BadCredentialsException("用户名或密码错误"))
+                .cast(UserPrincipal.class)
+                .flatMap(principal -> {
+                    if (!principal.isEnabled()) {
+                        return Mono.error(new DisabledException("账号已被禁用"));
+                    }
+                    return passwordHasher.matches(password, principal.getPassword())
+                            .flatMap(matched -> matched
+                                    ? Mono.just(principal)
+                                    : Mono.error(new BadCredentialsException("用户名或密码错误")));
+                })
+                .map(principal -> {
+                    // 密码哈希格式或强度已过时，异步升级
+                    upgradePasswordIfNeeded(principal, password);
+
+                    // 签发访问token和刷新token
+                    return issueTokens(principal);
+                });
+    }
+
+    /**
+     * 刷新token
+     * 校验刷新token并轮换：旧的刷新token立即吊销，重新加载用户信息后签发新的访问token和刷新token
+     *
+     * @param refreshToken 刷新token
+     * @return 用户信息及新的访问token、刷新token；刷新token无效、已使用或用户不可用时以ApiException(UNAUTHORIZED)结束
+     */
+    public Mono<LoginVO> refresh(String refreshToken) {
+        TokenVerification verification = jwtUtil.verifyToken(refreshToken);
+        if (!verification.isValid() || !jwtUtil.isRefreshToken(verification.getClaims())) {
+            return Mono.error(new ApiException(ResultCode.UNAUTHORIZED));
+        }
+        Claims claims = verification.getClaims();
+        Long userId = jwtUtil.getUserId(claims);
+
+        // 轮换：吊销旧的刷新token，并发或重复使用同一刷新token时只有一次成功
+        if (tokenDenylist.isEnabled() && !tokenDenylist.revoke(claims)) {
+            log.warn("用户[{}]的刷新token已使用或已吊销", userId);
+            return Mono.error(new ApiException(ResultCode.UNAUTHORIZED));
+        }
+
+        return userDetailsService.reloadUserById(userId)
+                .onErrorMap(UsernameNotFoundException.class, e -> new ApiException(ResultCode.UNAUTHORIZED))
+                .flatMap(principal -> {
+                    if (!principal.isEnabled()) {
+                        log.debug("用户[{}]已被禁用，拒绝刷新token", userId);
+                        return Mono.error(new ApiException(ResultCode.UNAUTHORIZED));
+                    }
+                    return Mono.just(issueTokens(principal));
+                });
+    }
+
+    /**
+     * 签发访问token和刷新token
+     *
+     * @param principal 用户主体
+     * @return 用户信息及token
+     */
+    private LoginVO issueTokens(UserPrincipal principal) {
+        return new LoginVO()
+                .setId(principal.getId())
+                .setUsername(principal.getUsername())
+                .setNickname(principal.getNickname())
+                .setToken(jwtUtil.generateAccessToken(principal))
+                .setExpiresIn(jwtUtil.getAccessTokenExpiresIn())
+                .setRefreshToken(jwtUtil.generateRefreshToken(principal.getId()));
+    }
+
+    /**
+     * 密码哈希升级
+     * 旧的MD5哈希、没有算法前缀的哈希在登录成功后用本次输入的密码异步重新哈希，不影响登录响应时间；
+     * 哈希线程池繁忙时放弃本次升级
+     *
+     * @param principal   已认证的用户
+     * @param rawPassword 本次输入的原始密码
+     */
+    private void upgradePasswordIfNeeded(UserPrincipal principal, String rawPassword) {
+        String oldPassword = principal.getPassword();
+        if (oldPassword == null || !passwordHasher.upgradeEncoding(oldPassword)) {
+            return;
+        }
+        passwordHasher.encode(rawPassword)
+                .flatMap(newPassword -> userRepository.updatePassword(principal.getId(), oldPassword, newPassword))
+                .subscribe(updated -> {
+                    if (updated > 0) {
+                        principalCache.evict(principal.getId());
+                        log.info("用户[{}]密码哈希已升级", principal.getUsername());
+                    }
+                }, e -> log.debug("跳过用户[{}]的密码升级: {}", principal.getUsername(), e.getMessage()));
+    }
+
+    /**
+     * 登出处理
+     * 吊销访问token和刷新token，token在剩余有效期内不能再在本应用中使用
+     *
+     * @param accessToken  请求携带的访问token，可以为空
+     * @param refreshToken 刷新token，可以为空
+     */
+    public void logout(String accessToken, String refreshToken) {
+        revoke(accessToken);
+        revoke(refreshToken);
+    }
+
+    /**
+     * 吊销token
+     *
+     * @param token JWT token，可以为空
+     */
+    private void revoke(String token) {
+        if (!StringUtils.hasText(token)) {
+            return;
+        }
+        TokenVerification verification = jwtUtil.verifyToken(token);
+        if (verification.isValid() && !tokenDenylist.revoke(verification.getClaims())) {
+            log.debug("token没有jti或已吊销");
+        }
+    }
+}
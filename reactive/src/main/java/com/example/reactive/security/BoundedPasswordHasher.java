@@ -0,0 +1,134 @@
+package com.example.reactive.security;
+
+import com.example.reactive.common.api.ResultCode;
+import com.example.reactive.common.exception.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 有界的响应式密码哈希
+ * BCrypt计算是CPU密集的阻塞操作，不能在Netty事件循环线程上执行；
+ * 所有哈希在固定大小的线程池中执行，线程池和等待队列都已满或等待超时时返回{@link ResultCode#TOO_MANY_REQUESTS}，
+ * 与servlet应用的BoundedPasswordEncoder行为一致
+ */
+@Slf4j
+public class BoundedPasswordHasher implements DisposableBean {
+
+    /**
+     * 实际执行哈希的编码器
+     */
+    private final PasswordEncoder delegate;
+
+    /**
+     * 哈希线程池
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 基于哈希线程池的调度器
+     */
+    private final Scheduler scheduler;
+
+    /**
+     * 调用方最长等待时间
+     */
+    private final Duration timeout;
+
+    /**
+     * 构造函数
+     *
+     * @param delegate      实际执行哈希的编码器
+     * @param threads       工作线程数
+     * @param queueCapacity 等待队列容量
+     * @param timeoutMillis 调用方最长等待时间（毫秒）
+     */
+    public BoundedPasswordHasher(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMillis) {
+        this.delegate = delegate;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        AtomicInteger index = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.scheduler = Schedulers.fromExecutorService(executor, "password-hash");
+        log.info("密码哈希线程池: threads={}, queueCapacity={}, timeout={}ms", threads, queueCapacity, timeoutMillis);
+    }
+
+    /**
+     * 计算密码哈希
+     *
+     * @param rawPassword 原始密码
+     * @return 密码哈希
+     */
+    public Mono<String> encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * 校验密码
+     *
+     * @param rawPassword     原始密码
+     * @param encodedPassword 密码哈希
+     * @return 是否匹配
+     */
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 密码哈希是否需要升级为当前格式
+     *
+     * @param encodedPassword 密码哈希
+     * @return 是否需要升级
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 当前排队等待的任务数
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 在哈希线程池中执行任务
+     * 提交被拒绝或等待超时都转换为{@link ResultCode#TOO_MANY_REQUESTS}
+     */
+    private <T> Mono<T> execute(Callable<T> task) {
+        return Mono.fromCallable(task)
+                .subscribeOn(scheduler)
+                .timeout(timeout)
+                .onErrorMap(RejectedExecutionException.class, ex -> {
+                    log.warn("密码哈希线程池已满，拒绝请求: queueDepth={}", getQueueDepth());
+                    return new ApiException(ResultCode.TOO_MANY_REQUESTS);
+                })
+                .onErrorMap(TimeoutException.class, ex -> {
+                    log.warn("密码哈希等待超时: timeout={}ms, queueDepth={}", timeout.toMillis(), getQueueDepth());
+                    return new ApiException(ResultCode.TOO_MANY_REQUESTS);
+                });
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+}
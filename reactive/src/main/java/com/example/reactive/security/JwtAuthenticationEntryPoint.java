@@ -0,0 +1,98 @@
+package com.example.reactive.security;
+
+import com.example.reactive.common.api.Result;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 未认证请求的处理入口
+ * 返回401及统一的Result结构；响应体按提示信息缓存序列化后的字节
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtAuthenticationEntryPoint implements ServerAuthenticationEntryPoint {
+
+    /**
+     * 默认提示信息
+     */
+    private static final String DEFAULT_MESSAGE = "未授权访问";
+
+    /**
+     * 未携带token访问受保护接口时Spring Security的提示信息
+     */
+    private static final String NOT_AUTHENTICATED = "Not Authenticated";
+
+    /**
+     * 最多缓存的提示信息条数，提示信息来自异常，数量有限，超出后不再缓存
+     */
+    private static final int MAX_CACHED_MESSAGES = 64;
+
+    /**
+     * 全局配置的ObjectMapper
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 提示信息 -> 序列化后的响应体
+     */
+    private final Map<String, byte[]> bodies = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws JsonProcessingException {
+        bodies.put(DEFAULT_MESSAGE, serialize(DEFAULT_MESSAGE));
+        bodies.put(NOT_AUTHENTICATED, serialize(NOT_AUTHENTICATED));
+    }
+
+    @Override
+    public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException authException) {
+        String message = DEFAULT_MESSAGE;
+        if (authException != null && authException.getMessage() != null) {
+            message = authException.getMessage();
+        }
+        byte[] body;
+        try {
+            body = body(message);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    /**
+     * 获取提示信息对应的响应体，未缓存时序列化并在容量允许时缓存
+     */
+    private byte[] body(String message) throws JsonProcessingException {
+        byte[] body = bodies.get(message);
+        if (body == null) {
+            body = serialize(message);
+            if (bodies.size() < MAX_CACHED_MESSAGES) {
+                bodies.putIfAbsent(message, body);
+            }
+        }
+        return body;
+    }
+
+    private byte[] serialize(String message) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(Result.unauthorized(message));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.reactive.security;
+
+import com.example.auth.jwt.TokenDenylist;
+import com.example.auth.jwt.TokenVerification;
+import com.example.reactive.util.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * JWT认证过滤器
+ * 与servlet应用的JwtAuthenticationFilter对应：验签在事件循环线程上完成（只有HMAC计算），
+ * 用户主体通过缓存或R2DBC加载；认证结果写入Reactor上下文而不是线程变量
+ * token无效、已吊销、为已停止接受的旧格式、用户不存在或已禁用时不设置认证信息，由授权规则返回401
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JwtUtil jwtUtil;
+    private final ReactiveUserDetailsServiceImpl userDetailsService;
+    private final TokenDenylist tokenDenylist;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return authenticate(exchange)
+                .map(ReactiveSecurityContextHolder::withAuthentication)
+                .defaultIfEmpty(Context.empty())
+                .flatMap(context -> chain.filter(exchange).contextWrite(context));
+    }
+
+    /**
+     * 解析请求中的token并加载用户主体
+     *
+     * @return 认证信息，未携带token或认证失败时为空
+     */
+    private Mono<Authentication> authenticate(ServerWebExchange exchange) {
+        String jwt = jwtUtil.resolveToken(exchange.getRequest());
+        if (!StringUtils.hasText(jwt)) {
+            return Mono.empty();
+        }
+        // 一次解析完成验签和claims提取，无效token不抛异常
+        TokenVerification verification = jwtUtil.verifyToken(jwt);
+        // 刷新token不能用于访问接口
+        if (!verification.isValid() || jwtUtil.isRefreshToken(verification.getClaims())) {
+            return Mono.empty();
+        }
+        // 迁移窗口结束后不再接受的旧格式token
+        if (jwtUtil.rejectsLegacyToken(verification.getClaims())) {
+            log.debug("旧格式token已停止接受");
+            return Mono.empty();
+        }
+        // 已登出的token
+        if (tokenDenylist.isRevoked(verification.getClaims())) {
+            log.debug("token已吊销");
+            return Mono.empty();
+        }
+
+        Long userId = jwtUtil.getUserId(verification.getClaims());
+        return userDetailsService.loadUserById(userId)
+                // 已禁用的账号不再通过认证
+                .filter(principal -> {
+                    if (!principal.isEnabled()) {
+                        log.debug("用户[{}]已被禁用", userId);
+                    }
+                    return principal.isEnabled();
+                })
+                .<Authentication>map(principal -> new UsernamePasswordAuthenticationToken(
+                        principal, null, principal.getAuthorities()))
+                .onErrorResume(UsernameNotFoundException.class, ex -> {
+                    log.debug("token对应的用户不存在: {}", ex.getMessage());
+                    return Mono.empty();
+                })
+                .onErrorResume(ex -> {
+                    log.error("Could not set user authentication in security context", ex);
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.reactive.security;
+
+import cn.hutool.cache.impl.LRUCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * 认证主体缓存
+ * 按用户ID缓存已加载的UserPrincipal，避免JWT认证时每个请求都查询sys_user
+ * 缓存有容量上限（LRU淘汰）和有效期，用户被修改或删除时会主动失效
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    /**
+     * 是否启用缓存
+     */
+    @Value("${security.principal-cache.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 最大缓存条数
+     */
+    @Value("${security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    /**
+     * 缓存有效期（毫秒）
+     * 被禁用的账号最迟在该时间后失效
+     */
+    @Value("${security.principal-cache.ttl:300000}")
+    private long ttl;
+
+    private LRUCache<Long, UserPrincipal> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new LRUCache<>(maxSize, ttl);
+        log.info("认证主体缓存: enabled={}, maxSize={}, ttl={}ms", enabled, maxSize, ttl);
+    }
+
+    /**
+     * 获取缓存的用户主体
+     *
+     * @param userId 用户ID
+     * @return 用户主体，未命中时返回null
+     */
+    public UserPrincipal get(Long userId) {
+        if (!enabled) {
+            return null;
+        }
+        // 读取时不刷新有效期，保证禁用账号在TTL内失效
+        return cache.get(userId, false);
+    }
+
+    /**
+     * 缓存用户主体
+     *
+     * @param principal 用户主体
+     */
+    public void put(UserPrincipal principal) {
+        if (enabled) {
+            cache.put(principal.getId(), principal);
+        }
+    }
+
+    /**
+     * 使指定用户的缓存失效
+     *
+     * @param userId 用户ID
+     */
+    public void evict(Long userId) {
+        if (userId != null) {
+            cache.remove(userId);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.reactive.security;
+
+import com.example.auth.jwt.TokenClaims;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 访问token中的用户主体信息
+ * 与servlet应用的PrincipalClaims一样按{@link TokenClaims}写入字段，两个应用签发的访问token结构一致；
+ * 本应用认证时仍按用户ID经认证主体缓存加载用户主体
+ */
+public final class PrincipalClaims {
+
+    private PrincipalClaims() {
+    }
+
+    /**
+     * 写入用户主体信息
+     *
+     * @param principal 用户主体
+     * @param claims    token claims
+     */
+    public static void write(UserPrincipal principal, Map<String, Object> claims) {
+        Collection<? extends GrantedAuthority> authorities = principal.getAuthorities();
+        List<String> names = new ArrayList<>(authorities.size());
+        for (GrantedAuthority authority : authorities) {
+            names.add(authority.getAuthority());
+        }
+        TokenClaims.writePrincipal(claims, principal.getUsername(), principal.getNickname(),
+                principal.getStatus(), names);
+    }
+}
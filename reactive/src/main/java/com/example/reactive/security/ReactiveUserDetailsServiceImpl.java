@@ -0,0 +1,72 @@
+package com.example.reactive.security;
+
+import com.example.reactive.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * 响应式用户详情服务
+ * 与servlet应用的UserDetailsServiceImpl对应，查询通过R2DBC执行，不阻塞事件循环线程
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveUserDetailsServiceImpl implements ReactiveUserDetailsService {
+
+    // 用户Repository
+    private final UserRepository userRepository;
+
+    // 认证主体缓存
+    private final PrincipalCache principalCache;
+
+    /**
+     * 根据用户名加载用户信息（包含密码哈希），用于登录
+     *
+     * @param username 用户名
+     * @return 用户详情，用户不存在时以UsernameNotFoundException结束
+     */
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return userRepository.findAuthByUsername(username)
+                .<UserDetails>map(UserPrincipal::create)
+                .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException("用户名或密码错误")));
+    }
+
+    /**
+     * 根据用户ID加载用户信息，用于JWT认证
+     * 优先从认证主体缓存读取，未命中时查询数据库并写入缓存
+     *
+     * @param id 用户ID
+     * @return 用户主体，用户不存在时以UsernameNotFoundException结束
+     */
+    public Mono<UserPrincipal> loadUserById(Long id) {
+        UserPrincipal cached = principalCache.get(id);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return userRepository.findAuthById(id)
+                .map(UserPrincipal::create)
+                .doOnNext(principalCache::put)
+                .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException("用户不存在")));
+    }
+
+    /**
+     * 根据用户ID从数据库重新加载用户信息
+     * 用于刷新token：跳过认证主体缓存，保证新签发的访问token携带最新的用户状态，并刷新缓存
+     *
+     * @param id 用户ID
+     * @return 用户主体，用户不存在时以UsernameNotFoundException结束
+     */
+    public Mono<UserPrincipal> reloadUserById(Long id) {
+        return userRepository.findAuthById(id)
+                .map(UserPrincipal::create)
+                .doOnNext(principalCache::put)
+                .switchIfEmpty(Mono.defer(() -> {
+                    principalCache.evict(id);
+                    return Mono.error(new UsernameNotFoundException("用户不存在"));
+                }));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.reactive.security;
+
+import com.example.reactive.dto.UserAuthDTO;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Builder;
+import lombok.ToString;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 用户认证信息主体类
+ * 实现Spring Security的UserDetails接口
+ * 用于封装用户的认证信息和权限信息
+ * 不可变：同一实例由认证主体缓存在多个请求间共享，创建后不能修改
+ */
+@Value
+@Builder
+public class UserPrincipal implements UserDetails {
+    
+    // 用户ID
+    private Long id;
+    
+    // 用户名
+    private String username;
+    
+    // 用户昵称
+    private String nickname;
+    
+    // 密码（加@JsonIgnore注解防止序列化，不输出到日志）
+    @JsonIgnore
+    @ToString.Exclude
+    private String password;
+    
+    // 用户状态（1：启用，0：禁用）
+    private Integer status;
+    
+    // 用户权限集合
+    private Collection<? extends GrantedAuthority> authorities;
+
+    /**
+     * 创建UserPrincipal实例
+     * 将用户认证信息转换为UserPrincipal对象，按ID加载时密码为空
+     *
+     * @param user 用户认证信息
+     * @return UserPrincipal对象
+     */
+    public static UserPrincipal create(UserAuthDTO user) {
+        // 创建默认的用户权限（ROLE_USER）
+        List<GrantedAuthority> authorities = Stream.of("ROLE_USER")
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        // 构建并返回UserPrincipal对象
+        return UserPrincipal.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .nickname(user.getNickname())
+                .password(user.getPassword())
+                .status(user.getStatus())
+                .authorities(authorities)
+                .build();
+    }
+
+    /**
+     * 获取用户权限集合
+     */
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * 获取用户密码
+     */
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * 获取用户名
+     */
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * 判断账号是否未过期
+     * 返回true表示未过期
+     */
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    /**
+     * 判断账号是否未锁定
+     * 根据用户状态判断（status=1表示启用）
+     */
+    @Override
+    public boolean isAccountNonLocked() {
+        return Objects.equals(status, 1);
+    }
+
+    /**
+     * 判断凭证是否未过期
+     * 返回true表示未过期
+     */
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    /**
+     * 判断账号是否启用
+     * 根据用户状态判断（status=1表示启用）
+     */
+    @Override
+    public boolean isEnabled() {
+        return Objects.equals(status, 1);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.reactive.service;
+
+import com.example.reactive.entity.User;
+import com.example.reactive.vo.CursorPageVO;
+import com.example.reactive.vo.PageVO;
+import com.example.reactive.vo.UserDetailVO;
+import com.example.reactive.vo.UserListVO;
+import reactor.core.publisher.Mono;
+
+/**
+ * 用户服务接口
+ * 与servlet应用的UserService对应，所有方法返回Mono，不阻塞调用线程
+ */
+public interface UserService {
+
+    /**
+     * 用户注册
+     *
+     * @param user 用户信息
+     * @return 完成信号，用户名已存在时以ApiException结束
+     */
+    Mono<Void> register(User user);
+
+    /**
+     * 查询用户详情（不查询密码哈希）
+     *
+     * @param id 用户ID
+     * @return 用户详情，不存在时为空
+     */
+    Mono<UserDetailVO> getUserDetail(Long id);
+
+    /**
+     * 分页查询用户列表
+     *
+     * @param pageNum  页码
+     * @param pageSize 每页大小
+     * @param keyword  关键字，匹配用户名或昵称
+     * @return 用户列表
+     */
+    Mono<PageVO<UserListVO>> listUsers(int pageNum, int pageSize, String keyword);
+
+    /**
+     * 游标分页查询用户列表
+     *
+     * @param cursor    上一页返回的游标，为空时查询第一页
+     * @param pageSize  每页大小
+     * @param keyword   关键字
+     * @param withTotal 是否查询总数
+     * @return 用户列表
+     */
+    Mono<CursorPageVO<UserListVO>> listUsersByCursor(String cursor, int pageSize, String keyword, boolean withTotal);
+
+    /**
+     * 根据ID更新用户，只更新不为空的字段
+     *
+     * @param user 用户信息
+     * @return 是否更新成功
+     */
+    Mono<Boolean> updateById(User user);
+
+    /**
+     * 根据ID删除用户（逻辑删除）
+     *
+     * @param id 用户ID
+     * @return 是否删除成功
+     */
+    Mono<Boolean> removeById(Long id);
+}
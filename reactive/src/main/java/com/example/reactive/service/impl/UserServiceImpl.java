@@ -0,0 +1,302 @@
+package com.example.reactive.service.impl;
+
+import com.example.reactive.common.exception.ApiException;
+import com.example.reactive.entity.User;
+import com.example.reactive.repository.UserRepository;
+import com.example.reactive.security.BoundedPasswordHasher;
+import com.example.reactive.security.PrincipalCache;
+import com.example.reactive.service.UserService;
+import com.example.reactive.vo.CursorPageVO;
+import com.example.reactive.vo.PageVO;
+import com.example.reactive.vo.UserDetailVO;
+import com.example.reactive.vo.UserListVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.data.relational.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 用户服务实现类
+ * 查询条件、排序和游标格式与servlet应用的UserServiceImpl一致，
+ * 数据库访问通过R2DBC完成，密码哈希在有界线程池中执行
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserServiceImpl implements UserService {
+
+    /**
+     * 列表查询的列（数据库列名），只查询列表展示需要的字段
+     */
+    private static final List<String> LIST_COLUMNS = Arrays.asList("id", "username", "nickname", "status", "create_time");
+
+    /**
+     * 用户Repository
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * 动态条件查询
+     */
+    private final R2dbcEntityTemplate template;
+
+    /**
+     * 密码哈希
+     */
+    private final BoundedPasswordHasher passwordHasher;
+
+    /**
+     * 认证主体缓存
+     */
+    private final PrincipalCache principalCache;
+
+    /**
+     * 用户注册
+     * 先检查用户名是否已存在（避免无谓的密码哈希），
+     * 然后直接插入，由唯一索引uk_username保证并发注册时用户名不重复
+     *
+     * @param user 用户信息
+     * @return 完成信号，用户名已存在时以ApiException结束
+     */
+    @Override
+    public Mono<Void> register(User user) {
+        log.info("开始注册用户: {}", user.getUsername());
+        return userRepository.existsByUsername(user.getUsername())
+                .flatMap(exists -> {
+                    if (exists) {
+                        log.warn("用户名已存在: {}", user.getUsername());
+                        return Mono.error(new ApiException("用户名已存在"));
+                    }
+                    // 加密密码
+                    return passwordHasher.encode(user.getPassword());
+                })
+                .flatMap(password -> {
+                    user.setId(null);
+                    user.setPassword(password);
+                    // 设置用户状态为启用
+                    user.setStatus(1);
+                    user.setDeleted(0);
+                    return template.insert(user);
+                })
+                .onErrorMap(DataIntegrityViolationException.class, e -> {
+                    log.warn("用户名已存在: {}", user.getUsername());
+                    return new ApiException("用户名已存在");
+                })
+                .doOnSuccess(saved -> log.info("用户注册成功: {}", user.getUsername()))
+                .then();
+    }
+
+    /**
+     * 查询用户详情（不查询密码哈希）
+     *
+     * @param id 用户ID
+     * @return 用户详情，不存在时为空
+     */
+    @Override
+    public Mono<UserDetailVO> getUserDetail(Long id) {
+        return userRepository.findDetailById(id);
+    }
+
+    /**
+     * 分页查询用户列表
+     * 当前页记录和总数两个查询并发执行
+     *
+     * @param pageNum  页码
+     * @param pageSize 每页大小
+     * @param keyword  关键字
+     * @return 用户列表
+     */
+    @Override
+    public Mono<PageVO<UserListVO>> listUsers(int pageNum, int pageSize, String keyword) {
+        log.debug("查询用户列表: pageNum={}, pageSize={}, keyword={}", pageNum, pageSize, keyword);
+        int size = Math.max(1, pageSize);
+        int current = Math.max(1, pageNum);
+        Criteria criteria = listCriteria(keyword);
+
+        Mono<List<UserListVO>> records = template.select(User.class)
+                .as(UserListVO.class)
+                .matching(Query.query(criteria)
+                        .columns(LIST_COLUMNS)
+                        .sort(Sort.by(Sort.Direction.DESC, "createTime"))
+                        .offset((long) (current - 1) * size)
+                        .limit(size))
+                .all()
+                .collectList();
+        Mono<Long> total = template.count(Query.query(criteria), User.class);
+
+        return Mono.zip(records, total).map(tuple -> new PageVO<UserListVO>()
+                .setRecords(tuple.getT1())
+                .setTotal(tuple.getT2())
+                .setSize(size)
+                .setCurrent(current));
+    }
+
+    /**
+     * 游标分页查询用户列表
+     * 使用 WHERE (create_time, id) < (游标位置) ORDER BY create_time DESC, id DESC LIMIT n+1，
+     * 通过idx_create_time_id索引直接定位，不使用OFFSET，多取一条用于判断是否还有下一页
+     *
+     * @param cursor    上一页返回的游标，为空时查询第一页
+     * @param pageSize  每页大小
+     * @param keyword   关键字
+     * @param withTotal 是否查询总数
+     * @return 用户列表
+     */
+    @Override
+    public Mono<CursorPageVO<UserListVO>> listUsersByCursor(String cursor, int pageSize, String keyword, boolean withTotal) {
+        log.debug("游标查询用户列表: cursor={}, pageSize={}, keyword={}", cursor, pageSize, keyword);
+        int size = Math.max(1, pageSize);
+        Criteria criteria = listCriteria(keyword);
+        Criteria filter = criteria;
+
+        // 解析游标位置
+        if (StringUtils.hasText(cursor)) {
+            Object[] position;
+            try {
+                position = decodeCursor(cursor);
+            } catch (ApiException e) {
+                return Mono.error(e);
+            }
+            LocalDateTime time = (LocalDateTime) position[0];
+            Long id = (Long) position[1];
+            filter = criteria.and(Criteria.where("createTime").lessThan(time)
+                    .or(Criteria.where("createTime").is(time).and("id").lessThan(id)));
+        }
+
+        Mono<CursorPageVO<UserListVO>> page = template.select(User.class)
+                .as(UserListVO.class)
+                .matching(Query.query(filter)
+                        .columns(LIST_COLUMNS)
+                        .sort(Sort.by(Sort.Direction.DESC, "createTime", "id"))
+                        .limit(size + 1))
+                .all()
+                .collectList()
+                .map(records -> {
+                    boolean hasMore = records.size() > size;
+                    List<UserListVO> rows = hasMore ? records.subList(0, size) : records;
+                    CursorPageVO<UserListVO> result = new CursorPageVO<UserListVO>()
+                            .setRecords(rows)
+                            .setHasMore(hasMore);
+                    if (hasMore) {
+                        UserListVO last = rows.get(rows.size() - 1);
+                        result.setNextCursor(encodeCursor(last.getCreateTime(), last.getId()));
+                    }
+                    return result;
+                });
+
+        // 仅在调用方需要时查询总数
+        if (!withTotal) {
+            return page;
+        }
+        return Mono.zip(page, template.count(Query.query(criteria), User.class))
+                .map(tuple -> tuple.getT1().setTotal(tuple.getT2()));
+    }
+
+    /**
+     * 根据ID更新用户，只更新不为空的字段
+     * 密码不通过该方法修改；更新成功后使该用户的认证主体缓存失效
+     *
+     * @param user 用户信息
+     * @return 是否更新成功
+     */
+    @Override
+    public Mono<Boolean> updateById(User user) {
+        Update update = Update.update("updateTime", LocalDateTime.now());
+        if (user.getUsername() != null) {
+            update = update.set("username", user.getUsername());
+        }
+        if (user.getNickname() != null) {
+            update = update.set("nickname", user.getNickname());
+        }
+        if (user.getEmail() != null) {
+            update = update.set("email", user.getEmail());
+        }
+        if (user.getPhone() != null) {
+            update = update.set("phone", user.getPhone());
+        }
+        if (user.getStatus() != null) {
+            update = update.set("status", user.getStatus());
+        }
+        Long id = user.getId();
+        return template.update(User.class)
+                .matching(Query.query(Criteria.where("id").is(id).and("deleted").is(0)))
+                .apply(update)
+                .map(rows -> rows > 0)
+                .doOnNext(updated -> {
+                    if (updated) {
+                        principalCache.evict(id);
+                    }
+                });
+    }
+
+    /**
+     * 根据ID删除用户（逻辑删除）
+     * 删除成功后使该用户的认证主体缓存失效
+     *
+     * @param id 用户ID
+     * @return 是否删除成功
+     */
+    @Override
+    public Mono<Boolean> removeById(Long id) {
+        return userRepository.logicalDelete(id)
+                .map(rows -> rows > 0)
+                .doOnNext(removed -> {
+                    if (removed) {
+                        principalCache.evict(id);
+                    }
+                });
+    }
+
+    /**
+     * 列表查询条件：未删除，且用户名或昵称包含关键字
+     */
+    private static Criteria listCriteria(String keyword) {
+        Criteria criteria = Criteria.where("deleted").is(0);
+        if (StringUtils.hasText(keyword)) {
+            String pattern = "%" + keyword + "%";
+            criteria = criteria.and(Criteria.where("username").like(pattern).or("nickname").like(pattern));
+        }
+        return criteria;
+    }
+
+    /**
+     * 生成游标：Base64URL("创建时间秒数:用户ID")
+     */
+    private static String encodeCursor(LocalDateTime createTime, Long id) {
+        String raw = createTime.toEpochSecond(ZoneOffset.UTC) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     *
+     * @return [创建时间, 用户ID]
+     * @throws ApiException 游标格式错误
+     */
+    private static Object[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            LocalDateTime createTime = LocalDateTime.ofEpochSecond(
+                    Long.parseLong(raw.substring(0, separator)), 0, ZoneOffset.UTC);
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new Object[]{createTime, id};
+        } catch (RuntimeException e) {
+            throw new ApiException("无效的分页游标");
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.reactive.util;
+
+import cn.hutool.cache.impl.LRUCache;
+import com.example.auth.jwt.JwtCodec;
+import com.example.auth.jwt.TokenClaims;
+import com.example.auth.jwt.TokenStatus;
+import com.example.auth.jwt.TokenVerification;
+import com.example.reactive.security.PrincipalClaims;
+import com.example.reactive.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JWT工具类
+ * 用于生成和解析JWT token
+ * <p>
+ * 编解码和claims结构使用auth-core中的{@link JwtCodec}和{@link TokenClaims}，与servlet应用签发的token格式一致；
+ * 验证只做HMAC计算，可在事件循环线程上执行
+ * 已吊销token名单只在各自进程内生效，生产环境两个应用不应共用密钥，否则在一边登出的token在另一边仍然有效
+ */
+@Slf4j
+@Component
+public class JwtUtil {
+
+    /**
+     * Authorization请求头中token的前缀
+     */
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * JWT密钥
+     * 从配置文件中读取，用于token的签名
+     */
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    /**
+     * 访问token有效期（毫秒）
+     */
+    @Value("${jwt.expiration}")
+    private long jwtExpirationInMs;
+
+    /**
+     * 刷新token有效期（毫秒）
+     * 默认7天
+     */
+    @Value("${jwt.refresh.expiration:604800000}")
+    private long refreshExpirationInMs;
+
+    /**
+     * 是否接受旧格式的token
+     * 访问/刷新token拆分前签发的token没有typ和jti，有效期24小时且无法吊销；
+     * 迁移窗口（旧token的最长有效期）结束后设为false，此类token不再通过认证
+     */
+    @Value("${jwt.accept-legacy-tokens:true}")
+    private boolean acceptLegacyTokens;
+
+    /**
+     * 是否启用已验证token缓存
+     * 启用后同一个token在缓存有效期内重复请求时无需再次验签
+     */
+    @Value("${jwt.verified-cache.enabled:true}")
+    private boolean verifiedCacheEnabled;
+
+    /**
+     * 已验证token缓存最大条数
+     */
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+
+    /**
+     * 已验证token缓存有效期（毫秒）
+     * 实际有效期不会超过token自身的过期时间
+     */
+    @Value("${jwt.verified-cache.ttl:60000}")
+    private long verifiedCacheTtl;
+
+    /**
+     * 验证失败日志的最小输出间隔（毫秒）
+     * 间隔内的失败只计数，不逐条输出
+     */
+    @Value("${jwt.failure-log-interval:60000}")
+    private long failureLogInterval;
+
+    /**
+     * 已验证token缓存：token -> 验证结果
+     * 直接以token字符串为键，equals比较完整token，不存在摘要碰撞问题
+     */
+    private LRUCache<String, TokenVerification> verifiedCache;
+
+    /**
+     * 各失败原因的计数及日志采样状态
+     */
+    private final Map<TokenStatus, FailureStats> failureStats = new EnumMap<>(TokenStatus.class);
+
+    /**
+     * JWT编解码（启动时构建一次，密钥不可用时尽早失败）
+     */
+    private JwtCodec codec;
+
+    @PostConstruct
+    public void init() {
+        codec = new JwtCodec(jwtSecret);
+
+        verifiedCache = new LRUCache<>(verifiedCacheMaxSize, verifiedCacheTtl);
+        for (TokenStatus status : TokenStatus.values()) {
+            if (status != TokenStatus.VALID) {
+                failureStats.put(status, new FailureStats());
+            }
+        }
+    }
+
+    /**
+     * 生成访问token
+     *
+     * @param authentication 用户认证信息
+     * @return 访问token
+     */
+    public String generateToken(Authentication authentication) {
+        return generateAccessToken((UserPrincipal) authentication.getPrincipal());
+    }
+
+    /**
+     * 生成访问token
+     * 访问token有效期短，携带用户名、昵称、状态和权限（见{@link PrincipalClaims}），与servlet应用签发的访问token结构一致
+     *
+     * @param userPrincipal 用户主体
+     * @return 访问token
+     */
+    public String generateAccessToken(UserPrincipal userPrincipal) {
+        Map<String, Object> claims = TokenClaims.base(userPrincipal.getId(), TokenClaims.TYPE_ACCESS, jwtExpirationInMs);
+        PrincipalClaims.write(userPrincipal, claims);
+        return codec.sign(claims);
+    }
+
+    /**
+     * 生成刷新token
+     * 刷新token只携带用户ID，只能用于换取新的token，不能访问其他接口
+     *
+     * @param userId 用户ID
+     * @return 刷新token
+     */
+    public String generateRefreshToken(Long userId) {
+        return codec.sign(TokenClaims.base(userId, TokenClaims.TYPE_REFRESH, refreshExpirationInMs));
+    }
+
+    /**
+     * 访问token有效期（秒）
+     */
+    public long getAccessTokenExpiresIn() {
+        return jwtExpirationInMs / 1000;
+    }
+
+    /**
+     * 从请求头中获取token
+     *
+     * @param request 请求
+     * @return Authorization请求头中Bearer后的token，未携带时返回null
+     */
+    public String resolveToken(ServerHttpRequest request) {
+        String bearerToken = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
+            return bearerToken.substring(BEARER_PREFIX.length());
+        }
+        return null;
+    }
+
+    /**
+     * 验证token并解析claims（不抛出异常）
+     * 一次解析同时完成结构检查、过期检查、签名校验和claims提取；
+     * 结构和exp在计算HMAC之前检查，格式错误或已过期的token不会消耗签名计算
+     * 验证通过的token会被缓存，缓存有效期内重复请求直接返回缓存的结果
+     *
+     * @param token JWT token
+     * @return 验证结果，验证通过时包含claims（只读，调用方不要修改）
+     */
+    public TokenVerification verifyToken(String token) {
+        if (verifiedCacheEnabled && token != null) {
+            TokenVerification cached = verifiedCache.get(token, false);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        TokenVerification result = codec.verify(token);
+        if (!result.isValid()) {
+            recordFailure(result.getStatus());
+            return result;
+        }
+
+        if (verifiedCacheEnabled) {
+            // 缓存有效期不超过token剩余有效期
+            Date expiration = result.getClaims().getExpiration();
+            long remaining = expiration == null
+                    ? verifiedCacheTtl
+                    : expiration.getTime() - System.currentTimeMillis();
+            long timeout = Math.min(verifiedCacheTtl, remaining);
+            if (timeout > 0) {
+                verifiedCache.put(token, result, timeout);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 验证token并解析claims
+     *
+     * @param token JWT token
+     * @return 解析后的claims（只读，调用方不要修改），token无效时返回null
+     */
+    public Claims parseToken(String token) {
+        return verifyToken(token).getClaims();
+    }
+
+    /**
+     * 从token中获取用户ID
+     *
+     * @param token JWT token
+     * @return 用户ID
+     * @throws JwtException token无效时抛出
+     */
+    public Long getUserIdFromToken(String token) {
+        Claims claims = parseToken(token);
+        if (claims == null) {
+            throw new MalformedJwtException("Invalid JWT token");
+        }
+        return getUserId(claims);
+    }
+
+    /**
+     * 从已解析的claims中获取用户ID
+     *
+     * @param claims 已解析的claims
+     * @return 用户ID
+     */
+    public Long getUserId(Claims claims) {
+        return TokenClaims.userId(claims);
+    }
+
+    /**
+     * 判断是否为刷新token
+     * 刷新token只能用于换取新token，不能访问接口；没有类型的token（本功能上线前签发）视为访问token
+     *
+     * @param claims 已解析的claims
+     * @return 是否为刷新token
+     */
+    public boolean isRefreshToken(Claims claims) {
+        return TokenClaims.isRefreshToken(claims);
+    }
+
+    /**
+     * 判断是否为应拒绝的旧格式token
+     * 没有typ或jti的token是访问/刷新token拆分前签发的，jwt.accept-legacy-tokens为false时拒绝
+     *
+     * @param claims 已验证的claims
+     * @return 是否拒绝
+     */
+    public boolean rejectsLegacyToken(Claims claims) {
+        return !acceptLegacyTokens && TokenClaims.isLegacy(claims);
+    }
+
+    /**
+     * 验证token是否有效
+     * 验证过程：
+     * 1. 验证token的签名
+     * 2. 检查token是否过期
+     *
+     * @param authToken JWT token
+     * @return token是否有效
+     */
+    public boolean validateToken(String authToken) {
+        return verifyToken(authToken).isValid();
+    }
+
+    /**
+     * 获取指定验证结果的累计次数
+     *
+     * @param status 验证结果
+     * @return 累计次数（VALID不计数，返回0）
+     */
+    public long getFailureCount(TokenStatus status) {
+        FailureStats stats = failureStats.get(status);
+        return stats == null ? 0 : stats.count.sum();
+    }
+
+    /**
+     * 记录验证失败
+     * 每种失败原因累计计数，日志按时间间隔采样输出，避免无效token请求把日志刷满
+     *
+     * @param status 失败原因
+     */
+    private void recordFailure(TokenStatus status) {
+        FailureStats stats = failureStats.get(status);
+        stats.count.increment();
+
+        long now = System.currentTimeMillis();
+        long last = stats.lastLogTime.get();
+        if (now - last >= failureLogInterval && stats.lastLogTime.compareAndSet(last, now)) {
+            long total = stats.count.sum();
+            long suppressed = total - stats.lastLoggedCount;
+            stats.lastLoggedCount = total;
+            log.warn("JWT验证失败: status={}, 自上次记录以来{}次, 累计{}次", status, suppressed, total);
+        } else if (log.isDebugEnabled()) {
+            log.debug("JWT验证失败: status={}", status);
+        }
+    }
+
+    /**
+     * 验证失败统计
+     */
+    private static class FailureStats {
+        private final LongAdder count = new LongAdder();
+        private final AtomicLong lastLogTime = new AtomicLong();
+        private volatile long lastLoggedCount;
+    }
+}
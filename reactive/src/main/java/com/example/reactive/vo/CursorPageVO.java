@@ -0,0 +1,36 @@
+package com.example.reactive.vo;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ *
+ * @param <T> 记录类型
+ */
+@Data
+@Accessors(chain = true)
+public class CursorPageVO<T> {
+
+    /**
+     * 当前页记录
+     */
+    private List<T> records;
+
+    /**
+     * 下一页游标，为空表示没有更多数据
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多数据
+     */
+    private Boolean hasMore;
+
+    /**
+     * 总记录数，仅在请求时返回
+     */
+    private Long total;
+}
@@ -0,0 +1,42 @@
+package com.example.reactive.vo;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 登录响应结果
+ */
+@Data
+@Accessors(chain = true)
+public class LoginVO {
+
+    /**
+     * 用户ID
+     */
+    private Long id;
+
+    /**
+     * 用户名
+     */
+    private String username;
+
+    /**
+     * 昵称
+     */
+    private String nickname;
+
+    /**
+     * 访问token
+     */
+    private String token;
+
+    /**
+     * 访问token有效期（秒）
+     */
+    private Long expiresIn;
+
+    /**
+     * 刷新token，用于在访问token过期后换取新的token
+     */
+    private String refreshToken;
+}
@@ -0,0 +1,44 @@
+package com.example.reactive.vo;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * 分页结果
+ * 字段与servlet应用的分页结果（MyBatis-Plus Page）中客户端使用的字段一致
+ *
+ * @param <T> 记录类型
+ */
+@Data
+@Accessors(chain = true)
+public class PageVO<T> {
+
+    /**
+     * 当前页记录
+     */
+    private List<T> records;
+
+    /**
+     * 总记录数
+     */
+    private long total;
+
+    /**
+     * 每页数量
+     */
+    private long size;
+
+    /**
+     * 当前页码
+     */
+    private long current;
+
+    /**
+     * 总页数
+     */
+    public long getPages() {
+        return size == 0 ? 0 : (total + size - 1) / size;
+    }
+}
@@ -0,0 +1,17 @@
+-- H2（MySQL兼容模式）下的sys_user表，结构与db/schema.sql一致，用于本地运行和验证
+-- 时间列精确到秒，与MySQL的DATETIME一致（游标分页按秒编码创建时间）
+CREATE TABLE IF NOT EXISTS sys_user (
+    id BIGINT AUTO_INCREMENT,
+    username VARCHAR(50) NOT NULL,
+    password VARCHAR(100) NOT NULL,
+    nickname VARCHAR(50),
+    email VARCHAR(100),
+    phone VARCHAR(20),
+    status TINYINT DEFAULT 1,
+    deleted TINYINT DEFAULT 0,
+    create_time DATETIME(0) DEFAULT CURRENT_TIMESTAMP,
+    update_time DATETIME(0) DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_username UNIQUE (username)
+);
+CREATE INDEX IF NOT EXISTS idx_create_time_id ON sys_user (create_time, id);
@@ -0,0 +1,236 @@
+package com.example.reactive.controller;
+
+import com.example.auth.jwt.JwtCodec;
+import com.example.auth.jwt.TokenClaims;
+import com.example.reactive.util.JwtUtil;
+import com.example.reactive.vo.LoginVO;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 登录和JWT认证过滤器的端到端测试（内存H2）
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "jwt.secret=" + UserControllerTest.SECRET,
+        "security.password-hash.bcrypt-strength=4",
+        "spring.r2dbc.url=r2dbc:h2:mem:///user_controller_test?options=MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+class UserControllerTest {
+
+    /**
+     * 与servlet应用测试相同的密钥（JwtFixtures.SECRET），用于验证两个应用签发的token可以互相识别
+     */
+    static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdGluZy1vbmx5LWMyVmpjbVYwTFd0bGVTMW1iM0l0ZEdWemRHbHVadw==";
+
+    /**
+     * servlet应用用{@link #SECRET}签发的访问token（用户900001/interop，ROLE_USER，2100年过期）
+     */
+    private static final String SERVLET_ACCESS_TOKEN = "eyJhbGciOiJIUzUxMiJ9"
+            + ".eyJzdWIiOiI5MDAwMDEiLCJpYXQiOjE3OTIzMDI3NzcsImV4cCI6NDEwMjQ0NDgwMSwianRpIjoiNzVjNGY2NWNmYWE2NGRkY2E4NGUyZWIwM2ZhNWFjYmMiLCJ0eXAiOiJhY2Nlc3MiLCJ1c2VybmFtZSI6ImludGVyb3AiLCJuaWNrbmFtZSI6IkludGVyb3AiLCJzdGF0dXMiOjEsImF1dGgiOlsiUk9MRV9VU0VSIl19"
+            + ".styIRiowZDoqX6Cyal20B6AGSk4UJUIyUPsUAd4KBhwv1QZJ-jUkKhuXe9m_PAVbzzKmRA1PwxBfOCzK6bUxAw";
+
+    private static final String PASSWORD = "secret123";
+
+    private static final AtomicInteger USER_SEQUENCE = new AtomicInteger();
+
+    private final JwtCodec codec = new JwtCodec(SECRET);
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        // servlet应用签发的token对应的用户
+        databaseClient.sql("DELETE FROM sys_user WHERE id = 900001").then()
+                .then(databaseClient.sql("INSERT INTO sys_user (id, username, password, nickname, status, deleted) "
+                        + "VALUES (900001, 'interop', 'x', 'Interop', 1, 0)").then())
+                .block();
+    }
+
+    @Test
+    void loginIssuesAccessAndRefreshTokens() {
+        String username = register();
+
+        LoginVO login = login(username, PASSWORD);
+
+        assertThat(login.getUsername()).isEqualTo(username);
+        assertThat(login.getExpiresIn()).isEqualTo(300);
+        Claims access = codec.verify(login.getToken()).getClaims();
+        Claims refresh = codec.verify(login.getRefreshToken()).getClaims();
+        assertThat(TokenClaims.isRefreshToken(access)).isFalse();
+        assertThat(TokenClaims.isRefreshToken(refresh)).isTrue();
+        // 与servlet应用相同的claims结构
+        assertThat(access).containsKeys(Claims.ID, TokenClaims.TYPE, TokenClaims.USERNAME,
+                TokenClaims.NICKNAME, TokenClaims.STATUS, TokenClaims.AUTHORITIES);
+        assertThat(TokenClaims.userId(access)).isEqualTo(login.getId());
+    }
+
+    @Test
+    void loginRejectsWrongPassword() {
+        String username = register();
+
+        client.post().uri("/user/login")
+                .bodyValue(credentials(username, "wrong-password"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(401)
+                .jsonPath("$.data").doesNotExist();
+    }
+
+    @Test
+    void validAccessTokenAuthenticates() {
+        String username = register();
+        LoginVO login = login(username, PASSWORD);
+
+        info(login.getToken())
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.username").isEqualTo(username);
+    }
+
+    @Test
+    void requestWithoutTokenIsRejected() {
+        client.get().uri("/user/info")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        LoginVO login = login(register(), PASSWORD);
+        String expired = codec.sign(TokenClaims.base(login.getId(), TokenClaims.TYPE_ACCESS, -60000));
+
+        info(expired).expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void refreshTokenCannotAuthenticate() {
+        LoginVO login = login(register(), PASSWORD);
+
+        info(login.getRefreshToken()).expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void revokedTokensAreRejected() {
+        LoginVO login = login(register(), PASSWORD);
+
+        client.post().uri("/user/logout")
+                .headers(headers -> headers.setBearerAuth(login.getToken()))
+                .bodyValue(Collections.singletonMap("refreshToken", login.getRefreshToken()))
+                .exchange()
+                .expectStatus().isOk();
+
+        info(login.getToken()).expectStatus().isUnauthorized();
+        client.post().uri("/user/refresh")
+                .bodyValue(Collections.singletonMap("refreshToken", login.getRefreshToken()))
+                .exchange()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(401);
+    }
+
+    @Test
+    void legacyTokenIsAcceptedOnlyDuringMigration() {
+        LoginVO login = login(register(), PASSWORD);
+        // 访问/刷新token拆分前的格式：没有typ和jti
+        long now = System.currentTimeMillis() / 1000;
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put(Claims.SUBJECT, login.getId().toString());
+        claims.put(Claims.ISSUED_AT, now);
+        claims.put(Claims.EXPIRATION, now + 300);
+        String legacy = codec.sign(claims);
+
+        info(legacy).expectStatus().isOk();
+
+        ReflectionTestUtils.setField(jwtUtil, "acceptLegacyTokens", false);
+        try {
+            info(legacy).expectStatus().isUnauthorized();
+            info(login.getToken()).expectStatus().isOk();
+        } finally {
+            ReflectionTestUtils.setField(jwtUtil, "acceptLegacyTokens", true);
+        }
+    }
+
+    @Test
+    void servletIssuedTokenIsAccepted() {
+        info(SERVLET_ACCESS_TOKEN)
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.id").isEqualTo("900001")
+                .jsonPath("$.data.username").isEqualTo("interop");
+    }
+
+    /**
+     * 注册新用户
+     *
+     * @return 用户名
+     */
+    private String register() {
+        String username = "user" + USER_SEQUENCE.incrementAndGet();
+        Map<String, Object> user = new HashMap<>();
+        user.put("username", username);
+        user.put("password", PASSWORD);
+        user.put("nickname", username);
+        client.post().uri("/user/register")
+                .bodyValue(user)
+                .exchange()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(200);
+        return username;
+    }
+
+    private LoginVO login(String username, String password) {
+        Map<String, Object> result = client.post().uri("/user/login")
+                .bodyValue(credentials(username, password))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .returnResult()
+                .getResponseBody();
+        assertThat(result).containsEntry("code", 200);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> data = (Map<String, Object>) result.get("data");
+        // Long按全局Jackson配置序列化为字符串
+        return new LoginVO()
+                .setId(Long.valueOf(data.get("id").toString()))
+                .setUsername((String) data.get("username"))
+                .setToken((String) data.get("token"))
+                .setExpiresIn(Long.valueOf(data.get("expiresIn").toString()))
+                .setRefreshToken((String) data.get("refreshToken"));
+    }
+
+    private WebTestClient.ResponseSpec info(String token) {
+        return client.get().uri("/user/info")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange();
+    }
+
+    private static Map<String, Object> credentials(String username, String password) {
+        Map<String, Object> credentials = new HashMap<>();
+        credentials.put("username", username);
+        credentials.put("password", password);
+        return credentials;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.reactive.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 密码哈希线程池过载时登录返回429（内存H2）
+ * 单个哈希线程，等待上限远小于一次BCrypt校验的耗时，登录必然等待超时
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "jwt.secret=c2VjcmV0LWtleS1mb3ItdGVzdGluZy1vbmx5LWMyVmpjbVYwTFd0bGVTMW1iM0l0ZEdWemRHbHVadw==",
+        "security.password-hash.threads=1",
+        "security.password-hash.queue-capacity=1",
+        "security.password-hash.timeout=20",
+        "spring.r2dbc.url=r2dbc:h2:mem:///password_hash_overload_test?options=MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+class PasswordHashOverloadTest {
+
+    /**
+     * 强度12的BCrypt校验耗时数百毫秒
+     */
+    private static final String PASSWORD_HASH = "{bcrypt}" + new BCryptPasswordEncoder(12).encode("secret123");
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM sys_user WHERE username = 'overload'").then()
+                .then(databaseClient.sql("INSERT INTO sys_user (username, password, nickname, status, deleted) "
+                                + "VALUES ('overload', :password, 'Overload', 1, 0)")
+                        .bind("password", PASSWORD_HASH)
+                        .then())
+                .block();
+    }
+
+    @Test
+    void loginReturnsTooManyRequestsWhenHashingTimesOut() {
+        Map<String, Object> credentials = new HashMap<>();
+        credentials.put("username", "overload");
+        credentials.put("password", "secret123");
+
+        client.post().uri("/user/login")
+                .bodyValue(credentials)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(429)
+                .jsonPath("$.data").doesNotExist();
+    }
+}
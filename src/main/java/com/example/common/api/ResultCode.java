@@ -31,7 +31,12 @@ public enum ResultCode implements IErrorCode {
     /**
      * 没有相关权限
      */
-    FORBIDDEN(403, "没有相关权限");
+    FORBIDDEN(403, "没有相关权限"),
+
+    /**
+     * 请求过多，系统繁忙
+     */
+    TOO_MANY_REQUESTS(429, "系统繁忙，请稍后重试");
 
     /**
      * 返回码
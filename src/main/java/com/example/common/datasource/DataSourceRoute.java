@@ -0,0 +1,22 @@
+package com.example.common.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 指定方法内的查询使用的数据源
+ * 优先级高于按方法名推断的路由；在读写事务中始终使用主库
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DataSourceRoute {
+
+    /**
+     * 路由目标
+     */
+    RouteType value();
+}
@@ -0,0 +1,104 @@
+package com.example.common.datasource;
+
+import cn.hutool.cache.impl.LRUCache;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+
+/**
+ * 数据源路由切面
+ * UserService的方法按名称推断路由：查询方法（get、list、count、page等前缀）使用从库，其余方法使用主库；
+ * 标注了 {@link DataSourceRoute} 的方法按注解指定的路由
+ * 读己之写：当前用户执行写操作后的一段时间内，其查询也使用主库，避免因复制延迟读不到刚写入的数据
+ */
+@Aspect
+public class DataSourceRouteAspect {
+
+    /**
+     * 查询方法名前缀
+     */
+    private static final String[] READ_PREFIXES = {"get", "list", "count", "page", "search", "exists", "find", "select"};
+
+    /**
+     * 最近执行过写操作的用户，在有效期（读己之写窗口）内存在
+     */
+    private final LRUCache<String, Boolean> recentWriters;
+
+    /**
+     * 构造函数
+     *
+     * @param readYourWritesWindow 读己之写窗口（毫秒）
+     * @param maxTrackedWriters    最多跟踪的用户数
+     */
+    public DataSourceRouteAspect(long readYourWritesWindow, int maxTrackedWriters) {
+        this.recentWriters = new LRUCache<>(maxTrackedWriters, readYourWritesWindow);
+    }
+
+    @Around("execution(public * com.example.service.UserService+.*(..))"
+            + " || @annotation(com.example.common.datasource.DataSourceRoute)"
+            + " || @within(com.example.common.datasource.DataSourceRoute)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, AopUtils.getTargetClass(joinPoint.getTarget()));
+        DataSourceRoute annotation = findAnnotation(specificMethod);
+
+        boolean write = annotation == null && !isReadMethod(specificMethod.getName());
+        RouteType route = annotation != null ? annotation.value() : (write ? RouteType.PRIMARY : RouteType.REPLICA);
+
+        String writer = currentWriter();
+        if (route == RouteType.REPLICA && writer != null && recentWriters.get(writer, false) != null) {
+            route = RouteType.PRIMARY;
+        }
+
+        RoutingContext.push(route);
+        try {
+            Object result = joinPoint.proceed();
+            if (write && writer != null) {
+                recentWriters.put(writer, Boolean.TRUE);
+            }
+            return result;
+        } finally {
+            RoutingContext.pop();
+        }
+    }
+
+    /**
+     * 查找方法或类上的路由注解（包括接口上声明的）
+     */
+    private static DataSourceRoute findAnnotation(Method method) {
+        DataSourceRoute annotation = AnnotatedElementUtils.findMergedAnnotation(method, DataSourceRoute.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), DataSourceRoute.class);
+        }
+        return annotation;
+    }
+
+    private static boolean isReadMethod(String name) {
+        for (String prefix : READ_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 当前登录用户名，未登录时返回null（不跟踪读己之写）
+     */
+    private static String currentWriter() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.common.datasource;
+
+/**
+ * 数据源路由目标
+ */
+public enum RouteType {
+    /**
+     * 主库：写操作及需要读到最新数据的查询
+     */
+    PRIMARY,
+
+    /**
+     * 从库：可以容忍复制延迟的只读查询
+     */
+    REPLICA
+}
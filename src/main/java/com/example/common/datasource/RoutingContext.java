@@ -0,0 +1,53 @@
+package com.example.common.datasource;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 当前线程的数据源路由上下文
+ * 使用栈保存，支持方法嵌套调用，内层方法结束后恢复外层的路由
+ */
+public final class RoutingContext {
+
+    private static final ThreadLocal<Deque<RouteType>> ROUTES = new ThreadLocal<>();
+
+    private RoutingContext() {
+    }
+
+    /**
+     * 进入指定路由
+     *
+     * @param route 路由目标
+     */
+    public static void push(RouteType route) {
+        Deque<RouteType> routes = ROUTES.get();
+        if (routes == null) {
+            routes = new ArrayDeque<>();
+            ROUTES.set(routes);
+        }
+        routes.push(route);
+    }
+
+    /**
+     * 退出当前路由
+     */
+    public static void pop() {
+        Deque<RouteType> routes = ROUTES.get();
+        if (routes != null) {
+            routes.poll();
+            if (routes.isEmpty()) {
+                ROUTES.remove();
+            }
+        }
+    }
+
+    /**
+     * 当前路由
+     *
+     * @return 路由目标，未指定时返回null
+     */
+    public static RouteType current() {
+        Deque<RouteType> routes = ROUTES.get();
+        return routes == null ? null : routes.peek();
+    }
+}
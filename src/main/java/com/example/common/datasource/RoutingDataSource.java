@@ -0,0 +1,222 @@
+package com.example.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 读写分离路由数据源
+ * 获取连接时按以下顺序决定使用主库还是从库：
+ * 1. 处于读写事务中：主库
+ * 2. 当前线程指定了路由（{@link DataSourceRoute}或按方法名推断）：按指定路由
+ * 3. 处于只读事务中：从库
+ * 4. 其他情况：主库
+ * 从库按轮询选择，只使用健康的从库；获取从库连接失败时标记为不健康并尝试下一个，全部不可用时回退到主库
+ * 需要配合LazyConnectionDataSourceProxy使用，保证在事务属性（只读标记）确定之后才获取实际连接
+ */
+@Slf4j
+public class RoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+    private final LongAdder failovers = new LongAdder();
+
+    private ScheduledExecutorService healthChecker;
+
+    /**
+     * 构造函数
+     *
+     * @param primary  主库
+     * @param replicas 从库：名称 -> 数据源
+     */
+    public RoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (resolveRoute() == RouteType.REPLICA) {
+            Connection connection = getReplicaConnection();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    /**
+     * 决定当前连接的路由
+     */
+    private RouteType resolveRoute() {
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (inTransaction && !readOnly) {
+            return RouteType.PRIMARY;
+        }
+        RouteType route = RoutingContext.current();
+        if (route != null) {
+            return route;
+        }
+        return inTransaction ? RouteType.REPLICA : RouteType.PRIMARY;
+    }
+
+    /**
+     * 轮询获取健康从库的连接
+     *
+     * @return 从库连接，没有可用从库时返回null
+     */
+    private Connection getReplicaConnection() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                failovers.increment();
+                markHealthy(replica, false, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 启动从库健康检查
+     *
+     * @param intervalMillis 检查间隔（毫秒）
+     * @param timeoutSeconds 单次连接校验超时（秒）
+     */
+    public void startHealthCheck(long intervalMillis, int timeoutSeconds) {
+        if (replicas.isEmpty() || intervalMillis <= 0) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(() -> checkReplicas(timeoutSeconds),
+                intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 校验所有从库的连接，恢复或摘除从库
+     */
+    private void checkReplicas(int timeoutSeconds) {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                boolean valid = connection.isValid(timeoutSeconds);
+                markHealthy(replica, valid, valid ? null : "连接校验失败");
+            } catch (SQLException | RuntimeException e) {
+                markHealthy(replica, false, e.getMessage());
+            }
+        }
+    }
+
+    private void markHealthy(Replica replica, boolean healthy, String reason) {
+        if (replica.healthy != healthy) {
+            replica.healthy = healthy;
+            if (healthy) {
+                log.info("从库[{}]已恢复", replica.name);
+            } else {
+                log.warn("从库[{}]不可用，读请求将转到其他从库或主库: {}", replica.name, reason);
+            }
+        }
+    }
+
+    /**
+     * 从库健康状态：名称 -> 是否健康
+     */
+    public Map<String, Boolean> getReplicaStatus() {
+        Map<String, Boolean> status = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            status.put(replica.name, replica.healthy);
+        }
+        return status;
+    }
+
+    /**
+     * 从主库获取的连接数
+     */
+    public long getPrimaryConnections() {
+        return primaryConnections.sum();
+    }
+
+    /**
+     * 从从库获取的连接数
+     */
+    public long getReplicaConnections() {
+        return replicaConnections.sum();
+    }
+
+    /**
+     * 获取从库连接失败而转移的次数
+     */
+    public long getFailovers() {
+        return failovers.sum();
+    }
+
+    @Override
+    public void destroy() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        // 从库数据源由本类创建和管理，主库由Spring容器管理
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable) {
+                try {
+                    ((Closeable) replica.dataSource).close();
+                } catch (IOException e) {
+                    log.warn("关闭从库[{}]失败", replica.name, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 从库及其健康状态
+     */
+    private static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
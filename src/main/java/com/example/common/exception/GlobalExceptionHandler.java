@@ -1,13 +1,24 @@
 package com.example.common.exception;
 
 import com.example.common.api.Result;
+import com.example.common.api.ResultCode;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.authentication.AccountStatusException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 全局异常处理器
@@ -21,6 +32,28 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice  // 标记这是一个全局异常处理器，处理所有Controller中抛出的异常
 public class GlobalExceptionHandler {
 
+    /**
+     * 繁忙（429）日志的最小输出间隔（毫秒）
+     * 间隔内的拒绝只计数，不逐条输出，拒绝次数以auth.password.rejected等指标为准
+     */
+    @Value("${logging.rejected-log-interval:60000}")
+    private long rejectedLogInterval;
+
+    /**
+     * 繁忙（429）响应次数
+     */
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * 上次输出繁忙日志的时间
+     */
+    private final AtomicLong rejectedLastLogTime = new AtomicLong();
+
+    /**
+     * 上次输出繁忙日志时的累计次数
+     */
+    private volatile long rejectedLastLoggedCount;
+
     /**
      * 处理自定义API异常
      *
@@ -29,12 +62,78 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ApiException.class)  // 指定要处理的异常类型
     public Result<?> handleApiException(ApiException e) {
-        // 记录异常日志
-        log.error("Api异常：{}", e.getMessage());
-        // 返回错误信息
+        // 系统繁忙是预期内的过载保护，采样记录，其余异常逐条记录
+        if (e.getErrorCode() == ResultCode.TOO_MANY_REQUESTS) {
+            recordRejected(e.getMessage());
+        } else {
+            log.error("Api异常：{}", e.getMessage());
+        }
+        // 返回错误信息，带错误码的异常返回对应的错误码
+        if (e.getErrorCode() != null) {
+            return Result.failed(e.getErrorCode());
+        }
         return Result.failed(e.getMessage());
     }
 
+    /**
+     * 处理认证异常
+     * 登录时用户名或密码错误、账号被禁用等，返回明确的提示而不是系统异常
+     *
+     * @param e 认证异常
+     * @return 处理结果
+     */
+    @ExceptionHandler(AuthenticationException.class)
+    public Result<?> handleAuthenticationException(AuthenticationException e) {
+        log.warn("认证失败：{}", e.getMessage());
+        if (e instanceof BadCredentialsException) {
+            return Result.unauthorized("用户名或密码错误");
+        }
+        if (e instanceof AccountStatusException) {
+            return Result.unauthorized("账号已被禁用");
+        }
+        return Result.unauthorized("认证失败");
+    }
+
+    /**
+     * 处理异步执行被拒绝或超时
+     * async执行模式下请求线程池和队列已满，或请求处理超过配置的超时时间
+     * 线程池拒绝时WebAsyncManager既抛出异常又以该异常作为结果重新分派，
+     * 这里只在重新分派时写响应，避免响应体写两次
+     *
+     * @param e 异常
+     * @param request 请求
+     * @return 处理结果
+     */
+    @ExceptionHandler({TaskRejectedException.class, AsyncRequestTimeoutException.class})
+    public Result<?> handleAsyncRejected(Exception e, HttpServletRequest request) {
+        if (request.isAsyncStarted()) {
+            return null;
+        }
+        recordRejected(e.getClass().getSimpleName());
+        return Result.failed(ResultCode.TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * 记录繁忙拒绝
+     * 过载时每秒可能有大量拒绝，日志按时间间隔采样输出，避免日志本身加重负载
+     *
+     * @param reason 拒绝原因
+     */
+    private void recordRejected(String reason) {
+        rejectedCount.increment();
+
+        long now = System.currentTimeMillis();
+        long last = rejectedLastLogTime.get();
+        if (now - last >= rejectedLogInterval && rejectedLastLogTime.compareAndSet(last, now)) {
+            long total = rejectedCount.sum();
+            long suppressed = total - rejectedLastLoggedCount;
+            rejectedLastLoggedCount = total;
+            log.warn("系统繁忙拒绝请求: reason={}, 自上次记录以来{}次, 累计{}次", reason, suppressed, total);
+        } else if (log.isDebugEnabled()) {
+            log.debug("系统繁忙拒绝请求: reason={}", reason);
+        }
+    }
+
     /**
      * 处理参数验证异常
      * 当使用@Valid注解验证请求参数时，如果验证失败会抛出此异常
@@ -0,0 +1,70 @@
+package com.example.common.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 异步日志追加器指标
+ * 为logback配置中的每个CountingAsyncAppender注册：
+ * logback.async.dropped（标签reason：discarded/overflow）和logback.async.queue.size
+ * 未使用异步追加器的profile（如dev）不注册任何指标
+ */
+@Component
+public class AsyncAppenderMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (CountingAsyncAppender appender : findAppenders().values()) {
+            String name = appender.getName();
+            FunctionCounter.builder("logback.async.dropped", appender, CountingAsyncAppender::getDiscardedCount)
+                    .description("异步日志因队列接近满而丢弃的条数")
+                    .tag("appender", name)
+                    .tag("reason", "discarded")
+                    .register(registry);
+            FunctionCounter.builder("logback.async.dropped", appender, CountingAsyncAppender::getOverflowCount)
+                    .description("异步日志因队列已满而丢弃的条数")
+                    .tag("appender", name)
+                    .tag("reason", "overflow")
+                    .register(registry);
+            Gauge.builder("logback.async.queue.size", appender, CountingAsyncAppender::getNumberOfElementsInQueue)
+                    .description("异步日志队列中等待写入的条数")
+                    .tag("appender", name)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * 查找所有logger上挂载的CountingAsyncAppender
+     *
+     * @return 追加器名称 -> 追加器
+     */
+    private static Map<String, CountingAsyncAppender> findAppenders() {
+        Map<String, CountingAsyncAppender> appenders = new LinkedHashMap<>();
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext)) {
+            return appenders;
+        }
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> iterator = logger.iteratorForAppenders();
+            while (iterator.hasNext()) {
+                Appender<ILoggingEvent> appender = iterator.next();
+                if (appender instanceof CountingAsyncAppender) {
+                    appenders.putIfAbsent(appender.getName(), (CountingAsyncAppender) appender);
+                }
+            }
+        }
+        return appenders;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.common.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统计丢弃次数的异步日志追加器
+ * 与AsyncAppender行为一致：队列剩余容量低于discardingThreshold时丢弃INFO及以下级别的日志，
+ * neverBlock=true时队列已满直接丢弃；额外记录丢弃的日志条数，由AsyncAppenderMetrics注册为指标
+ * 丢弃判断与入队之间没有加锁，并发下计数是近似值
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    /**
+     * 因队列剩余容量低于阈值而丢弃的条数（INFO及以下）
+     */
+    private final LongAdder discarded = new LongAdder();
+
+    /**
+     * 因队列已满而丢弃的条数（neverBlock=true时）
+     */
+    private final LongAdder overflowed = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (remaining < getDiscardingThreshold() && isDiscardable(event)) {
+            discarded.increment();
+            return;
+        }
+        if (remaining == 0 && isNeverBlock()) {
+            overflowed.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    /**
+     * 因队列剩余容量低于阈值而丢弃的条数
+     */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /**
+     * 因队列已满而丢弃的条数
+     */
+    public long getOverflowCount() {
+        return overflowed.sum();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.common.logging;
+
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * 可切换为JSON格式的日志编码器
+ * json=false时与PatternLayoutEncoder完全相同；json=true时每条日志输出一行JSON，
+ * 包含time、level、thread、logger、message、MDC和exception字段，便于日志采集系统直接解析
+ */
+public class StructuredLogEncoder extends PatternLayoutEncoder {
+
+    private static final DateTimeFormatter TIME_FORMATTER =
+            DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(ZoneId.systemDefault());
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * 是否输出JSON
+     */
+    private boolean json;
+
+    public void setJson(boolean json) {
+        this.json = json;
+    }
+
+    public boolean isJson() {
+        return json;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        if (!json) {
+            return super.encode(event);
+        }
+        StringBuilder builder = new StringBuilder(256);
+        builder.append("{\"time\":\"");
+        TIME_FORMATTER.formatTo(Instant.ofEpochMilli(event.getTimeStamp()), builder);
+        builder.append("\",\"level\":\"").append(event.getLevel().toString());
+        builder.append("\",\"thread\":");
+        appendString(builder, event.getThreadName());
+        builder.append(",\"logger\":");
+        appendString(builder, event.getLoggerName());
+        builder.append(",\"message\":");
+        appendString(builder, event.getFormattedMessage());
+
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null) {
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                builder.append(',');
+                appendString(builder, entry.getKey());
+                builder.append(':');
+                appendString(builder, entry.getValue());
+            }
+        }
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            builder.append(",\"exception\":");
+            appendString(builder, ThrowableProxyUtil.asString(throwable));
+        }
+        builder.append("}\n");
+        Charset charset = getCharset();
+        return builder.toString().getBytes(charset == null ? StandardCharsets.UTF_8 : charset);
+    }
+
+    /**
+     * 输出JSON字符串（含引号及转义）
+     */
+    private static void appendString(StringBuilder builder, String value) {
+        if (value == null) {
+            builder.append("null");
+            return;
+        }
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        builder.append(c);
+                    }
+                    break;
+            }
+        }
+        builder.append('"');
+    }
+}
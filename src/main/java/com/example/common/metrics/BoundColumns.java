@@ -0,0 +1,98 @@
+package com.example.common.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 解析SQL中每个占位符绑定的列名，用于慢查询样本按列脱敏
+ * 支持MyBatis-Plus生成的常见形式：
+ * 1. 比较条件和SET赋值：col = ?、col <> ?、col LIKE ?、col IN (?, ?)
+ * 2. INSERT INTO t (c1, c2) VALUES (?, ?)，多行VALUES按列数循环对应
+ * 3. LIMIT ? / OFFSET ?
+ * 无法识别的占位符列名为null，由调用方按敏感列处理
+ */
+final class BoundColumns {
+
+    /**
+     * 占位符前的"列名 运算符"，IN列表中后续的占位符也对应同一列
+     */
+    private static final Pattern COMPARISON = Pattern.compile(
+            "([A-Za-z_`][\\w`]*(?:\\.[A-Za-z_`][\\w`]*)?)\\s*"
+                    + "(?:=|<>|!=|<=|>=|<|>|\\s(?:NOT\\s+)?LIKE|\\s(?:NOT\\s+)?IN\\s*\\((?:\\s*\\?\\s*,)*)\\s*$",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern PAGING = Pattern.compile("\\b(LIMIT|OFFSET)\\s*(?:\\?\\s*,\\s*)?$", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern INSERT = Pattern.compile(
+            "^\\s*INSERT\\s+INTO\\s+[\\w`.]+\\s*\\(([^)]*)\\)\\s*VALUES", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 向前查找运算符时最多回看的字符数
+     */
+    private static final int LOOK_BEHIND = 128;
+
+    private BoundColumns() {
+    }
+
+    /**
+     * 按占位符顺序返回绑定的列名（小写，去掉表别名和反引号）
+     *
+     * @param sql SQL语句
+     * @return 列名列表，无法识别的位置为null
+     */
+    static List<String> resolve(String sql) {
+        List<Integer> placeholders = placeholders(sql);
+        if (placeholders.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> columns = new ArrayList<>(placeholders.size());
+
+        Matcher insert = INSERT.matcher(sql);
+        if (insert.find()) {
+            String[] names = insert.group(1).split(",");
+            for (int i = 0; i < placeholders.size(); i++) {
+                columns.add(placeholders.get(i) > insert.end() ? normalize(names[i % names.length]) : null);
+            }
+            return columns;
+        }
+
+        for (int position : placeholders) {
+            String before = sql.substring(Math.max(0, position - LOOK_BEHIND), position);
+            Matcher comparison = COMPARISON.matcher(before);
+            if (comparison.find()) {
+                columns.add(normalize(comparison.group(1)));
+                continue;
+            }
+            Matcher paging = PAGING.matcher(before);
+            columns.add(paging.find() ? paging.group(1).toLowerCase(Locale.ROOT) : null);
+        }
+        return columns;
+    }
+
+    /**
+     * 占位符在SQL中的位置，跳过字符串字面量中的问号
+     */
+    private static List<Integer> placeholders(String sql) {
+        List<Integer> positions = new ArrayList<>();
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                positions.add(i);
+            }
+        }
+        return positions;
+    }
+
+    private static String normalize(String column) {
+        String name = column.trim().replace("`", "");
+        int dot = name.lastIndexOf('.');
+        return (dot >= 0 ? name.substring(dot + 1) : name).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.common.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hikari连接池指标
+ * 作为MetricsTrackerFactory设置到连接池上，按连接池名称记录：
+ * 获取连接耗时、连接占用时长、新建连接耗时、获取超时次数，以及活跃/空闲/等待数
+ * 连接池只能设置一个MetricsTrackerFactory，因此注册到MeterRegistry后同时转发给Hikari自带的Micrometer实现（hikaricp.*指标）
+ */
+public class HikariPoolMetrics implements MetricsTrackerFactory, MeterBinder {
+
+    private final Map<String, PoolTracker> pools = new ConcurrentHashMap<>();
+
+    private volatile MetricsTrackerFactory micrometer;
+
+    @Override
+    public synchronized IMetricsTracker create(String poolName, PoolStats poolStats) {
+        PoolTracker tracker = new PoolTracker(poolName, poolStats);
+        MetricsTrackerFactory factory = micrometer;
+        if (factory != null) {
+            tracker.delegate = factory.create(poolName, poolStats);
+        }
+        pools.put(poolName, tracker);
+        return tracker;
+    }
+
+    /**
+     * 注册到MeterRegistry，已启动的连接池也补上Micrometer指标
+     */
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        micrometer = new MicrometerMetricsTrackerFactory(registry);
+        for (PoolTracker tracker : pools.values()) {
+            if (tracker.delegate == null) {
+                tracker.delegate = micrometer.create(tracker.poolName, tracker.poolStats);
+            }
+        }
+    }
+
+    /**
+     * 所有连接池的指标快照
+     *
+     * @return 每个连接池一项
+     */
+    public List<Map<String, Object>> snapshot() {
+        List<Map<String, Object>> result = new ArrayList<>(pools.size());
+        for (PoolTracker tracker : pools.values()) {
+            result.add(tracker.snapshot());
+        }
+        return result;
+    }
+
+    /**
+     * 单个连接池的指标
+     */
+    private class PoolTracker implements IMetricsTracker {
+
+        private final String poolName;
+        private final PoolStats poolStats;
+
+        /**
+         * 获取连接耗时
+         */
+        private final LatencyHistogram acquireLatency = new LatencyHistogram();
+
+        /**
+         * 连接从借出到归还的占用时长
+         */
+        private final LatencyHistogram usageLatency = new LatencyHistogram();
+
+        /**
+         * 新建物理连接耗时
+         */
+        private final LatencyHistogram creationLatency = new LatencyHistogram();
+
+        /**
+         * 获取连接超时次数
+         */
+        private final LongAdder timeouts = new LongAdder();
+
+        /**
+         * Micrometer指标
+         */
+        private volatile IMetricsTracker delegate;
+
+        PoolTracker(String poolName, PoolStats poolStats) {
+            this.poolName = poolName;
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquireLatency.record(elapsedAcquiredNanos);
+            IMetricsTracker tracker = delegate;
+            if (tracker != null) {
+                tracker.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            }
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usageLatency.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+            IMetricsTracker tracker = delegate;
+            if (tracker != null) {
+                tracker.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            }
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            creationLatency.record(TimeUnit.MILLISECONDS.toNanos(connectionCreatedMillis));
+            IMetricsTracker tracker = delegate;
+            if (tracker != null) {
+                tracker.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+            IMetricsTracker tracker = delegate;
+            if (tracker != null) {
+                tracker.recordConnectionTimeout();
+            }
+        }
+
+        @Override
+        public void close() {
+            pools.remove(poolName, this);
+            IMetricsTracker tracker = delegate;
+            if (tracker != null) {
+                tracker.close();
+            }
+        }
+
+        Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("pool", poolName);
+            snapshot.put("active", poolStats.getActiveConnections());
+            snapshot.put("idle", poolStats.getIdleConnections());
+            snapshot.put("total", poolStats.getTotalConnections());
+            snapshot.put("pending", poolStats.getPendingThreads());
+            snapshot.put("max", poolStats.getMaxConnections());
+            snapshot.put("min", poolStats.getMinConnections());
+            snapshot.put("timeouts", timeouts.sum());
+            snapshot.put("acquire", acquireLatency.snapshot());
+            snapshot.put("usage", usageLatency.snapshot());
+            snapshot.put("creation", creationLatency.snapshot());
+            return snapshot;
+        }
+    }
+}
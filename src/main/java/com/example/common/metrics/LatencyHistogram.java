@@ -0,0 +1,124 @@
+package com.example.common.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 延迟直方图
+ * 按微秒以2的幂划分桶，记录时只做一次桶定位和几次LongAdder累加，可在高并发热点路径上常开
+ * 百分位数为所在桶的上界，属于近似值
+ */
+public class LatencyHistogram {
+
+    /**
+     * 桶数量：第i个桶记录 [2^(i-1), 2^i) 微秒，最后一个桶约为 2^30 微秒（约18分钟）以上
+     */
+    private static final int BUCKETS = 32;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        long micros = nanos / 1000;
+        int index = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets[index].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * 记录次数
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 总耗时（纳秒）
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * 最大耗时（纳秒）
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * 近似百分位耗时（纳秒），取所在桶的上界
+     *
+     * @param percentile 百分位，取值 (0, 1]
+     * @return 耗时（纳秒），没有记录时返回0
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i].sum();
+            if (seen >= threshold) {
+                return Math.min(TimeUnit.MICROSECONDS.toNanos(1L << i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * 各桶计数，键为桶上界（微秒），只包含非空桶
+     */
+    public Map<Long, Long> getBuckets() {
+        Map<Long, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            long n = buckets[i].sum();
+            if (n > 0) {
+                result.put(1L << i, n);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 汇总信息，便于以JSON形式输出（时间单位：毫秒）
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        long n = getCount();
+        result.put("count", n);
+        result.put("meanMillis", n == 0 ? 0 : toMillis(getTotalNanos() / n));
+        result.put("p50Millis", toMillis(getPercentileNanos(0.50)));
+        result.put("p90Millis", toMillis(getPercentileNanos(0.90)));
+        result.put("p99Millis", toMillis(getPercentileNanos(0.99)));
+        result.put("maxMillis", toMillis(getMaxNanos()));
+        return result;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
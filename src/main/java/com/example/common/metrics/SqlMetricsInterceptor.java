@@ -0,0 +1,270 @@
+package com.example.common.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL执行指标拦截器
+ * 按MappedStatement记录执行耗时分布、影响/返回行数和失败次数；
+ * 超过慢查询阈值的执行保留最近若干条样本（SQL及绑定参数）；参数按绑定的列脱敏：
+ * 列名包含敏感关键字（如password、email、phone）或无法从SQL中识别列名的参数只保留******
+ * 正常路径只有两次System.nanoTime()和几次LongAdder累加，可在生产环境常开
+ * MyBatis-Plus的InnerInterceptor只有执行前的回调，无法统计耗时，因此使用MyBatis原生拦截器
+ */
+@Slf4j
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class SqlMetricsInterceptor implements Interceptor {
+
+    /**
+     * 脱敏后的参数值
+     */
+    private static final String MASK = "******";
+
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+
+    /**
+     * 慢查询阈值（纳秒）
+     */
+    private final long slowThresholdNanos;
+
+    /**
+     * 慢查询样本环形缓冲区
+     */
+    private final AtomicReferenceArray<Map<String, Object>> slowSamples;
+    private final AtomicLong slowSequence = new AtomicLong();
+
+    /**
+     * 敏感列关键字（小写），列名包含其中任意一个时参数脱敏
+     */
+    private final List<String> sensitiveColumns;
+
+    /**
+     * 构造函数
+     *
+     * @param slowThresholdMillis 慢查询阈值（毫秒）
+     * @param slowSampleSize      保留的慢查询样本数
+     * @param sensitiveColumns    敏感列关键字
+     */
+    public SqlMetricsInterceptor(long slowThresholdMillis, int slowSampleSize, Collection<String> sensitiveColumns) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.slowSamples = new AtomicReferenceArray<>(Math.max(1, slowSampleSize));
+        this.sensitiveColumns = new ArrayList<>();
+        for (String column : sensitiveColumns) {
+            if (!column.trim().isEmpty()) {
+                this.sensitiveColumns.add(column.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        StatementStats stats = statements.computeIfAbsent(ms.getId(), StatementStats::new);
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            stats.errors.increment();
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        stats.latency.record(elapsed);
+        long rows = rows(result);
+        if (rows > 0) {
+            stats.rows.add(rows);
+        }
+        if (elapsed >= slowThresholdNanos) {
+            BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(args[1]);
+            recordSlow(ms, boundSql, elapsed, rows);
+        }
+        return result;
+    }
+
+    /**
+     * 返回行数（查询）或影响行数（更新），游标查询无法预知行数返回-1
+     */
+    private static long rows(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Integer) {
+            return (Integer) result;
+        }
+        return result instanceof Cursor ? -1 : 0;
+    }
+
+    /**
+     * 记录慢查询样本并输出日志
+     */
+    private void recordSlow(MappedStatement ms, BoundSql boundSql, long elapsedNanos, long rows) {
+        String sql = boundSql.getSql().replaceAll("\\s+", " ").trim();
+        List<Object> parameters = parameters(ms.getConfiguration(), boundSql, sql);
+        double millis = elapsedNanos / 1_000_000.0;
+
+        Map<String, Object> sample = new LinkedHashMap<>();
+        sample.put("statement", ms.getId());
+        sample.put("sql", sql);
+        sample.put("parameters", parameters);
+        sample.put("rows", rows);
+        sample.put("millis", millis);
+        sample.put("time", LocalDateTime.now().toString());
+        int index = (int) (slowSequence.getAndIncrement() % slowSamples.length());
+        slowSamples.set(index, sample);
+
+        log.warn("慢SQL: {} 耗时{}ms, rows={}, sql={}, parameters={}", ms.getId(), millis, rows, sql, parameters);
+    }
+
+    /**
+     * 按参数映射取出绑定参数的值（与MyBatis DefaultParameterHandler的取值规则一致）
+     * 绑定到敏感列、无法识别列名或属性名包含password的参数脱敏
+     * MyBatis-Plus条件构造器的参数名是ew.paramNameValuePairs.MPGENVALn，只能通过SQL中的列名判断
+     */
+    private List<Object> parameters(Configuration configuration, BoundSql boundSql, String sql) {
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        List<String> columns = BoundColumns.resolve(sql);
+        List<Object> values = new ArrayList<>(mappings.size());
+        Object parameterObject = boundSql.getParameterObject();
+        MetaObject metaObject = null;
+        for (int i = 0; i < mappings.size(); i++) {
+            ParameterMapping mapping = mappings.get(i);
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = mapping.getProperty();
+            String column = columns.size() == mappings.size() ? columns.get(i) : null;
+            if (isSensitive(column) || property.toLowerCase(Locale.ROOT).contains("password")) {
+                values.add(MASK);
+                continue;
+            }
+            Object value;
+            try {
+                if (boundSql.hasAdditionalParameter(property)) {
+                    value = boundSql.getAdditionalParameter(property);
+                } else if (parameterObject == null) {
+                    value = null;
+                } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                    value = parameterObject;
+                } else {
+                    if (metaObject == null) {
+                        metaObject = configuration.newMetaObject(parameterObject);
+                    }
+                    value = metaObject.getValue(property);
+                }
+            } catch (RuntimeException e) {
+                value = "?";
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * 列是否需要脱敏，无法识别的列按敏感处理
+     */
+    private boolean isSensitive(String column) {
+        if (column == null) {
+            return true;
+        }
+        for (String keyword : sensitiveColumns) {
+            if (column.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 各语句的执行统计，按总耗时倒序
+     *
+     * @return 每个语句一项
+     */
+    public List<Map<String, Object>> snapshot() {
+        List<StatementStats> sorted = new ArrayList<>(statements.values());
+        sorted.sort(Comparator.comparingLong((StatementStats stats) -> stats.latency.getTotalNanos()).reversed());
+        List<Map<String, Object>> result = new ArrayList<>(sorted.size());
+        for (StatementStats stats : sorted) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("statement", stats.id);
+            item.put("totalMillis", stats.latency.getTotalNanos() / 1_000_000.0);
+            item.put("rows", stats.rows.sum());
+            item.put("errors", stats.errors.sum());
+            item.put("latency", stats.latency.snapshot());
+            result.add(item);
+        }
+        return result;
+    }
+
+    /**
+     * 最近的慢查询样本，按时间倒序
+     *
+     * @return 慢查询样本
+     */
+    public List<Map<String, Object>> getSlowSamples() {
+        int size = slowSamples.length();
+        long next = slowSequence.get();
+        List<Map<String, Object>> result = new ArrayList<>(size);
+        for (long i = next - 1; i >= Math.max(0, next - size); i--) {
+            Map<String, Object> sample = slowSamples.get((int) (i % size));
+            if (sample != null) {
+                result.add(sample);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 单个语句的统计
+     */
+    private static class StatementStats {
+
+        private final String id;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        StatementStats(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.common.web;
+
+import org.springframework.core.env.Environment;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 请求执行模式
+ * 由server.execution.mode配置，VIRTUAL在JDK 21以下自动回退为ASYNC
+ */
+public enum ExecutionMode {
+
+    /**
+     * Tomcat平台线程池执行整个请求（默认）
+     */
+    PLATFORM,
+
+    /**
+     * 每个请求在独立的虚拟线程中执行，阻塞在JDBC或密码哈希上时不占用平台线程（JDK 21+）
+     * JDBC驱动需为mysql-connector-j 9.0+：8.x在synchronized块内做网络IO，
+     * 虚拟线程阻塞在其中时会钉住载体线程（pinning），并发上限退化为载体线程数
+     */
+    VIRTUAL,
+
+    /**
+     * 返回Result的接口在独立线程池中执行，Tomcat线程在参数解析完成后即释放
+     */
+    ASYNC;
+
+    /**
+     * 配置属性名
+     */
+    public static final String PROPERTY = "server.execution.mode";
+
+    /**
+     * 按配置和当前JDK决定实际使用的执行模式
+     *
+     * @param environment 配置环境
+     * @return 实际执行模式
+     */
+    public static ExecutionMode resolve(Environment environment) {
+        ExecutionMode mode = of(environment.getProperty(PROPERTY, "platform"));
+        if (mode == VIRTUAL && !virtualThreadsSupported()) {
+            return ASYNC;
+        }
+        return mode;
+    }
+
+    /**
+     * 按名称查找执行模式，忽略大小写和首尾空白
+     *
+     * @param value 配置值
+     * @return 执行模式
+     * @throws IllegalArgumentException 配置值不是有效的执行模式
+     */
+    public static ExecutionMode of(String value) {
+        String name = value.trim();
+        for (ExecutionMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException(PROPERTY + "只支持" + validValues() + ": " + value);
+    }
+
+    /**
+     * 当前JDK是否支持虚拟线程
+     */
+    public static boolean virtualThreadsSupported() {
+        return virtualThreadFactory() != null;
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的执行器
+     * 项目按Java 8编译，通过反射调用JDK 21的Executors.newVirtualThreadPerTaskExecutor()
+     *
+     * @return 执行器
+     * @throws IllegalStateException 当前JDK不支持虚拟线程
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        Method factory = virtualThreadFactory();
+        if (factory == null) {
+            throw new IllegalStateException("当前JDK不支持虚拟线程: " + System.getProperty("java.version"));
+        }
+        try {
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("创建虚拟线程执行器失败", e);
+        }
+    }
+
+    private static String validValues() {
+        StringJoiner joiner = new StringJoiner("、");
+        for (ExecutionMode mode : values()) {
+            joiner.add(mode.name().toLowerCase(Locale.ROOT));
+        }
+        return joiner.toString();
+    }
+
+    private static Method virtualThreadFactory() {
+        try {
+            return java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.common.web;
+
+import com.example.common.api.Result;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 把阻塞接口放到异步线程池执行的HandlerAdapter
+ * 返回{@link Result}的接口在Tomcat线程上完成参数解析（包括读取请求体）后，
+ * 方法调用本身包装为Callable交给Spring MVC的异步处理，在configureAsyncSupport配置的线程池中执行；
+ * 方法签名不变，异常仍由@ExceptionHandler处理
+ * 直接读写HttpServletResponse的接口（导入、导出）及其他返回类型不受影响
+ * SecurityContext由Spring Security的WebAsyncManagerIntegrationFilter传递，
+ * RequestContextHolder和LocaleContextHolder由{@link RequestContextCallableInterceptor}传递
+ */
+public class OffloadingRequestMappingHandlerAdapter extends RequestMappingHandlerAdapter {
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        if (Result.class.isAssignableFrom(handlerMethod.getMethod().getReturnType())) {
+            return new OffloadingInvocableHandlerMethod(handlerMethod);
+        }
+        return super.createInvocableHandlerMethod(handlerMethod);
+    }
+
+    /**
+     * 返回Callable的处理方法，实际返回值的类型决定返回值处理器，因此由CallableMethodReturnValueHandler接管
+     */
+    private static class OffloadingInvocableHandlerMethod extends ServletInvocableHandlerMethod {
+
+        OffloadingInvocableHandlerMethod(HandlerMethod handlerMethod) {
+            super(handlerMethod);
+        }
+
+        @Override
+        protected Object doInvoke(Object... args) {
+            return (Callable<Object>) () -> super.doInvoke(args);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.common.web;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.Callable;
+
+/**
+ * 在异步线程中设置RequestContextHolder和LocaleContextHolder
+ * Spring MVC只在Tomcat线程上设置这两个线程变量，Callable在其他线程执行时需要重新绑定；
+ * 原线程上的ServletRequestAttributes在首次分派结束时已标记为完成，因此按当前请求新建
+ */
+public class RequestContextCallableInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        if (servletRequest != null) {
+            RequestContextHolder.setRequestAttributes(
+                    new ServletRequestAttributes(servletRequest, request.getNativeResponse(HttpServletResponse.class)));
+            LocaleContextHolder.setLocale(servletRequest.getLocale());
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        RequestContextHolder.resetRequestAttributes();
+        LocaleContextHolder.resetLocaleContext();
+    }
+}
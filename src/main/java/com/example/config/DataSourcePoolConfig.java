@@ -0,0 +1,79 @@
+package com.example.config;
+
+import com.example.common.metrics.HikariPoolMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 数据库连接池配置
+ * 未显式配置spring.datasource.hikari.maximum-pool-size时，按CPU核数和预期并发计算连接池大小，
+ * 并为所有Hikari连接池挂载指标采集
+ */
+@Slf4j
+@Configuration
+public class DataSourcePoolConfig {
+
+    private static final String MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+
+    /**
+     * 连接池指标
+     */
+    @Bean
+    public static HikariPoolMetrics hikariPoolMetrics() {
+        return new HikariPoolMetrics();
+    }
+
+    /**
+     * 在连接池启动前设置大小和指标采集
+     * 连接池在首次获取连接时才启动，此时属性绑定已完成
+     */
+    @Bean
+    public static BeanPostProcessor hikariPoolConfigurer(Environment environment, HikariPoolMetrics hikariPoolMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    configure((HikariDataSource) bean, environment, hikariPoolMetrics);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static void configure(HikariDataSource dataSource, Environment environment, HikariPoolMetrics metrics) {
+        if (!environment.containsProperty(MAXIMUM_POOL_SIZE)) {
+            int size = poolSize(environment);
+            dataSource.setMaximumPoolSize(size);
+            dataSource.setMinimumIdle(size);
+        }
+        if (dataSource.getMetricsTrackerFactory() == null && dataSource.getMetricRegistry() == null) {
+            dataSource.setMetricsTrackerFactory(metrics);
+        }
+        log.info("数据库连接池: pool={}, maximumPoolSize={}, connectionTimeout={}ms, leakDetectionThreshold={}ms",
+                dataSource.getPoolName(), dataSource.getMaximumPoolSize(),
+                dataSource.getConnectionTimeout(), dataSource.getLeakDetectionThreshold());
+    }
+
+    /**
+     * 计算连接池大小
+     * 默认为 CPU核数 * 2 + 1（HikariCP推荐公式，1为磁盘/网络等待的余量），
+     * 配置了预期并发数时不超过预期并发数，最终限制在[min-size, max-size]范围内
+     */
+    private static int poolSize(Environment environment) {
+        int size = environment.getProperty("datasource.pool.size", Integer.class, 0);
+        if (size <= 0) {
+            size = Runtime.getRuntime().availableProcessors() * 2 + 1;
+            int expectedConcurrency = environment.getProperty("datasource.pool.expected-concurrency", Integer.class, 0);
+            if (expectedConcurrency > 0) {
+                size = Math.min(size, expectedConcurrency);
+            }
+        }
+        int minSize = environment.getProperty("datasource.pool.min-size", Integer.class, 4);
+        int maxSize = environment.getProperty("datasource.pool.max-size", Integer.class, 50);
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+}
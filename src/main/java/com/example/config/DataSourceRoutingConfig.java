@@ -0,0 +1,128 @@
+package com.example.config;
+
+import com.example.common.datasource.DataSourceRouteAspect;
+import com.example.common.datasource.RoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 读写分离数据源配置
+ * 开启后主库使用spring.datasource配置，从库复用主库的连接池配置，只替换连接地址和账号；
+ * 对外暴露的DataSource为LazyConnectionDataSourceProxy，首次执行SQL时才按路由获取实际连接
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * 从库连接地址，多个用逗号分隔
+     */
+    @Value("${datasource.routing.replica-urls:}")
+    private String[] replicaUrls;
+
+    /**
+     * 从库用户名，默认与主库相同
+     */
+    @Value("${datasource.routing.replica-username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    /**
+     * 从库密码，默认与主库相同
+     */
+    @Value("${datasource.routing.replica-password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    /**
+     * 读己之写窗口（毫秒）：用户写操作后该时间内的查询走主库
+     */
+    @Value("${datasource.routing.read-your-writes-window:2000}")
+    private long readYourWritesWindow;
+
+    /**
+     * 读己之写最多跟踪的用户数
+     */
+    @Value("${datasource.routing.max-tracked-writers:10000}")
+    private int maxTrackedWriters;
+
+    /**
+     * 从库健康检查间隔（毫秒），0表示不检查
+     */
+    @Value("${datasource.routing.health-check-interval:5000}")
+    private long healthCheckInterval;
+
+    /**
+     * 从库连接校验超时（秒）
+     */
+    @Value("${datasource.routing.health-check-timeout:2}")
+    private int healthCheckTimeout;
+
+    /**
+     * 主库连接池
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * 路由数据源，从库连接池由其创建和关闭
+     */
+    @Bean
+    public RoutingDataSource routingDataSource(HikariDataSource primaryDataSource) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            // 复用主库的连接池参数；连接池在首次获取连接时才启动，从库不可用不影响应用启动
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setPoolName(name);
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setReadOnly(true);
+            replicas.put(name, replica);
+        }
+
+        RoutingDataSource routingDataSource = new RoutingDataSource(primaryDataSource, replicas);
+        routingDataSource.startHealthCheck(healthCheckInterval, healthCheckTimeout);
+        log.info("读写分离已启用: 从库{}个, 读己之写窗口{}ms", replicas.size(), readYourWritesWindow);
+        return routingDataSource;
+    }
+
+    /**
+     * 应用使用的数据源
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(RoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * 按方法推断路由的切面
+     */
+    @Bean
+    public DataSourceRouteAspect dataSourceRouteAspect() {
+        return new DataSourceRouteAspect(readYourWritesWindow, maxTrackedWriters);
+    }
+}
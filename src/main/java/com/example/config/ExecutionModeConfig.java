@@ -0,0 +1,142 @@
+package com.example.config;
+
+import com.example.common.web.ExecutionMode;
+import com.example.common.web.OffloadingRequestMappingHandlerAdapter;
+import com.example.common.web.RequestContextCallableInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Locale;
+
+/**
+ * 请求执行模式配置
+ * platform：Tomcat线程池执行整个请求，与原有行为一致；
+ * virtual：Tomcat的请求执行器替换为每个请求一个虚拟线程，需要JDK 21+，低版本JDK回退为async；
+ * async：返回Result的接口在独立线程池中执行，Tomcat线程在参数解析完成后即释放，
+ * 慢请求（密码哈希排队、连接池等待）不再占满Tomcat线程
+ */
+@Slf4j
+@Configuration
+public class ExecutionModeConfig {
+
+    private final Environment environment;
+
+    public ExecutionModeConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @PostConstruct
+    public void logMode() {
+        ExecutionMode configured = ExecutionMode.of(environment.getProperty(ExecutionMode.PROPERTY, "platform"));
+        ExecutionMode mode = ExecutionMode.resolve(environment);
+        if (mode == ExecutionMode.ASYNC && configured == ExecutionMode.VIRTUAL) {
+            log.warn("当前JDK {}不支持虚拟线程，请求执行模式回退为async", System.getProperty("java.version"));
+        }
+        log.info("请求执行模式: {}", mode.name().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 虚拟线程模式
+     */
+    @Configuration
+    @Conditional(VirtualModeCondition.class)
+    static class VirtualThreadConfig {
+
+        /**
+         * 把Tomcat的请求执行器替换为虚拟线程执行器
+         * 外部设置的执行器不受server.tomcat.threads.max限制，并发上限由max-connections和连接池决定
+         */
+        @Bean
+        public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+            return protocolHandler -> protocolHandler.setExecutor(ExecutionMode.newVirtualThreadExecutor());
+        }
+    }
+
+    /**
+     * 异步执行模式
+     */
+    @Configuration
+    @Conditional(AsyncModeCondition.class)
+    static class AsyncExecutionConfig implements WebMvcConfigurer, WebMvcRegistrations {
+
+        /**
+         * 执行请求的线程数
+         */
+        @Value("${server.execution.async.pool-size:200}")
+        private int poolSize;
+
+        /**
+         * 等待执行的请求队列容量，队列满时直接拒绝
+         */
+        @Value("${server.execution.async.queue-capacity:10000}")
+        private int queueCapacity;
+
+        /**
+         * 单个请求的最长处理时间（毫秒）
+         */
+        @Value("${server.execution.async.timeout:30000}")
+        private long timeout;
+
+        private ThreadPoolTaskExecutor executor;
+
+        @PostConstruct
+        public void init() {
+            executor = new ThreadPoolTaskExecutor();
+            executor.setThreadNamePrefix("request-");
+            executor.setCorePoolSize(poolSize);
+            executor.setMaxPoolSize(poolSize);
+            executor.setQueueCapacity(queueCapacity);
+            executor.setWaitForTasksToCompleteOnShutdown(true);
+            executor.setAwaitTerminationMillis(timeout);
+            executor.initialize();
+        }
+
+        @PreDestroy
+        public void destroy() {
+            executor.shutdown();
+        }
+
+        @Override
+        public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+            return new OffloadingRequestMappingHandlerAdapter();
+        }
+
+        @Override
+        public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+            configurer.setTaskExecutor(executor);
+            configurer.setDefaultTimeout(timeout);
+            configurer.registerCallableInterceptors(new RequestContextCallableInterceptor());
+        }
+    }
+
+    static class VirtualModeCondition implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return ExecutionMode.resolve(context.getEnvironment()) == ExecutionMode.VIRTUAL;
+        }
+    }
+
+    static class AsyncModeCondition implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return ExecutionMode.resolve(context.getEnvironment()) == ExecutionMode.ASYNC;
+        }
+    }
+}
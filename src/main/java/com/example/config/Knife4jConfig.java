@@ -1,7 +1,10 @@
 package com.example.config;
 
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
 import springfox.documentation.builders.ApiInfoBuilder;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
@@ -9,6 +12,10 @@ import springfox.documentation.service.ApiInfo;
 import springfox.documentation.service.Contact;
 import springfox.documentation.spi.DocumentationType;
 import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.spring.web.plugins.WebMvcRequestHandlerProvider;
+
+import java.lang.reflect.Field;
+import java.util.List;
 
 /**
  * Knife4j API文档配置
@@ -35,6 +42,34 @@ public class Knife4jConfig {
                 .build();
     }
 
+    /**
+     * 只让springfox扫描使用AntPathMatcher的请求映射
+     * Actuator的端点映射固定使用PathPatternParser，springfox无法处理，会在启动时抛出空指针异常
+     *
+     * @return BeanPostProcessor实例
+     */
+    @Bean
+    public static BeanPostProcessor springfoxHandlerProviderCustomizer() {
+        return new BeanPostProcessor() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof WebMvcRequestHandlerProvider) {
+                    Field field = ReflectionUtils.findField(bean.getClass(), "handlerMappings");
+                    if (field != null) {
+                        ReflectionUtils.makeAccessible(field);
+                        List<RequestMappingInfoHandlerMapping> mappings =
+                                (List<RequestMappingInfoHandlerMapping>) ReflectionUtils.getField(field, bean);
+                        if (mappings != null) {
+                            mappings.removeIf(mapping -> mapping.getPatternParser() != null);
+                        }
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
     /**
      * API文档基本信息
      *
@@ -4,10 +4,15 @@ import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.core.config.GlobalConfig;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.example.common.metrics.SqlMetricsInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import java.util.List;
+
 /**
  * MyBatis-Plus配置类
  * 
@@ -33,6 +38,23 @@ public class MybatisPlusConfig {
         return interceptor;
     }
 
+    /**
+     * SQL执行指标拦截器
+     * 按Mapper语句统计耗时分布、行数和慢查询样本，替代逐条打印SQL
+     *
+     * @param slowThreshold 慢查询阈值（毫秒）
+     * @param slowSamples   保留的慢查询样本数
+     * @param sensitiveColumns 慢查询样本中需要脱敏的列名关键字
+     * @return SqlMetricsInterceptor实例
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "datasource.sql-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public SqlMetricsInterceptor sqlMetricsInterceptor(@Value("${datasource.sql-metrics.slow-threshold:200}") long slowThreshold,
+                                                       @Value("${datasource.sql-metrics.slow-samples:50}") int slowSamples,
+                                                       @Value("${datasource.sql-metrics.sensitive-columns:password,email,phone}") List<String> sensitiveColumns) {
+        return new SqlMetricsInterceptor(slowThreshold, slowSamples, sensitiveColumns);
+    }
+
     /**
      * 自动填充功能
      */
@@ -1,22 +1,131 @@
 package com.example.config;
 
+import com.example.auth.password.LegacyPasswordEncoder;
+import com.example.security.BoundedPasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * 密码加密配置类
  */
+@Slf4j
 @Configuration
 public class PasswordEncoderConfig {
+
+    /**
+     * 新密码使用的算法标识，会以{bcrypt}前缀保存在哈希中
+     */
+    private static final String ENCODING_ID = "bcrypt";
+
+    /**
+     * 校准时用于测量耗时的BCrypt强度
+     */
+    private static final int CALIBRATION_STRENGTH = 8;
+
+    /**
+     * 密码哈希线程数，0表示使用CPU核数
+     */
+    @Value("${security.password-hash.threads:0}")
+    private int threads;
+
+    /**
+     * 密码哈希等待队列容量，队列满时直接拒绝
+     */
+    @Value("${security.password-hash.queue-capacity:64}")
+    private int queueCapacity;
+
+    /**
+     * 调用方等待哈希结果的最长时间（毫秒）
+     */
+    @Value("${security.password-hash.timeout:5000}")
+    private long timeout;
+
+    /**
+     * BCrypt强度，0表示启动时按目标耗时自动校准
+     */
+    @Value("${security.password-hash.bcrypt-strength:0}")
+    private int bcryptStrength;
+
+    /**
+     * 自动校准的目标单次哈希耗时（毫秒）
+     */
+    @Value("${security.password-hash.target-millis:100}")
+    private long targetMillis;
+
+    /**
+     * 自动校准的最小强度
+     */
+    @Value("${security.password-hash.min-strength:10}")
+    private int minStrength;
+
+    /**
+     * 自动校准的最大强度
+     */
+    @Value("${security.password-hash.max-strength:14}")
+    private int maxStrength;
     
     /**
      * 密码加密器
-     * 使用BCrypt强哈希函数
+     * 新密码以{bcrypt}前缀加当前校准强度保存；没有前缀的旧BCrypt哈希和MD5Util哈希仍可校验，
+     * 登录成功后由AuthService升级为当前格式
+     * 哈希计算在独立的有界线程池中执行
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+        int strength = bcryptStrength > 0 ? bcryptStrength : calibrateStrength();
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(ENCODING_ID, new BCryptPasswordEncoder(strength));
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(ENCODING_ID, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(new LegacyPasswordEncoder());
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegating, poolSize, queueCapacity, timeout);
+    }
+
+    /**
+     * 按目标耗时校准BCrypt强度
+     * 在低强度下测量单次哈希耗时，强度每加1耗时翻倍，取不超过目标耗时的最大强度
+     *
+     * @return BCrypt强度
+     */
+    private int calibrateStrength() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(CALIBRATION_STRENGTH);
+        // 预热
+        encoder.encode("calibration");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        int strength = minStrength;
+        long targetNanos = targetMillis * 1_000_000L;
+        for (int s = minStrength + 1; s <= maxStrength; s++) {
+            if (estimate(best, s) > targetNanos) {
+                break;
+            }
+            strength = s;
+        }
+        log.info("BCrypt强度校准完成: strength={}, 预计单次耗时{}ms, 目标{}ms",
+                strength, estimate(best, strength) / 1_000_000, targetMillis);
+        return strength;
+    }
+
+    /**
+     * 根据校准强度下的耗时估算指定强度的耗时（强度每加1耗时翻倍）
+     */
+    private static long estimate(long calibrationNanos, int strength) {
+        int diff = strength - CALIBRATION_STRENGTH;
+        return diff >= 0 ? calibrationNanos << diff : calibrationNanos >> -diff;
     }
 }
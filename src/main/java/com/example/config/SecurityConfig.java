@@ -1,13 +1,17 @@
 package com.example.config;
 
 import com.example.common.api.Result;
+import com.example.common.api.ResultCode;
 import com.example.security.JwtAuthenticationFilter;
 import com.example.security.JwtAuthenticationEntryPoint;
 import com.example.security.UserDetailsServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
@@ -21,6 +25,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.Arrays;
 import java.util.Collections;
 
@@ -34,6 +39,19 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private final JwtAuthenticationEntryPoint unauthorizedHandler;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 应用端口
+     */
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    /**
+     * Actuator管理端口，未配置时与应用共用端口
+     */
+    @Value("${management.server.port:${server.port:8080}}")
+    private int managementPort;
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
@@ -45,6 +63,12 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 // 异常处理
                 .exceptionHandling()
                 .authenticationEntryPoint(unauthorizedHandler)
+                // 已认证但权限不足时返回403及统一的Result结构
+                .accessDeniedHandler((request, response, e) -> {
+                    response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    objectMapper.writeValue(response.getOutputStream(), Result.failed(ResultCode.FORBIDDEN));
+                })
                 .and()
                 // 不需要session
                 .sessionManagement()
@@ -56,8 +80,15 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers(
                     "/user/login",
                     "/user/register",
+                    "/user/refresh",
                     "/user/logout"  // 添加登出接口到白名单
                 ).permitAll()
+                // 健康检查
+                .antMatchers("/actuator/health").permitAll()
+                // 独立管理端口上的请求（Prometheus抓取）匿名访问，该端口只应对内网开放
+                .requestMatchers(request -> managementPort != serverPort && request.getLocalPort() == managementPort).permitAll()
+                // 管理端口与应用端口相同时，其他Actuator接口仅管理员可访问
+                .antMatchers("/actuator/**").hasRole("ADMIN")
                 // OPTIONS 请求都允许访问
                 .antMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 // 静态资源
@@ -76,6 +107,10 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                         "/v3/api-docs/**",
                         "/webjars/**"
                 ).permitAll()
+                // 运维监控接口（连接池、SQL样本等）仅管理员可访问
+                .antMatchers("/monitor/**").hasRole("ADMIN")
+                // 批量导入可创建任意账号，导出包含全部用户的邮箱和手机号，仅管理员可访问
+                .antMatchers("/user/import", "/user/export").hasRole("ADMIN")
                 // 其他所有请求需要身份认证
                 .anyRequest().authenticated()
                 .and()
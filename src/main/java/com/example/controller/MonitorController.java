@@ -0,0 +1,75 @@
+package com.example.controller;
+
+import com.example.common.api.Result;
+import com.example.common.datasource.RoutingDataSource;
+import com.example.common.exception.ApiException;
+import com.example.common.metrics.HikariPoolMetrics;
+import com.example.common.metrics.SqlMetricsInterceptor;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 运行状态监控控制器
+ */
+@RestController
+@RequestMapping("/monitor")
+@RequiredArgsConstructor
+@Api(tags = "监控接口")
+public class MonitorController {
+
+    private final HikariPoolMetrics hikariPoolMetrics;
+    private final ObjectProvider<RoutingDataSource> routingDataSource;
+    private final ObjectProvider<SqlMetricsInterceptor> sqlMetrics;
+
+    /**
+     * 数据库连接池状态
+     * 每个连接池的活跃/空闲/等待连接数、获取超时次数，以及获取连接、连接占用、新建连接的耗时分布；
+     * 启用读写分离时附带路由统计
+     *
+     * @return 连接池状态
+     */
+    @GetMapping("/datasource")
+    @ApiOperation("数据库连接池状态")
+    public Result<Map<String, Object>> datasource() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pools", hikariPoolMetrics.snapshot());
+
+        RoutingDataSource routing = routingDataSource.getIfAvailable();
+        if (routing != null) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("primaryConnections", routing.getPrimaryConnections());
+            stats.put("replicaConnections", routing.getReplicaConnections());
+            stats.put("failovers", routing.getFailovers());
+            stats.put("replicas", routing.getReplicaStatus());
+            result.put("routing", stats);
+        }
+        return Result.success(result);
+    }
+
+    /**
+     * SQL执行指标
+     * 每个Mapper语句的执行次数、耗时分布、行数和失败次数（按总耗时倒序），以及最近的慢查询样本
+     *
+     * @return SQL执行指标
+     */
+    @GetMapping("/sql")
+    @ApiOperation("SQL执行指标")
+    public Result<Map<String, Object>> sql() {
+        SqlMetricsInterceptor metrics = sqlMetrics.getIfAvailable();
+        if (metrics == null) {
+            throw new ApiException("SQL执行指标未启用");
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statements", metrics.snapshot());
+        result.put("slowSamples", metrics.getSlowSamples());
+        return Result.success(result);
+    }
+}
@@ -1,17 +1,32 @@
 package com.example.controller;
 
 import com.example.common.api.Result;
+import com.example.common.exception.ApiException;
 import com.example.dto.LoginDTO;
+import com.example.dto.RefreshTokenDTO;
 import com.example.entity.User;
 import com.example.security.AuthService;
 import com.example.security.UserPrincipal;
+import com.example.security.VerifyUserState;
+import com.example.service.UserDataFormat;
+import com.example.service.UserExportService;
+import com.example.service.UserImportService;
 import com.example.service.UserService;
+import com.example.util.JwtUtil;
+import com.example.vo.CountedPage;
+import com.example.vo.CursorPageVO;
 import com.example.vo.LoginVO;
+import com.example.vo.UserDetailVO;
+import com.example.vo.UserImportResultVO;
+import com.example.vo.UserImportSummaryVO;
+import com.example.vo.UserListVO;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,6 +34,10 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 
 /**
  * 用户控制器
@@ -32,6 +51,10 @@ public class UserController {
 
     private final UserService userService;
     private final AuthService authService;
+    private final UserImportService userImportService;
+    private final UserExportService userExportService;
+    private final ObjectMapper objectMapper;
+    private final JwtUtil jwtUtil;
 
     /**
      * 用户注册
@@ -46,6 +69,78 @@ public class UserController {
         return Result.success();
     }
 
+    /**
+     * 批量导入用户
+     * 请求体为JSON Lines（application/x-ndjson）或带表头的CSV（text/csv），流式读取、分块写入；
+     * 响应为JSON Lines，每处理完一块输出该块的逐行结果，最后一行为汇总结果
+     * 仅管理员可访问（SecurityConfig）
+     *
+     * @param request  请求
+     * @param response 响应
+     * @throws IOException 读写数据失败
+     */
+    @VerifyUserState
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    @ApiOperation("批量导入用户")
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserDataFormat format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.valueOf(UserDataFormat.CSV.getContentType()))
+                ? UserDataFormat.CSV : UserDataFormat.JSON_LINES;
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        OutputStream out = response.getOutputStream();
+        UserImportSummaryVO summary = userImportService.importUsers(request.getInputStream(), format, results -> {
+            try {
+                for (UserImportResultVO result : results) {
+                    writeLine(out, result);
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writeLine(out, summary);
+        out.flush();
+    }
+
+    /**
+     * 导出用户
+     * 单次查询以游标流式读取，边读边写入响应（分块传输），适合导出全部用户
+     * 仅管理员可访问（SecurityConfig）
+     *
+     * @param format   导出格式：csv或jsonl
+     * @param keyword  搜索关键词，为空时导出全部
+     * @param response 响应
+     * @throws IOException 写入失败
+     */
+    @VerifyUserState
+    @GetMapping("/export")
+    @ApiOperation("导出用户")
+    public void exportUsers(
+            @io.swagger.annotations.ApiParam("导出格式：csv、jsonl") @RequestParam(defaultValue = "csv") String format,
+            @io.swagger.annotations.ApiParam("搜索关键词") @RequestParam(required = false) String keyword,
+            HttpServletResponse response
+    ) throws IOException {
+        UserDataFormat dataFormat = UserDataFormat.fromExtension(format);
+        if (dataFormat == null) {
+            throw new ApiException("不支持的导出格式: " + format);
+        }
+
+        response.setContentType(dataFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=users." + dataFormat.getExtension());
+        userExportService.exportUsers(keyword, dataFormat, response.getOutputStream());
+    }
+
+    /**
+     * 输出一行JSON
+     */
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
+
     /**
      * 用户登录
      *
@@ -55,35 +150,37 @@ public class UserController {
     @PostMapping("/login")
     @ApiOperation("用户登录")
     public Result<LoginVO> login(@Validated @RequestBody LoginDTO loginDTO) {
-        // 登录认证
-        String token = authService.login(loginDTO.getUsername(), loginDTO.getPassword());
-
-        // 获取用户信息
-        UserPrincipal userPrincipal = (UserPrincipal) SecurityContextHolder.getContext()
-                .getAuthentication().getPrincipal();
-
-        // 构建返回对象
-        LoginVO loginVO = new LoginVO()
-                .setId(userPrincipal.getId())
-                .setUsername(userPrincipal.getUsername())
-                .setNickname(userPrincipal.getNickname())
-                .setToken(token);
+        // 登录认证，签发访问token和刷新token
+        return Result.success(authService.login(loginDTO.getUsername(), loginDTO.getPassword()));
+    }
 
-        return Result.success(loginVO);
+    /**
+     * 刷新token
+     * 使用刷新token换取新的访问token和刷新token，旧的刷新token随即失效
+     *
+     * @param refreshTokenDTO 刷新token
+     * @return 新的token
+     */
+    @PostMapping("/refresh")
+    @ApiOperation("刷新token")
+    public Result<LoginVO> refresh(@Validated @RequestBody RefreshTokenDTO refreshTokenDTO) {
+        return Result.success(authService.refresh(refreshTokenDTO.getRefreshToken()));
     }
 
     /**
      * 用户登出
      * 实现步骤：
      * 1. 获取当前用户信息（用于日志记录）
-     * 2. 清除认证上下文
+     * 2. 吊销访问token和刷新token，清除认证上下文
      * 3. 返回成功响应
      *
+     * @param refreshTokenDTO 刷新token（可选）
      * @return 操作结果
      */
     @PostMapping("/logout")
     @ApiOperation("用户登出")
-    public Result<Void> logout(HttpServletRequest request) {
+    public Result<Void> logout(HttpServletRequest request,
+                               @RequestBody(required = false) RefreshTokenDTO refreshTokenDTO) {
         try {
             // 1. 获取当前用户信息（用于日志记录）
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -92,8 +189,9 @@ public class UserController {
                 log.info("用户[{}]已成功登出系统", username);
             }
 
-            // 2. 清除认证上下文
-            authService.logout();
+            // 2. 吊销token并清除认证上下文
+            authService.logout(jwtUtil.resolveToken(request),
+                    refreshTokenDTO == null ? null : refreshTokenDTO.getRefreshToken());
 
             return Result.success();
         } catch (Exception e) {
@@ -123,8 +221,8 @@ public class UserController {
      */
     @GetMapping("/{id}")
     @ApiOperation("获取用户信息")
-    public Result<User> getUser(@PathVariable Long id) {
-        User user = userService.getById(id);
+    public Result<UserDetailVO> getUser(@PathVariable Long id) {
+        UserDetailVO user = userService.getUserDetail(id);
         return Result.success(user);
     }
 
@@ -138,12 +236,34 @@ public class UserController {
      */
     @GetMapping("/list")
     @ApiOperation("获取用户列表")
-    public Result<com.baomidou.mybatisplus.extension.plugins.pagination.Page<User>> list(
+    public Result<CountedPage<UserListVO>> list(
             @io.swagger.annotations.ApiParam("页码") @RequestParam(defaultValue = "1") Integer pageNum,
             @io.swagger.annotations.ApiParam("每页数量") @RequestParam(defaultValue = "10") Integer pageSize,
             @io.swagger.annotations.ApiParam("搜索关键词") @RequestParam(required = false) String keyword
     ) {
-        com.baomidou.mybatisplus.extension.plugins.pagination.Page<User> page = userService.listUsers(pageNum, pageSize, keyword);
+        CountedPage<UserListVO> page = userService.listUsers(pageNum, pageSize, keyword);
+        return Result.success(page);
+    }
+
+    /**
+     * 游标分页获取用户列表
+     * 请求中带有cursor参数时使用该接口，适合大表的深度翻页
+     *
+     * @param cursor 游标，首页传空字符串，之后传上一页返回的nextCursor
+     * @param pageSize 每页数量
+     * @param keyword 搜索关键词
+     * @param withTotal 是否返回总数
+     * @return 用户列表
+     */
+    @GetMapping(value = "/list", params = "cursor")
+    @ApiOperation("游标分页获取用户列表")
+    public Result<CursorPageVO<UserListVO>> listByCursor(
+            @io.swagger.annotations.ApiParam("游标，首页传空") @RequestParam(required = false) String cursor,
+            @io.swagger.annotations.ApiParam("每页数量") @RequestParam(defaultValue = "10") Integer pageSize,
+            @io.swagger.annotations.ApiParam("搜索关键词") @RequestParam(required = false) String keyword,
+            @io.swagger.annotations.ApiParam("是否返回总数") @RequestParam(defaultValue = "false") Boolean withTotal
+    ) {
+        CursorPageVO<UserListVO> page = userService.listUsersByCursor(cursor, pageSize, keyword, withTotal);
         return Result.success(page);
     }
 
@@ -154,6 +274,7 @@ public class UserController {
      * @param user 用户信息
      * @return 操作结果
      */
+    @VerifyUserState
     @PutMapping("/{id}")
     @ApiOperation("更新用户")
     public Result<Void> updateUser(@PathVariable Long id, @RequestBody User user) {
@@ -168,6 +289,7 @@ public class UserController {
      * @param id 用户ID
      * @return 操作结果
      */
+    @VerifyUserState
     @DeleteMapping("/{id}")
     @ApiOperation("删除用户")
     public Result<Void> deleteUser(@PathVariable Long id) {
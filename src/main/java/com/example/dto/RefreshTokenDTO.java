@@ -0,0 +1,19 @@
+package com.example.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * 刷新token请求参数
+ */
+@Data
+@ApiModel("刷新token请求参数")
+public class RefreshTokenDTO {
+
+    @NotBlank(message = "刷新token不能为空")
+    @ApiModelProperty(value = "刷新token", required = true)
+    private String refreshToken;
+}
@@ -0,0 +1,40 @@
+package com.example.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+/**
+ * 批量导入用户的单行数据
+ */
+@Data
+@ApiModel("批量导入用户数据")
+public class UserImportDTO {
+
+    @NotBlank(message = "用户名不能为空")
+    @Size(min = 4, max = 20, message = "用户名长度必须在4-20个字符之间")
+    @ApiModelProperty(value = "用户名", required = true)
+    private String username;
+
+    @NotBlank(message = "密码不能为空")
+    @Size(min = 6, max = 20, message = "密码长度必须在6-20个字符之间")
+    @ApiModelProperty(value = "密码", required = true)
+    private String password;
+
+    @Size(max = 50, message = "昵称长度不能超过50个字符")
+    @ApiModelProperty("昵称")
+    private String nickname;
+
+    @Email(message = "邮箱格式不正确")
+    @Size(max = 100, message = "邮箱长度不能超过100个字符")
+    @ApiModelProperty("邮箱")
+    private String email;
+
+    @Size(max = 20, message = "手机号长度不能超过20个字符")
+    @ApiModelProperty("手机号")
+    private String phone;
+}
@@ -1,8 +1,24 @@
 package com.example.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.example.dto.UserAuthDTO;
 import com.example.entity.User;
+import com.example.vo.UserDetailVO;
+import com.example.vo.UserExportVO;
+import com.example.vo.UserListVO;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 用户Mapper接口
@@ -13,4 +29,118 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface UserMapper extends BaseMapper<User> {
+
+    /**
+     * 按用户名查询登录认证信息（包含密码哈希）
+     *
+     * @param username 用户名
+     * @return 认证信息，不存在时返回null
+     */
+    @Select("SELECT id, username, nickname, password, status FROM sys_user WHERE username = #{username} AND deleted = 0")
+    UserAuthDTO selectAuthByUsername(@Param("username") String username);
+
+    /**
+     * 按ID查询认证信息（不包含密码哈希），用于JWT认证
+     *
+     * @param id 用户ID
+     * @return 认证信息，不存在时返回null
+     */
+    @Select("SELECT id, username, nickname, status FROM sys_user WHERE id = #{id} AND deleted = 0")
+    UserAuthDTO selectAuthById(@Param("id") Long id);
+
+    /**
+     * 按ID查询用户详情（不包含密码哈希）
+     *
+     * @param id 用户ID
+     * @return 用户详情，不存在时返回null
+     */
+    @Select("SELECT id, username, nickname, email, phone, status, create_time, update_time FROM sys_user WHERE id = #{id} AND deleted = 0")
+    UserDetailVO selectDetailById(@Param("id") Long id);
+
+    /**
+     * 分页查询用户列表行
+     * 自定义SQL不会自动追加逻辑删除条件，条件中需包含 deleted = 0
+     *
+     * @param page    分页参数
+     * @param wrapper 查询条件
+     * @return 用户列表行
+     */
+    @Select("SELECT id, username, nickname, status, create_time FROM sys_user ${ew.customSqlSegment}")
+    IPage<UserListVO> selectListPage(IPage<UserListVO> page, @Param(Constants.WRAPPER) Wrapper<User> wrapper);
+
+    /**
+     * 查询用户列表行
+     * 自定义SQL不会自动追加逻辑删除条件，条件中需包含 deleted = 0
+     *
+     * @param wrapper 查询条件
+     * @return 用户列表行
+     */
+    @Select("SELECT id, username, nickname, status, create_time FROM sys_user ${ew.customSqlSegment}")
+    List<UserListVO> selectListRows(@Param(Constants.WRAPPER) Wrapper<User> wrapper);
+
+    /**
+     * 从表统计信息中读取sys_user的估算行数
+     * 不执行COUNT(*)，结果为InnoDB统计值，可能与实际行数有偏差（且包含逻辑删除的行）
+     *
+     * @return 估算行数
+     */
+    @Select("SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'sys_user'")
+    Long selectEstimatedCount();
+
+    /**
+     * 查询已存在的用户名（包含逻辑删除的用户，与唯一索引uk_username保持一致）
+     *
+     * @param usernames 待检查的用户名
+     * @return 已存在的用户名
+     */
+    @Select({"<script>",
+            "SELECT username FROM sys_user WHERE username IN",
+            "<foreach collection='usernames' item='name' open='(' separator=',' close=')'>#{name}</foreach>",
+            "</script>"})
+    List<String> selectExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * 按ID顺序分批读取用户名（包含逻辑删除的用户）
+     *
+     * @param afterId 上一批最后一个用户ID
+     * @param limit   每批行数
+     * @return 只包含ID和用户名的用户
+     */
+    @Select("SELECT id, username FROM sys_user WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<User> selectUsernamesAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * 多行INSERT批量插入用户，回填自增ID
+     * 不经过自动填充，调用方需设置创建时间和更新时间
+     *
+     * @param users 用户列表
+     * @return 插入行数
+     */
+    @Insert({"<script>",
+            "INSERT INTO sys_user (username, password, nickname, email, phone, status, deleted, create_time, update_time) VALUES",
+            "<foreach collection='users' item='u' separator=','>",
+            "(#{u.username}, #{u.password}, #{u.nickname}, #{u.email}, #{u.phone}, #{u.status}, 0, #{u.createTime}, #{u.updateTime})",
+            "</foreach>",
+            "</script>"})
+    @Options(useGeneratedKeys = true, keyProperty = "id", keyColumn = "id")
+    int insertBatch(@Param("users") List<User> users);
+
+    /**
+     * 以游标方式按ID顺序读取导出用户
+     * 配合MySQL驱动参数useCursorFetch=true，使用服务端游标每次读取fetchSize行，不会把整个结果集加载到内存；
+     * 游标需要在事务（同一个SqlSession）内遍历
+     *
+     * @param keyword 关键字，匹配用户名或昵称，为空时导出全部
+     * @return 用户游标
+     */
+    @Select({"<script>",
+            "SELECT id, username, nickname, email, phone, status, create_time, update_time FROM sys_user",
+            "WHERE deleted = 0",
+            "<if test='keyword != null and keyword != \"\"'>",
+            "AND (username LIKE CONCAT('%', #{keyword}, '%') OR nickname LIKE CONCAT('%', #{keyword}, '%'))",
+            "</if>",
+            "ORDER BY id",
+            "</script>"})
+    @Options(fetchSize = 1000, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<UserExportVO> selectExportCursor(@Param("keyword") String keyword);
 }
@@ -0,0 +1,235 @@
+package com.example.security;
+
+import com.example.auth.jwt.TokenStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 认证链路指标
+ * 所有指标在启动时按固定的标签取值创建，记录时不再查找或创建Meter；
+ * 标签只使用枚举类的取值（验证结果、缓存命中、失败原因等），不包含用户ID、token等高基数值
+ * <p>
+ * auth.token.verify      token验证耗时，标签result（valid/malformed/expired/bad_signature）、cache（hit/miss）
+ * auth.token.sign        token签名耗时
+ * auth.principal.load    认证主体加载耗时，标签lookup（id/username）、source（cache/db）、result（found/not_found）
+ * auth.login             登录次数，标签result（见{@link LoginResult}）
+ * auth.entrypoint.rejections 未认证请求被拒绝的次数，标签reason（见{@link RejectReason}）
+ */
+@Component
+public class AuthMetrics {
+
+    private final Map<TokenStatus, Timer> verifyTimers = new EnumMap<>(TokenStatus.class);
+    private final Timer verifyCachedTimer;
+    private final Timer signTimer;
+
+    private final Timer principalByIdCacheTimer;
+    private final Timer principalByIdDbTimer;
+    private final Timer principalByIdMissingTimer;
+    private final Timer principalByUsernameDbTimer;
+    private final Timer principalByUsernameMissingTimer;
+
+    private final Map<LoginResult, Counter> loginCounters = new EnumMap<>(LoginResult.class);
+    private final Map<RejectReason, Counter> rejectCounters = new EnumMap<>(RejectReason.class);
+
+    public AuthMetrics(MeterRegistry registry) {
+        for (TokenStatus status : TokenStatus.values()) {
+            verifyTimers.put(status, Timer.builder("auth.token.verify")
+                    .description("JWT验证耗时")
+                    .tag("result", tagValue(status))
+                    .tag("cache", "miss")
+                    .register(registry));
+        }
+        verifyCachedTimer = Timer.builder("auth.token.verify")
+                .description("JWT验证耗时")
+                .tag("result", tagValue(TokenStatus.VALID))
+                .tag("cache", "hit")
+                .register(registry);
+        signTimer = Timer.builder("auth.token.sign")
+                .description("JWT签名耗时")
+                .register(registry);
+
+        principalByIdCacheTimer = principalTimer(registry, "id", "cache", "found");
+        principalByIdDbTimer = principalTimer(registry, "id", "db", "found");
+        principalByIdMissingTimer = principalTimer(registry, "id", "db", "not_found");
+        principalByUsernameDbTimer = principalTimer(registry, "username", "db", "found");
+        principalByUsernameMissingTimer = principalTimer(registry, "username", "db", "not_found");
+
+        for (LoginResult result : LoginResult.values()) {
+            loginCounters.put(result, Counter.builder("auth.login")
+                    .description("登录次数")
+                    .tag("result", tagValue(result))
+                    .register(registry));
+        }
+        for (RejectReason reason : RejectReason.values()) {
+            rejectCounters.put(reason, Counter.builder("auth.entrypoint.rejections")
+                    .description("未认证请求被拒绝的次数")
+                    .tag("reason", tagValue(reason))
+                    .register(registry));
+        }
+    }
+
+    /**
+     * 记录一次token验证
+     *
+     * @param status       验证结果
+     * @param cached       是否命中已验证token缓存
+     * @param elapsedNanos 耗时（纳秒）
+     */
+    public void recordVerify(TokenStatus status, boolean cached, long elapsedNanos) {
+        Timer timer = cached ? verifyCachedTimer : verifyTimers.get(status);
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录一次token签名
+     *
+     * @param elapsedNanos 耗时（纳秒）
+     */
+    public void recordSign(long elapsedNanos) {
+        signTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录一次按用户ID加载认证主体
+     *
+     * @param cached       是否命中认证主体缓存
+     * @param found        用户是否存在
+     * @param elapsedNanos 耗时（纳秒）
+     */
+    public void recordPrincipalById(boolean cached, boolean found, long elapsedNanos) {
+        Timer timer = cached ? principalByIdCacheTimer : found ? principalByIdDbTimer : principalByIdMissingTimer;
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录一次按用户名加载认证主体（登录）
+     *
+     * @param found        用户是否存在
+     * @param elapsedNanos 耗时（纳秒）
+     */
+    public void recordPrincipalByUsername(boolean found, long elapsedNanos) {
+        Timer timer = found ? principalByUsernameDbTimer : principalByUsernameMissingTimer;
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录一次登录结果
+     *
+     * @param result 登录结果
+     */
+    public void recordLogin(LoginResult result) {
+        loginCounters.get(result).increment();
+    }
+
+    /**
+     * 记录一次未认证请求被拒绝
+     *
+     * @param reason 拒绝原因
+     */
+    public void recordRejection(RejectReason reason) {
+        rejectCounters.get(reason).increment();
+    }
+
+    private static Timer principalTimer(MeterRegistry registry, String lookup, String source, String result) {
+        return Timer.builder("auth.principal.load")
+                .description("认证主体加载耗时")
+                .tag("lookup", lookup)
+                .tag("source", source)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 登录结果
+     */
+    public enum LoginResult {
+        /**
+         * 登录成功
+         */
+        SUCCESS,
+        /**
+         * 用户名或密码错误（用户不存在也归为此类）
+         */
+        BAD_CREDENTIALS,
+        /**
+         * 账号已禁用或锁定
+         */
+        DISABLED,
+        /**
+         * 密码哈希线程池繁忙，请求被拒绝
+         */
+        BUSY,
+        /**
+         * 其他错误
+         */
+        ERROR
+    }
+
+    /**
+     * 未认证请求被拒绝的原因
+     */
+    public enum RejectReason {
+        /**
+         * 请求未携带token
+         */
+        MISSING_TOKEN,
+        /**
+         * token格式错误
+         */
+        MALFORMED,
+        /**
+         * token已过期
+         */
+        EXPIRED,
+        /**
+         * token签名错误
+         */
+        BAD_SIGNATURE,
+        /**
+         * token已登出吊销
+         */
+        REVOKED,
+        /**
+         * 没有typ或jti的旧格式token（jwt.accept-legacy-tokens为false时）
+         */
+        LEGACY_TOKEN,
+        /**
+         * token有效但用户不存在或已禁用
+         */
+        USER_UNAVAILABLE,
+        /**
+         * 认证过程出错
+         */
+        ERROR;
+
+        /**
+         * token验证失败的原因
+         *
+         * @param status 验证结果（非VALID）
+         * @return 拒绝原因
+         */
+        public static RejectReason of(TokenStatus status) {
+            switch (status) {
+                case EXPIRED:
+                    return EXPIRED;
+                case BAD_SIGNATURE:
+                    return BAD_SIGNATURE;
+                case MALFORMED:
+                    return MALFORMED;
+                default:
+                    return ERROR;
+            }
+        }
+    }
+}
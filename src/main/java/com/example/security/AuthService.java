@@ -1,13 +1,25 @@
 package com.example.security;
 
+import com.example.auth.jwt.TokenDenylist;
+import com.example.auth.jwt.TokenVerification;
+import com.example.common.api.ResultCode;
+import com.example.common.exception.ApiException;
+import com.example.security.AuthMetrics.LoginResult;
+import com.example.service.UserService;
 import com.example.util.JwtUtil;
+import com.example.vo.LoginVO;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AccountStatusException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 /**
  * 认证服务类
@@ -20,35 +32,153 @@ public class AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final UserService userService;
+    private final AuthMetrics authMetrics;
+    private final TokenDenylist tokenDenylist;
+    private final UserDetailsServiceImpl userDetailsService;
 
     /**
      * 用户登录
      *
      * @param username 用户名
      * @param password 密码
-     * @return JWT令牌
+     * @return 用户信息及访问token、刷新token
      */
-    public String login(String username, String password) {
+    public LoginVO login(String username, String password) {
         // 创建认证token
         UsernamePasswordAuthenticationToken authenticationToken =
                 new UsernamePasswordAuthenticationToken(username, password);
 
-        // 认证
-        Authentication authentication = authenticationManager.authenticate(authenticationToken);
+        // 认证，按结果记录登录次数
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(authenticationToken);
+        } catch (BadCredentialsException e) {
+            authMetrics.recordLogin(LoginResult.BAD_CREDENTIALS);
+            throw e;
+        } catch (AccountStatusException e) {
+            authMetrics.recordLogin(LoginResult.DISABLED);
+            throw e;
+        } catch (ApiException e) {
+            authMetrics.recordLogin(e.getErrorCode() == ResultCode.TOO_MANY_REQUESTS ? LoginResult.BUSY : LoginResult.ERROR);
+            throw e;
+        } catch (RuntimeException e) {
+            authMetrics.recordLogin(LoginResult.ERROR);
+            throw e;
+        }
+        authMetrics.recordLogin(LoginResult.SUCCESS);
 
         // 保存认证信息
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        // 生成JWT token
-        return jwtUtil.generateToken(authentication);
+        // 密码哈希格式或强度已过时，异步升级
+        upgradePasswordIfNeeded((UserPrincipal) authentication.getPrincipal(), password);
+
+        // 生成访问token和刷新token
+        return issueTokens((UserPrincipal) authentication.getPrincipal());
+    }
+
+    /**
+     * 使用刷新token换取新的访问token和刷新token
+     * 从数据库重新加载一次用户，新的访问token携带最新的用户信息；
+     * 旧的刷新token随即吊销（轮换），重复使用会被拒绝
+     *
+     * @param refreshToken 刷新token
+     * @return 用户信息及新的访问token、刷新token
+     */
+    public LoginVO refresh(String refreshToken) {
+        TokenVerification verification = jwtUtil.verifyToken(refreshToken);
+        if (!verification.isValid() || !jwtUtil.isRefreshToken(verification.getClaims())) {
+            throw new ApiException(ResultCode.UNAUTHORIZED);
+        }
+        Claims claims = verification.getClaims();
+        Long userId = jwtUtil.getUserId(claims);
+
+        // 轮换：吊销旧的刷新token，并发或重复使用同一刷新token时只有一次成功
+        if (tokenDenylist.isEnabled() && !tokenDenylist.revoke(claims)) {
+            log.warn("用户[{}]的刷新token已使用或已吊销", userId);
+            throw new ApiException(ResultCode.UNAUTHORIZED);
+        }
+
+        UserPrincipal principal;
+        try {
+            principal = userDetailsService.reloadUserById(userId);
+        } catch (UsernameNotFoundException e) {
+            throw new ApiException(ResultCode.UNAUTHORIZED);
+        }
+        if (!principal.isEnabled()) {
+            log.debug("用户[{}]已被禁用，拒绝刷新token", userId);
+            throw new ApiException(ResultCode.UNAUTHORIZED);
+        }
+        return issueTokens(principal);
+    }
+
+    /**
+     * 签发访问token和刷新token
+     *
+     * @param principal 用户主体
+     * @return 用户信息及token
+     */
+    private LoginVO issueTokens(UserPrincipal principal) {
+        return new LoginVO()
+                .setId(principal.getId())
+                .setUsername(principal.getUsername())
+                .setNickname(principal.getNickname())
+                .setToken(jwtUtil.generateAccessToken(principal))
+                .setExpiresIn(jwtUtil.getAccessTokenExpiresIn())
+                .setRefreshToken(jwtUtil.generateRefreshToken(principal.getId()));
+    }
+
+    /**
+     * 密码哈希升级
+     * 旧的MD5哈希、没有算法前缀的哈希或强度低于当前配置的BCrypt哈希，
+     * 在登录成功后用本次输入的密码异步重新哈希，不影响登录响应时间
+     *
+     * @param principal   已认证的用户
+     * @param rawPassword 本次输入的原始密码
+     */
+    private void upgradePasswordIfNeeded(UserPrincipal principal, String rawPassword) {
+        String oldPassword = principal.getPassword();
+        if (oldPassword == null || !passwordEncoder.upgradeEncoding(oldPassword)) {
+            return;
+        }
+        boolean submitted = passwordEncoder.encodeAsync(rawPassword, newPassword -> {
+            if (userService.updatePasswordHash(principal.getId(), oldPassword, newPassword)) {
+                log.info("用户[{}]密码哈希已升级", principal.getUsername());
+            }
+        });
+        if (!submitted) {
+            log.debug("密码哈希线程池繁忙，跳过用户[{}]的密码升级", principal.getUsername());
+        }
     }
 
     /**
      * 登出处理
-     * 清除认证信息
+     * 吊销访问token和刷新token并清除认证信息，token在剩余有效期内不能再使用
+     *
+     * @param accessToken  请求携带的访问token，可以为空
+     * @param refreshToken 刷新token，可以为空
      */
-    public void logout() {
+    public void logout(String accessToken, String refreshToken) {
+        revoke(accessToken);
+        revoke(refreshToken);
         SecurityContextHolder.clearContext();
         log.debug("已清除认证上下文");
     }
+
+    /**
+     * 吊销token
+     *
+     * @param token JWT token，可以为空
+     */
+    private void revoke(String token) {
+        if (!StringUtils.hasText(token)) {
+            return;
+        }
+        TokenVerification verification = jwtUtil.verifyToken(token);
+        if (verification.isValid() && !tokenDenylist.revoke(verification.getClaims())) {
+            log.debug("token没有jti或已吊销");
+        }
+    }
 }
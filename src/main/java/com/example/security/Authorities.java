@@ -0,0 +1,97 @@
+package com.example.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 权限常量池
+ * 权限对象和权限列表都是不可变的，按名称复用同一实例，所有用户主体共享，构建用户主体时不再新建权限对象；
+ * 常量池有容量上限，超出后不再缓存新的名称（权限名称只来自本应用签发的token，正常情况下只有少数几个）
+ */
+public final class Authorities {
+
+    /**
+     * 普通用户角色
+     */
+    public static final String ROLE_USER = "ROLE_USER";
+
+    /**
+     * 管理员角色
+     */
+    public static final String ROLE_ADMIN = "ROLE_ADMIN";
+
+    /**
+     * 常量池最大条数
+     */
+    private static final int MAX_SIZE = 1024;
+
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    /**
+     * 权限名称列表 -> 权限列表
+     */
+    private static final Map<List<?>, List<GrantedAuthority>> LISTS = new ConcurrentHashMap<>();
+
+    /**
+     * 默认权限列表（ROLE_USER）
+     */
+    public static final List<GrantedAuthority> DEFAULT = of(Collections.singletonList(ROLE_USER));
+
+    /**
+     * 管理员权限列表（ROLE_USER、ROLE_ADMIN）
+     */
+    public static final List<GrantedAuthority> ADMIN = of(Arrays.asList(ROLE_USER, ROLE_ADMIN));
+
+    private Authorities() {
+    }
+
+    /**
+     * 获取权限
+     *
+     * @param name 权限名称
+     * @return 共享的权限实例
+     */
+    public static GrantedAuthority of(String name) {
+        GrantedAuthority authority = AUTHORITIES.get(name);
+        if (authority != null) {
+            return authority;
+        }
+        if (AUTHORITIES.size() >= MAX_SIZE) {
+            return new SimpleGrantedAuthority(name);
+        }
+        return AUTHORITIES.computeIfAbsent(name, SimpleGrantedAuthority::new);
+    }
+
+    /**
+     * 获取权限列表
+     * 命中时直接以传入的列表查找，不产生新对象
+     *
+     * @param names 权限名称列表
+     * @return 共享的不可变权限列表
+     */
+    public static List<GrantedAuthority> of(List<?> names) {
+        List<GrantedAuthority> authorities = LISTS.get(names);
+        if (authorities != null) {
+            return authorities;
+        }
+        List<String> key = new ArrayList<>(names.size());
+        List<GrantedAuthority> value = new ArrayList<>(names.size());
+        for (Object name : names) {
+            key.add(String.valueOf(name));
+            value.add(of(String.valueOf(name)));
+        }
+        authorities = Collections.unmodifiableList(value);
+        if (LISTS.size() >= MAX_SIZE) {
+            return authorities;
+        }
+        List<GrantedAuthority> existing = LISTS.putIfAbsent(Collections.unmodifiableList(key), authorities);
+        return existing != null ? existing : authorities;
+    }
+}
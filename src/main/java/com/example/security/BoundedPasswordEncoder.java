@@ -0,0 +1,383 @@
+package com.example.security;
+
+import com.example.common.api.ResultCode;
+import com.example.common.exception.ApiException;
+import com.example.common.metrics.LatencyHistogram;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 有界密码哈希编码器
+ * 将BCrypt等CPU密集的密码哈希计算放到独立的有界线程池中执行，
+ * 避免登录/注册突发流量占满Tomcat工作线程而拖慢其他接口
+ * 线程池和等待队列都已满时立即拒绝，抛出 {@link ResultCode#TOO_MANY_REQUESTS}
+ * 作为MeterBinder注册auth.password.hash（标签operation：encode/matches）、auth.password.queue等指标
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean, MeterBinder {
+
+    /**
+     * 标记当前线程是否为哈希线程池的工作线程，工作线程内的调用直接执行，避免自我等待
+     */
+    private static final ThreadLocal<Boolean> IN_POOL = new ThreadLocal<>();
+
+    /**
+     * 批量哈希分片被拒绝后的重试间隔（毫秒）
+     */
+    private static final long RETRY_INTERVAL_MILLIS = 10;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    /**
+     * 哈希计算耗时
+     */
+    private final LatencyHistogram hashLatency = new LatencyHistogram();
+
+    /**
+     * 排队等待耗时
+     */
+    private final LatencyHistogram queueLatency = new LatencyHistogram();
+
+    /**
+     * 被拒绝的请求数（队列已满或等待超时）
+     */
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * Micrometer计时器，注册到MeterRegistry之前为null
+     */
+    private volatile Timer encodeTimer;
+    private volatile Timer matchesTimer;
+    private volatile Timer queueTimer;
+
+    /**
+     * 构造函数
+     *
+     * @param delegate      实际执行哈希的编码器
+     * @param threads       工作线程数
+     * @param queueCapacity 等待队列容量
+     * @param timeoutMillis 调用方最长等待时间（毫秒）
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMillis) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger index = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(() -> {
+                        IN_POOL.set(Boolean.TRUE);
+                        runnable.run();
+                    }, "password-hash-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("密码哈希线程池: threads={}, queueCapacity={}, timeout={}ms", threads, queueCapacity, timeoutMillis);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword), false);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword), true);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        encodeTimer = Timer.builder("auth.password.hash")
+                .description("密码哈希计算耗时")
+                .tag("operation", "encode")
+                .register(registry);
+        matchesTimer = Timer.builder("auth.password.hash")
+                .description("密码哈希计算耗时")
+                .tag("operation", "matches")
+                .register(registry);
+        queueTimer = Timer.builder("auth.password.queue")
+                .description("密码哈希排队等待耗时")
+                .register(registry);
+        Gauge.builder("auth.password.queue.depth", this, BoundedPasswordEncoder::getQueueDepth)
+                .description("密码哈希排队等待的任务数")
+                .register(registry);
+        Gauge.builder("auth.password.active", this, BoundedPasswordEncoder::getActiveCount)
+                .description("正在执行密码哈希的线程数")
+                .register(registry);
+        FunctionCounter.builder("auth.password.rejected", this, BoundedPasswordEncoder::getRejectedCount)
+                .description("线程池已满或等待超时而被拒绝的哈希请求数")
+                .register(registry);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 异步计算密码哈希
+     * 用于不需要等待结果的场景（如登录后的密码升级），线程池已满时直接放弃，不影响调用方
+     *
+     * @param rawPassword 原始密码
+     * @param callback    哈希完成后的回调，在哈希线程中执行
+     * @return 是否已提交
+     */
+    public boolean encodeAsync(CharSequence rawPassword, Consumer<String> callback) {
+        try {
+            executor.execute(() -> {
+                try {
+                    callback.accept(call(() -> delegate.encode(rawPassword), false));
+                } catch (RuntimeException ex) {
+                    log.error("异步密码哈希失败", ex);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException ex) {
+            rejectedCount.increment();
+            return false;
+        }
+    }
+
+    /**
+     * 批量计算密码哈希
+     * 按线程数切分为若干分片，全部提交到哈希线程池并行计算，调用线程只等待结果，不占用请求线程的CPU；
+     * 分片被拒绝（线程池和队列已被交互请求占满）时，先等待本批已提交的分片完成再重试，
+     * 本批没有未完成的分片时稍后重试，线程池繁忙时自然降速；超过等待时间仍无法提交时抛出 {@link ResultCode#TOO_MANY_REQUESTS}
+     * 在哈希线程池内调用时直接在当前线程计算，避免自我等待
+     *
+     * @param rawPasswords 原始密码列表
+     * @return 与输入顺序一致的哈希结果
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int size = rawPasswords.size();
+        String[] encoded = new String[size];
+        if (IN_POOL.get() != null) {
+            encodeRange(rawPasswords, encoded, 0, size);
+            return Arrays.asList(encoded);
+        }
+
+        int parts = Math.max(1, Math.min(size, executor.getMaximumPoolSize()));
+        List<Future<?>> futures = new ArrayList<>(parts);
+        try {
+            for (int part = 0; part < parts; part++) {
+                int from = part * size / parts;
+                int to = (part + 1) * size / parts;
+                futures.add(submitSlice(() -> encodeRange(rawPasswords, encoded, from, to), futures));
+            }
+            for (Future<?> future : futures) {
+                await(future);
+            }
+        } catch (RuntimeException ex) {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            throw ex;
+        }
+        return Arrays.asList(encoded);
+    }
+
+    /**
+     * 提交批量哈希的分片，被拒绝时等待后重试
+     *
+     * @param slice     分片任务
+     * @param submitted 本批已提交的分片
+     * @return 分片的Future
+     * @throws ApiException 超过等待时间仍无法提交
+     */
+    private Future<?> submitSlice(Runnable slice, List<Future<?>> submitted) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        int pending = 0;
+        while (true) {
+            try {
+                return executor.submit(slice);
+            } catch (RejectedExecutionException ex) {
+                if (System.nanoTime() - deadline > 0) {
+                    rejectedCount.increment();
+                    log.warn("批量密码哈希等待线程池超时: timeout={}ms, queueDepth={}", timeoutMillis, getQueueDepth());
+                    throw new ApiException(ResultCode.TOO_MANY_REQUESTS);
+                }
+            }
+            if (pending < submitted.size()) {
+                await(submitted.get(pending++));
+            } else {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(RETRY_INTERVAL_MILLIS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new ApiException(ResultCode.TOO_MANY_REQUESTS);
+                }
+            }
+        }
+    }
+
+    /**
+     * 计算指定区间内的密码哈希
+     */
+    private void encodeRange(List<? extends CharSequence> rawPasswords, String[] encoded, int from, int to) {
+        for (int i = from; i < to; i++) {
+            CharSequence rawPassword = rawPasswords.get(i);
+            encoded[i] = call(() -> delegate.encode(rawPassword), false);
+        }
+    }
+
+    /**
+     * 等待批量哈希的分片完成
+     */
+    private void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ApiException(ResultCode.TOO_MANY_REQUESTS);
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    /**
+     * 在哈希线程池中执行任务并等待结果
+     *
+     * @param task    哈希任务
+     * @param matches 是否为密码校验（用于区分指标）
+     * @return 任务结果
+     * @throws ApiException 线程池已满或等待超时
+     */
+    private <T> T execute(Callable<T> task, boolean matches) {
+        if (IN_POOL.get() != null) {
+            return call(task, matches);
+        }
+
+        long submitTime = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long queued = System.nanoTime() - submitTime;
+                queueLatency.record(queued);
+                Timer timer = queueTimer;
+                if (timer != null) {
+                    timer.record(queued, TimeUnit.NANOSECONDS);
+                }
+                return call(task, matches);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejectedCount.increment();
+            log.warn("密码哈希线程池已满，拒绝请求: queueDepth={}", getQueueDepth());
+            throw new ApiException(ResultCode.TOO_MANY_REQUESTS);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejectedCount.increment();
+            log.warn("密码哈希等待超时: timeout={}ms, queueDepth={}", timeoutMillis, getQueueDepth());
+            throw new ApiException(ResultCode.TOO_MANY_REQUESTS);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ApiException(ResultCode.TOO_MANY_REQUESTS);
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    /**
+     * 还原任务中抛出的原始异常
+     */
+    private static RuntimeException unwrap(ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    /**
+     * 执行任务并记录耗时
+     */
+    private <T> T call(Callable<T> task, boolean matches) {
+        long start = System.nanoTime();
+        try {
+            return task.call();
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            hashLatency.record(elapsed);
+            Timer timer = matches ? matchesTimer : encodeTimer;
+            if (timer != null) {
+                timer.record(elapsed, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * 当前排队等待的任务数
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 正在执行哈希的线程数
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * 被拒绝的请求数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * 哈希计算耗时分布
+     */
+    public LatencyHistogram getHashLatency() {
+        return hashLatency;
+    }
+
+    /**
+     * 排队等待耗时分布
+     */
+    public LatencyHistogram getQueueLatency() {
+        return queueLatency;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -1,35 +1,100 @@
 package com.example.security;
 
 import com.example.common.api.Result;
+import com.example.security.AuthMetrics.RejectReason;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 未认证请求的处理入口
+ * 返回401及统一的Result结构；响应体按提示信息缓存序列化后的字节，
+ * token集中过期时大量401请求不再逐个序列化
+ */
 @Component
+@RequiredArgsConstructor
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint, Serializable {
 
     private static final long serialVersionUID = -7858869558953243875L;
 
+    /**
+     * 默认提示信息
+     */
+    private static final String DEFAULT_MESSAGE = "未授权访问";
+
+    /**
+     * 未携带token访问受保护接口时Spring Security的提示信息
+     */
+    private static final String FULL_AUTHENTICATION_REQUIRED = "Full authentication is required to access this resource";
+
+    /**
+     * 最多缓存的提示信息条数，提示信息来自异常，数量有限，超出后不再缓存
+     */
+    private static final int MAX_CACHED_MESSAGES = 64;
+
+    private final transient AuthMetrics authMetrics;
+
+    /**
+     * 全局配置的ObjectMapper
+     */
+    private final transient ObjectMapper objectMapper;
+
+    /**
+     * 提示信息 -> 序列化后的响应体
+     */
+    private final transient Map<String, byte[]> bodies = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws JsonProcessingException {
+        bodies.put(DEFAULT_MESSAGE, serialize(DEFAULT_MESSAGE));
+        bodies.put(FULL_AUTHENTICATION_REQUIRED, serialize(FULL_AUTHENTICATION_REQUIRED));
+    }
+
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response,
                         AuthenticationException authException) throws IOException {
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        Object reason = request.getAttribute(JwtAuthenticationFilter.REJECT_REASON_ATTRIBUTE);
+        authMetrics.recordRejection(reason instanceof RejectReason ? (RejectReason) reason : RejectReason.MISSING_TOKEN);
 
-        String message = "未授权访问";
-        if(authException != null) {
+        String message = DEFAULT_MESSAGE;
+        if (authException != null && authException.getMessage() != null) {
             message = authException.getMessage();
         }
+        byte[] body = body(message);
 
-        byte[] body = new ObjectMapper()
-                .writeValueAsBytes(Result.unauthorized(message));
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
         response.getOutputStream().write(body);
     }
+
+    /**
+     * 获取提示信息对应的响应体，未缓存时序列化并在容量允许时缓存
+     */
+    private byte[] body(String message) throws JsonProcessingException {
+        byte[] body = bodies.get(message);
+        if (body == null) {
+            body = serialize(message);
+            if (bodies.size() < MAX_CACHED_MESSAGES) {
+                bodies.putIfAbsent(message, body);
+            }
+        }
+        return body;
+    }
+
+    private byte[] serialize(String message) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(Result.unauthorized(message));
+    }
 }
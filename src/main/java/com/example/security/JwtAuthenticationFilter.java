@@ -1,11 +1,16 @@
 package com.example.security;
 
+import com.example.auth.jwt.TokenDenylist;
+import com.example.auth.jwt.TokenVerification;
+import com.example.security.AuthMetrics.RejectReason;
 import com.example.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -22,37 +27,81 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * 请求携带的token未通过认证时，在请求属性中记录原因（{@link RejectReason}），供JwtAuthenticationEntryPoint统计
+     */
+    public static final String REJECT_REASON_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".REJECT_REASON";
+
     private final JwtUtil jwtUtil;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenDenylist tokenDenylist;
+
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
-            String jwt = getJwtFromRequest(request);
-
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                Long userId = jwtUtil.getUserIdFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserById(userId);
-                
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            String jwt = jwtUtil.resolveToken(request);
+            // 一次解析完成验签和claims提取，无效token不抛异常
+            TokenVerification verification = StringUtils.hasText(jwt) ? jwtUtil.verifyToken(jwt) : null;
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (verification != null && verification.isValid()) {
+                authenticate(request, verification);
+            } else if (verification != null) {
+                request.setAttribute(REJECT_REASON_ATTRIBUTE, RejectReason.of(verification.getStatus()));
             }
+        } catch (UsernameNotFoundException ex) {
+            log.debug("token对应的用户不存在: {}", ex.getMessage());
+            request.setAttribute(REJECT_REASON_ATTRIBUTE, RejectReason.USER_UNAVAILABLE);
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
+            request.setAttribute(REJECT_REASON_ATTRIBUTE, RejectReason.ERROR);
         }
 
         filterChain.doFilter(request, response);
     }
 
-    private String getJwtFromRequest(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
-        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
+    /**
+     * 由已验证的访问token建立认证信息
+     * 访问token携带用户信息时直接由claims构建用户主体，不查询数据库，命中已验证token缓存时复用同一用户主体；
+     * 本功能上线前签发的token没有用户信息，按用户ID加载；需要数据库中最新用户状态的接口见{@link VerifyUserState}
+     */
+    private void authenticate(HttpServletRequest request, TokenVerification verification) {
+        Claims claims = verification.getClaims();
+        // 迁移窗口结束后不再接受旧格式的token
+        if (jwtUtil.rejectsLegacyToken(claims)) {
+            log.debug("拒绝没有typ或jti的旧格式token");
+            request.setAttribute(REJECT_REASON_ATTRIBUTE, RejectReason.LEGACY_TOKEN);
+            return;
+        }
+        // 刷新token只能用于换取新token
+        if (jwtUtil.isRefreshToken(claims)) {
+            log.debug("刷新token不能用于访问接口");
+            request.setAttribute(REJECT_REASON_ATTRIBUTE, RejectReason.MALFORMED);
+            return;
+        }
+        // 已登出的token
+        if (tokenDenylist.isRevoked(claims)) {
+            request.setAttribute(REJECT_REASON_ATTRIBUTE, RejectReason.REVOKED);
+            return;
+        }
+
+        UserDetails userDetails = verification.getPrincipal(PrincipalClaims::read);
+        if (userDetails == null) {
+            userDetails = userDetailsService.loadUserById(jwtUtil.getUserId(claims));
+        }
+
+        // 已禁用的账号不再通过认证
+        if (userDetails.isEnabled()) {
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+            authentication.setDetails(detailsSource.buildDetails(request));
+
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        } else {
+            log.debug("用户[{}]已被禁用", userDetails.getUsername());
+            request.setAttribute(REJECT_REASON_ATTRIBUTE, RejectReason.USER_UNAVAILABLE);
         }
-        return null;
     }
 }
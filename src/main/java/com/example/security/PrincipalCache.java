@@ -0,0 +1,151 @@
+package com.example.security;
+
+import cn.hutool.cache.impl.LRUCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 认证主体缓存
+ * 按用户ID缓存已加载的UserPrincipal，避免JWT认证时每个请求都查询sys_user
+ * 缓存有容量上限（LRU淘汰）和有效期，用户被修改或删除时会主动失效
+ * 命中、未命中、淘汰次数和缓存条数注册为auth.principal.cache.*指标
+ */
+@Slf4j
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    /**
+     * 是否启用缓存
+     */
+    @Value("${security.principal-cache.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 最大缓存条数
+     */
+    @Value("${security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    /**
+     * 缓存有效期（毫秒）
+     * 被禁用的账号最迟在该时间后失效
+     */
+    @Value("${security.principal-cache.ttl:300000}")
+    private long ttl;
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private LRUCache<Long, UserPrincipal> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new LRUCache<Long, UserPrincipal>(maxSize, ttl) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected int pruneCache() {
+                int pruned = super.pruneCache();
+                evictionCount.add(pruned);
+                return pruned;
+            }
+        };
+        log.info("认证主体缓存: enabled={}, maxSize={}, ttl={}ms", enabled, maxSize, ttl);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.principal.cache.size", this, PrincipalCache::size)
+                .description("认证主体缓存条数")
+                .register(registry);
+        FunctionCounter.builder("auth.principal.cache.requests", this, PrincipalCache::getHitCount)
+                .description("认证主体缓存查询次数")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("auth.principal.cache.requests", this, PrincipalCache::getMissCount)
+                .description("认证主体缓存查询次数")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("auth.principal.cache.evictions", this, PrincipalCache::getEvictionCount)
+                .description("认证主体缓存淘汰次数")
+                .register(registry);
+    }
+
+    /**
+     * 获取缓存的用户主体
+     *
+     * @param userId 用户ID
+     * @return 用户主体，未命中时返回null
+     */
+    public UserPrincipal get(Long userId) {
+        if (!enabled) {
+            return null;
+        }
+        // 读取时不刷新有效期，保证禁用账号在TTL内失效
+        return cache.get(userId, false);
+    }
+
+    /**
+     * 缓存用户主体
+     *
+     * @param principal 用户主体
+     */
+    public void put(UserPrincipal principal) {
+        if (enabled) {
+            cache.put(principal.getId(), principal);
+        }
+    }
+
+    /**
+     * 使指定用户的缓存失效
+     *
+     * @param userId 用户ID
+     */
+    public void evict(Long userId) {
+        if (userId != null) {
+            cache.remove(userId);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * 当前缓存条数
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * 命中次数
+     */
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    /**
+     * 未命中次数
+     */
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    /**
+     * 淘汰次数（容量淘汰及过期清理）
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+}
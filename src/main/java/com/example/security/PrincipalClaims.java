@@ -0,0 +1,59 @@
+package com.example.security;
+
+import com.example.auth.jwt.TokenClaims;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 访问token中的用户主体信息
+ * 签发访问token时写入用户ID以外的认证所需字段（字段名见{@link TokenClaims}），认证时由claims直接构建用户主体，不访问数据库；
+ * 权限使用{@link Authorities}中的共享实例
+ */
+public final class PrincipalClaims {
+
+    private PrincipalClaims() {
+    }
+
+    /**
+     * 写入用户主体信息
+     *
+     * @param principal 用户主体
+     * @param claims    token claims
+     */
+    public static void write(UserPrincipal principal, Map<String, Object> claims) {
+        Collection<? extends GrantedAuthority> authorities = principal.getAuthorities();
+        List<String> names = new ArrayList<>(authorities.size());
+        for (GrantedAuthority authority : authorities) {
+            names.add(authority.getAuthority());
+        }
+        TokenClaims.writePrincipal(claims, principal.getUsername(), principal.getNickname(),
+                principal.getStatus(), names);
+    }
+
+    /**
+     * 由claims构建用户主体
+     *
+     * @param claims 已验证的token claims
+     * @return 用户主体（不含密码），claims中没有用户信息（本功能上线前签发的token）时返回null
+     */
+    public static UserPrincipal read(Claims claims) {
+        Object username = claims.get(TokenClaims.USERNAME);
+        if (!(username instanceof String)) {
+            return null;
+        }
+        Object status = claims.get(TokenClaims.STATUS);
+        List<?> names = TokenClaims.authorities(claims);
+        return UserPrincipal.builder()
+                .id(TokenClaims.userId(claims))
+                .username((String) username)
+                .nickname((String) claims.get(TokenClaims.NICKNAME))
+                .status(status instanceof Number ? ((Number) status).intValue() : null)
+                .authorities(names != null ? Authorities.of(names) : Authorities.DEFAULT)
+                .build();
+    }
+}
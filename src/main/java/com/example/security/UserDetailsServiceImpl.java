@@ -1,13 +1,16 @@
 package com.example.security;
 
-import com.example.entity.User;
+import com.example.dto.UserAuthDTO;
 import com.example.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
+
 /**
  * 自定义用户详情服务
  * 实现Spring Security的UserDetailsService接口
@@ -20,6 +23,16 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     // 用户服务类
     private final UserService userService;
 
+    // 认证主体缓存
+    private final PrincipalCache principalCache;
+
+    // 认证链路指标
+    private final AuthMetrics authMetrics;
+
+    // 管理员用户名，拥有ROLE_ADMIN，可访问/monitor等运维接口
+    @Value("${security.admin-usernames:}")
+    private Set<String> adminUsernames;
+
     /**
      * 根据用户名加载用户信息
      * 此方法会被Spring Security调用，用于加载认证用户的信息
@@ -30,38 +43,81 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // 从数据库中查询用户
-        User user = userService.lambdaQuery()
-                .eq(User::getUsername, username)
-                .one();
-                
+        // 从数据库中查询用户认证信息（包含密码哈希）
+        long start = System.nanoTime();
+        UserAuthDTO user = userService.getAuthByUsername(username);
+        authMetrics.recordPrincipalByUsername(user != null, System.nanoTime() - start);
+
         // 如果用户不存在，抛出异常
         if(user == null) {
             throw new UsernameNotFoundException("用户名或密码错误");
         }
         
         // 将我们的用户对象转换为Spring Security的UserDetails对象
-        return UserPrincipal.create(user);
+        return principal(user);
     }
 
     /**
      * 根据用户ID加载用户信息
      * 用于JWT token认证时，根据token中的用户ID获取用户信息
+     * 优先从认证主体缓存读取，未命中时查询数据库并写入缓存
      *
      * @param id 用户ID
      * @return UserDetails Spring Security的用户详情对象
      * @throws UsernameNotFoundException 当用户不存在时抛出此异常
      */
     public UserDetails loadUserById(Long id) {
-        // 从数据库中查询用户
-        User user = userService.getById(id);
-        
+        // 先查缓存
+        long start = System.nanoTime();
+        UserPrincipal cached = principalCache.get(id);
+        if (cached != null) {
+            authMetrics.recordPrincipalById(true, true, System.nanoTime() - start);
+            return cached;
+        }
+
+        // 从数据库中查询用户认证信息（不包含密码哈希）
+        UserAuthDTO user = userService.getAuthById(id);
+        authMetrics.recordPrincipalById(false, user != null, System.nanoTime() - start);
+
         // 如果用户不存在，抛出异常
         if(user == null) {
             throw new UsernameNotFoundException("用户不存在");
         }
         
-        // 将用户对象转换为UserDetails对象
-        return UserPrincipal.create(user);
+        // 将用户对象转换为UserDetails对象并缓存
+        UserPrincipal principal = principal(user);
+        principalCache.put(principal);
+        return principal;
+    }
+
+    /**
+     * 根据用户ID从数据库重新加载用户信息
+     * 用于刷新token：跳过认证主体缓存，保证新签发的访问token携带最新的用户状态，并刷新缓存
+     *
+     * @param id 用户ID
+     * @return 用户主体
+     * @throws UsernameNotFoundException 当用户不存在时抛出此异常
+     */
+    public UserPrincipal reloadUserById(Long id) {
+        long start = System.nanoTime();
+        UserAuthDTO user = userService.getAuthById(id);
+        authMetrics.recordPrincipalById(false, user != null, System.nanoTime() - start);
+
+        if (user == null) {
+            principalCache.evict(id);
+            throw new UsernameNotFoundException("用户不存在");
+        }
+
+        UserPrincipal principal = principal(user);
+        principalCache.put(principal);
+        return principal;
+    }
+
+    /**
+     * 构建用户主体，管理员用户名额外授予ROLE_ADMIN
+     */
+    private UserPrincipal principal(UserAuthDTO user) {
+        boolean admin = adminUsernames.contains(user.getUsername());
+        return UserPrincipal.create(user, admin ? Authorities.ADMIN : Authorities.DEFAULT);
     }
 }
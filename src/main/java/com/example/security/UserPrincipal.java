@@ -1,30 +1,24 @@
 package com.example.security;
 
-import com.example.entity.User;
+import com.example.dto.UserAuthDTO;
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.Value;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * 用户认证信息主体类
  * 实现Spring Security的UserDetails接口
  * 用于封装用户的认证信息和权限信息
+ * 不可变：同一实例由认证主体缓存、已验证token缓存在多个请求间共享，创建后不能修改
  */
-@Data
+@Value
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
 public class UserPrincipal implements UserDetails {
     
     // 用户ID
@@ -36,8 +30,9 @@ public class UserPrincipal implements UserDetails {
     // 用户昵称
     private String nickname;
     
-    // 密码（加@JsonIgnore注解防止序列化）
+    // 密码（加@JsonIgnore注解防止序列化，不输出到日志）
     @JsonIgnore
+    @ToString.Exclude
     private String password;
     
     // 用户状态（1：启用，0：禁用）
@@ -48,18 +43,24 @@ public class UserPrincipal implements UserDetails {
 
     /**
      * 创建UserPrincipal实例
-     * 将User实体类转换为UserPrincipal对象
+     * 将用户认证信息转换为UserPrincipal对象，按ID加载时密码为空
      *
-     * @param user 用户实体对象
+     * @param user 用户认证信息
      * @return UserPrincipal对象
      */
-    public static UserPrincipal create(User user) {
-        // 创建默认的用户权限（ROLE_USER）
-        List<GrantedAuthority> authorities = Stream.of("ROLE_USER")
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+    public static UserPrincipal create(UserAuthDTO user) {
+        // 使用共享的默认权限（ROLE_USER）
+        return create(user, Authorities.DEFAULT);
+    }
 
-        // 构建并返回UserPrincipal对象
+    /**
+     * 创建指定权限的UserPrincipal实例
+     *
+     * @param user        用户认证信息
+     * @param authorities 权限列表，应使用{@link Authorities}中的共享实例
+     * @return UserPrincipal对象
+     */
+    public static UserPrincipal create(UserAuthDTO user, Collection<? extends GrantedAuthority> authorities) {
         return UserPrincipal.builder()
                 .id(user.getId())
                 .username(user.getUsername())
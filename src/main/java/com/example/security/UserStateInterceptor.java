@@ -0,0 +1,70 @@
+package com.example.security;
+
+import com.example.common.api.ResultCode;
+import com.example.common.exception.ApiException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 用户状态校验拦截器
+ * 对标注了{@link VerifyUserState}的接口，在执行前从数据库重新加载当前用户：
+ * 用户不存在或已禁用时返回{@link ResultCode#UNAUTHORIZED}，否则以最新的用户主体替换认证信息
+ * 在请求线程上执行，async执行模式下替换后的认证信息随安全上下文传递到执行线程
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserStateInterceptor implements HandlerInterceptor {
+
+    private final UserDetailsServiceImpl userDetailsService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || !requiresVerification((HandlerMethod) handler)) {
+            return true;
+        }
+        Authentication current = SecurityContextHolder.getContext().getAuthentication();
+        if (current == null || !(current.getPrincipal() instanceof UserPrincipal)) {
+            // 未认证的请求由Spring Security处理
+            return true;
+        }
+
+        Long userId = ((UserPrincipal) current.getPrincipal()).getId();
+        UserPrincipal principal;
+        try {
+            principal = userDetailsService.reloadUserById(userId);
+        } catch (UsernameNotFoundException e) {
+            log.debug("用户[{}]已不存在", userId);
+            throw new ApiException(ResultCode.UNAUTHORIZED);
+        }
+        if (!principal.isEnabled()) {
+            log.debug("用户[{}]已被禁用", userId);
+            throw new ApiException(ResultCode.UNAUTHORIZED);
+        }
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, principal.getAuthorities());
+        authentication.setDetails(current.getDetails());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return true;
+    }
+
+    /**
+     * 接口方法或所在类是否标注了{@link VerifyUserState}
+     */
+    private boolean requiresVerification(HandlerMethod handlerMethod) {
+        return handlerMethod.hasMethodAnnotation(VerifyUserState.class)
+                || AnnotatedElementUtils.hasAnnotation(handlerMethod.getBeanType(), VerifyUserState.class);
+    }
+}
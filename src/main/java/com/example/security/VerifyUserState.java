@@ -0,0 +1,19 @@
+package com.example.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 接口执行前从数据库校验当前用户状态
+ * 访问token携带的用户信息最长在token有效期内可能与数据库不一致（如账号已被禁用），
+ * 敏感操作标注此注解后由{@link UserStateInterceptor}按用户ID重新查询，用户不存在或已禁用时拒绝请求，
+ * 并以数据库中的最新信息替换当前认证主体；标注在类上时对其中所有接口生效
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface VerifyUserState {
+}
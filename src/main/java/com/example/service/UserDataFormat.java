@@ -0,0 +1,55 @@
+package com.example.service;
+
+/**
+ * 用户批量导入/导出的数据格式
+ */
+public enum UserDataFormat {
+
+    /**
+     * 每行一个JSON对象
+     */
+    JSON_LINES("jsonl", "application/x-ndjson"),
+
+    /**
+     * 带表头的CSV，列名与字段名一致
+     */
+    CSV("csv", "text/csv");
+
+    /**
+     * 文件扩展名
+     */
+    private final String extension;
+
+    /**
+     * 内容类型
+     */
+    private final String contentType;
+
+    UserDataFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * 根据扩展名获取格式
+     *
+     * @param extension 扩展名，如csv、jsonl
+     * @return 数据格式，不支持时返回null
+     */
+    public static UserDataFormat fromExtension(String extension) {
+        for (UserDataFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
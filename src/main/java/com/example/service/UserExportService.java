@@ -0,0 +1,22 @@
+package com.example.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 用户导出服务
+ * 通过数据库游标逐行读取并直接写入输出流，只执行一次查询，内存占用与导出行数无关
+ */
+public interface UserExportService {
+
+    /**
+     * 导出用户
+     *
+     * @param keyword 关键字，匹配用户名或昵称，为空时导出全部
+     * @param format  导出格式
+     * @param output  输出流，调用方负责关闭
+     * @return 导出行数
+     * @throws IOException 写入失败（如客户端断开连接）
+     */
+    long exportUsers(String keyword, UserDataFormat format, OutputStream output) throws IOException;
+}
@@ -0,0 +1,29 @@
+package com.example.service;
+
+import com.example.vo.UserImportResultVO;
+import com.example.vo.UserImportSummaryVO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 用户批量导入服务
+ * 流式读取上传数据并按块处理：每块一次查询检查用户名冲突、并行计算密码哈希、
+ * 一条多行INSERT在独立事务中写入，内存占用与上传数据大小无关
+ */
+public interface UserImportService {
+
+    /**
+     * 批量导入用户
+     *
+     * @param input    上传数据（UTF-8）
+     * @param format   数据格式
+     * @param listener 每处理完一块后回调该块的逐行结果
+     * @return 汇总结果
+     * @throws IOException 读取上传数据失败
+     */
+    UserImportSummaryVO importUsers(InputStream input, UserDataFormat format,
+                                    Consumer<List<UserImportResultVO>> listener) throws IOException;
+}
@@ -0,0 +1,37 @@
+package com.example.service;
+
+import java.util.List;
+
+/**
+ * 用户搜索索引
+ * 根据关键字在用户名和昵称中做子串匹配，返回按相关度排序的用户ID，
+ * 用于替代 LIKE '%keyword%' 的全表扫描
+ */
+public interface UserSearchIndex {
+
+    /**
+     * 搜索用户
+     * 匹配规则与 username LIKE '%keyword%' OR nickname LIKE '%keyword%' 一致（不区分大小写）
+     * 索引未启用、尚未构建完成或无法高效回答该关键字时返回null，调用方应回退到数据库查询
+     *
+     * @param keyword 关键字
+     * @return 按相关度排序的用户ID，或null
+     */
+    List<Long> search(String keyword);
+
+    /**
+     * 新增或更新用户索引
+     *
+     * @param id       用户ID
+     * @param username 用户名
+     * @param nickname 昵称
+     */
+    void index(Long id, String username, String nickname);
+
+    /**
+     * 删除用户索引
+     *
+     * @param id 用户ID
+     */
+    void remove(Long id);
+}
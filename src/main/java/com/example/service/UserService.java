@@ -1,8 +1,12 @@
 package com.example.service;
 
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.example.dto.UserAuthDTO;
 import com.example.entity.User;
+import com.example.vo.CountedPage;
+import com.example.vo.CursorPageVO;
+import com.example.vo.UserDetailVO;
+import com.example.vo.UserListVO;
 
 /**
  * 用户服务接口
@@ -20,6 +24,30 @@ public interface UserService extends IService<User> {
      */
     void register(User user);
 
+    /**
+     * 查询用户详情（不包含密码）
+     *
+     * @param id 用户ID
+     * @return 用户详情，不存在时返回null
+     */
+    UserDetailVO getUserDetail(Long id);
+
+    /**
+     * 按用户名查询登录认证信息（包含密码哈希）
+     *
+     * @param username 用户名
+     * @return 认证信息，不存在时返回null
+     */
+    UserAuthDTO getAuthByUsername(String username);
+
+    /**
+     * 按ID查询认证信息（不包含密码哈希），用于JWT认证
+     *
+     * @param id 用户ID
+     * @return 认证信息，不存在时返回null
+     */
+    UserAuthDTO getAuthById(Long id);
+
     /**
      * 分页查询用户列表
      *
@@ -28,5 +56,28 @@ public interface UserService extends IService<User> {
      * @param keyword   关键字
      * @return 用户列表
      */
-    Page<User> listUsers(Integer pageNum, Integer pageSize, String keyword);
+    CountedPage<UserListVO> listUsers(Integer pageNum, Integer pageSize, String keyword);
+
+    /**
+     * 游标分页查询用户列表
+     * 按(create_time, id)倒序定位，翻页耗时与页码无关，默认不查询总数
+     *
+     * @param cursor    上一页返回的游标，为空时查询第一页
+     * @param pageSize  每页大小
+     * @param keyword   关键字
+     * @param withTotal 是否查询总数
+     * @return 用户列表
+     */
+    CursorPageVO<UserListVO> listUsersByCursor(String cursor, Integer pageSize, String keyword, boolean withTotal);
+
+    /**
+     * 更新密码哈希
+     * 仅当数据库中的密码哈希仍为旧值时才更新，避免覆盖期间用户修改的新密码
+     *
+     * @param id          用户ID
+     * @param oldPassword 旧的密码哈希
+     * @param newPassword 新的密码哈希
+     * @return 是否更新成功
+     */
+    boolean updatePasswordHash(Long id, String oldPassword, String newPassword);
 }
@@ -0,0 +1,539 @@
+package com.example.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.entity.User;
+import com.example.mapper.UserMapper;
+import com.example.service.UserSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 基于3-gram倒排索引的用户搜索实现
+ * 为用户名和昵称中从每个字符开始的3字符子串建立倒排表（末尾不足3字符的用结束符补齐），倒排表为有序的long数组：
+ * 1. 关键字不少于3个字符时，取其所有3字符子串倒排表的交集作为候选
+ * 2. 关键字为1~2个字符时，包含它的位置必然是某个3字符子串的前缀，按前缀范围取这些倒排表的并集作为候选
+ * 候选结果再用原始字段做一次子串校验，保证与LIKE的匹配结果一致
+ * 以下情况搜索返回null，由调用方回退到数据库查询：
+ * 1. 索引未启用或尚未构建完成
+ * 2. 估算内存超出预算，索引整体释放，直到重启前不再使用
+ * 3. 候选数超过上限（常见的短关键字几乎匹配全表，数据库按创建时间索引取一页反而更快，总数由计数缓存提供）
+ * 启动后在后台从sys_user分批构建，之后由注册、更新、删除操作增量维护；
+ * 读写使用读写锁，构建时的"已有增量结果则跳过"和增量维护都在写锁内完成，同一用户不会被旧数据覆盖
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NGramUserSearchIndex implements UserSearchIndex {
+
+    /**
+     * 子串长度
+     */
+    private static final int GRAM = 3;
+
+    /**
+     * 字段末尾的补齐字符
+     */
+    private static final char END = '\u0003';
+
+    /**
+     * 用户名和昵称之间的分隔符
+     */
+    private static final char SEPARATOR = '\u0000';
+
+    /**
+     * 构建索引时每批读取的行数
+     */
+    private static final int BATCH_SIZE = 5000;
+
+    /**
+     * 内存估算：每个子串（TreeMap节点、子串、倒排表对象）的字节数
+     */
+    private static final long GRAM_BYTES = 128;
+
+    /**
+     * 内存估算：倒排表每条记录的字节数（含数组扩容的余量）
+     */
+    private static final long ENTRY_BYTES = 12;
+
+    /**
+     * 内存估算：每个用户（HashMap节点、ID、字符串对象）的字节数，另加每字符2字节
+     */
+    private static final long DOCUMENT_BYTES = 96;
+
+    private static final long[] EMPTY = new long[0];
+
+    private final UserMapper userMapper;
+
+    /**
+     * 是否启用搜索索引
+     */
+    @Value("${user.search-index.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 索引内存预算（MB），估算值超出后释放索引，关键字查询回退到数据库
+     */
+    @Value("${user.search-index.max-memory-mb:64}")
+    private long maxMemoryMb;
+
+    /**
+     * 单次搜索的最大候选数，超出后回退到数据库查询
+     */
+    @Value("${user.search-index.max-candidates:10000}")
+    private int maxCandidates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 已索引的用户：ID -> 小写的"用户名\0昵称"
+     */
+    private final Map<Long, String> documents = new HashMap<>();
+
+    /**
+     * 倒排表：3字符子串 -> 用户ID有序数组，按子串排序以便短关键字按前缀范围查找
+     */
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+
+    /**
+     * 构建期间被删除的用户，构建时跳过
+     */
+    private final Set<Long> removedDuringBuild = new HashSet<>();
+
+    /**
+     * 倒排表总条数
+     */
+    private long entryCount;
+
+    /**
+     * 已索引用户的总字符数
+     */
+    private long documentChars;
+
+    /**
+     * 是否已超出内存预算
+     */
+    private boolean overBudget;
+
+    private volatile boolean ready;
+
+    /**
+     * 应用启动完成后在后台构建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            log.info("用户搜索索引未启用");
+            return;
+        }
+        Thread builder = new Thread(this::load, "user-search-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * 按主键分批读取用户并建立索引
+     */
+    void load() {
+        long start = System.currentTimeMillis();
+        long lastId = 0;
+        int total = 0;
+        try {
+            while (true) {
+                List<User> users = userMapper.selectList(new LambdaQueryWrapper<User>()
+                        .select(User::getId, User::getUsername, User::getNickname)
+                        .gt(User::getId, lastId)
+                        .orderByAsc(User::getId)
+                        .last("LIMIT " + BATCH_SIZE));
+                lock.writeLock().lock();
+                try {
+                    if (overBudget) {
+                        return;
+                    }
+                    for (User user : users) {
+                        // 构建期间已被增量更新或删除的用户以增量结果为准
+                        if (!documents.containsKey(user.getId()) && !removedDuringBuild.contains(user.getId())) {
+                            put(user.getId(), document(user.getUsername(), user.getNickname()));
+                        }
+                    }
+                    if (checkBudget()) {
+                        return;
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                total += users.size();
+                if (users.size() < BATCH_SIZE) {
+                    break;
+                }
+                lastId = users.get(users.size() - 1).getId();
+            }
+            lock.writeLock().lock();
+            try {
+                removedDuringBuild.clear();
+                ready = true;
+                log.info("用户搜索索引构建完成: {}个用户, {}个索引项, 估算内存{}KB, 耗时{}ms",
+                        total, postings.size(), estimatedBytes() / 1024, System.currentTimeMillis() - start);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            log.error("用户搜索索引构建失败，关键字查询将回退到数据库", e);
+        }
+    }
+
+    @Override
+    public List<Long> search(String keyword) {
+        if (!ready) {
+            return null;
+        }
+        String term = normalize(keyword);
+        if (term.isEmpty() || term.indexOf(SEPARATOR) >= 0 || term.indexOf(END) >= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return null;
+            }
+            long[] candidates = term.length() < GRAM ? prefixCandidates(term) : gramCandidates(term);
+            if (candidates == null) {
+                return null;
+            }
+
+            // 校验并计算相关度
+            List<long[]> scored = new ArrayList<>();
+            for (long id : candidates) {
+                String doc = documents.get(id);
+                if (doc == null) {
+                    continue;
+                }
+                int score = score(doc, term);
+                if (score >= 0) {
+                    scored.add(new long[]{id, score});
+                }
+            }
+            // 相关度优先，相同相关度时新用户在前
+            scored.sort(Comparator.<long[]>comparingLong(e -> e[1]).thenComparingLong(e -> -e[0]));
+
+            List<Long> result = new ArrayList<>(scored.size());
+            for (long[] entry : scored) {
+                result.add(entry[0]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Long id, String username, String nickname) {
+        if (!enabled || id == null) {
+            return;
+        }
+        String doc = document(username, nickname);
+        lock.writeLock().lock();
+        try {
+            if (overBudget) {
+                return;
+            }
+            put(id, doc);
+            checkBudget();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (overBudget) {
+                return;
+            }
+            if (!ready) {
+                removedDuringBuild.add(id);
+            }
+            String old = documents.remove(id);
+            if (old != null) {
+                documentChars -= old.length();
+                for (String gram : grams(old)) {
+                    removePosting(gram, id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 估算的索引内存（字节）
+     */
+    long estimatedBytes() {
+        return postings.size() * GRAM_BYTES + entryCount * ENTRY_BYTES
+                + documents.size() * DOCUMENT_BYTES + documentChars * 2;
+    }
+
+    /**
+     * 1~2个字符的关键字：取以它为前缀的所有子串倒排表的并集
+     *
+     * @return 候选用户ID，超过候选数上限时返回null
+     */
+    private long[] prefixCandidates(String term) {
+        long[] union = EMPTY;
+        for (Map.Entry<String, Postings> entry : postings.tailMap(term).entrySet()) {
+            if (!entry.getKey().startsWith(term)) {
+                break;
+            }
+            Postings ids = entry.getValue();
+            if (ids.size > maxCandidates) {
+                return null;
+            }
+            union = union(union, ids);
+            if (union.length > maxCandidates) {
+                return null;
+            }
+        }
+        return union;
+    }
+
+    /**
+     * 不少于3个字符的关键字：取其所有3字符子串倒排表的交集，从最短的倒排表开始
+     *
+     * @return 候选用户ID，超过候选数上限时返回null
+     */
+    private long[] gramCandidates(String term) {
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            Postings ids = postings.get(term.substring(i, i + GRAM));
+            if (ids == null) {
+                return EMPTY;
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(ids -> ids.size));
+        Postings smallest = lists.get(0);
+        long[] result = Arrays.copyOf(smallest.ids, smallest.size);
+        int length = result.length;
+        for (int i = 1; i < lists.size() && length > 0; i++) {
+            length = retain(result, length, lists.get(i));
+        }
+        if (length > maxCandidates) {
+            return null;
+        }
+        return length == result.length ? result : Arrays.copyOf(result, length);
+    }
+
+    /**
+     * 合并两个有序ID集合
+     */
+    private static long[] union(long[] a, Postings b) {
+        long[] result = new long[a.length + b.size];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.size) {
+            long x = a[i];
+            long y = b.ids[j];
+            if (x < y) {
+                result[n++] = x;
+                i++;
+            } else if (x > y) {
+                result[n++] = y;
+                j++;
+            } else {
+                result[n++] = x;
+                i++;
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[n++] = a[i++];
+        }
+        while (j < b.size) {
+            result[n++] = b.ids[j++];
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    /**
+     * 在有序ID数组中只保留同时存在于倒排表中的ID
+     *
+     * @return 保留后的长度
+     */
+    private static int retain(long[] ids, int length, Postings other) {
+        int n = 0;
+        int j = 0;
+        for (int i = 0; i < length && j < other.size; i++) {
+            long id = ids[i];
+            while (j < other.size && other.ids[j] < id) {
+                j++;
+            }
+            if (j < other.size && other.ids[j] == id) {
+                ids[n++] = id;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * 新增或替换用户，只更新新旧子串的差异部分，调用方需持有写锁
+     */
+    private void put(Long id, String doc) {
+        String old = documents.put(id, doc);
+        documentChars += doc.length() - (old == null ? 0 : old.length());
+
+        Set<String> newGrams = grams(doc);
+        if (old != null) {
+            Set<String> oldGrams = grams(old);
+            for (String gram : oldGrams) {
+                if (!newGrams.contains(gram)) {
+                    removePosting(gram, id);
+                }
+            }
+            newGrams.removeAll(oldGrams);
+        }
+        for (String gram : newGrams) {
+            if (postings.computeIfAbsent(gram, k -> new Postings()).add(id)) {
+                entryCount++;
+            }
+        }
+    }
+
+    private void removePosting(String gram, long id) {
+        Postings ids = postings.get(gram);
+        if (ids != null && ids.remove(id)) {
+            entryCount--;
+            if (ids.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * 检查内存预算，超出后释放索引，调用方需持有写锁
+     *
+     * @return 是否已超出预算
+     */
+    private boolean checkBudget() {
+        long bytes = estimatedBytes();
+        if (bytes <= maxMemoryMb * 1024 * 1024) {
+            return false;
+        }
+        log.warn("用户搜索索引估算内存{}KB超出预算{}MB（{}个用户），已释放索引，关键字查询将回退到数据库",
+                bytes / 1024, maxMemoryMb, documents.size());
+        overBudget = true;
+        ready = false;
+        documents.clear();
+        postings.clear();
+        removedDuringBuild.clear();
+        entryCount = 0;
+        documentChars = 0;
+        return true;
+    }
+
+    /**
+     * 计算相关度，数值越小越相关，不匹配返回-1
+     * 用户名完全匹配 < 用户名前缀 < 用户名包含 < 昵称完全匹配 < 昵称前缀 < 昵称包含
+     */
+    private static int score(String doc, String term) {
+        int separator = doc.indexOf(SEPARATOR);
+        int score = score(doc, 0, separator, term);
+        if (score >= 0) {
+            return score;
+        }
+        score = score(doc, separator + 1, doc.length(), term);
+        return score >= 0 ? 3 + score : -1;
+    }
+
+    private static int score(String doc, int from, int to, String term) {
+        if (!doc.startsWith(term, from) || from + term.length() > to) {
+            int index = doc.indexOf(term, from);
+            return index >= 0 && index + term.length() <= to ? 2 : -1;
+        }
+        return from + term.length() == to ? 0 : 1;
+    }
+
+    /**
+     * 生成用户名和昵称中从每个字符开始的3字符子串，末尾不足3字符的用结束符补齐
+     */
+    private static Set<String> grams(String doc) {
+        Set<String> grams = new HashSet<>();
+        int separator = doc.indexOf(SEPARATOR);
+        addGrams(grams, doc, 0, separator);
+        addGrams(grams, doc, separator + 1, doc.length());
+        return grams;
+    }
+
+    private static void addGrams(Set<String> grams, String doc, int from, int to) {
+        char[] gram = new char[GRAM];
+        for (int i = from; i < to; i++) {
+            for (int n = 0; n < GRAM; n++) {
+                gram[n] = i + n < to ? doc.charAt(i + n) : END;
+            }
+            grams.add(new String(gram));
+        }
+    }
+
+    private static String document(String username, String nickname) {
+        return normalize(username) + SEPARATOR + normalize(nickname);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 倒排表：有序的用户ID数组
+     * 用户ID自增，新用户通常追加在末尾
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[2];
+        private int size;
+
+        private boolean add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return false;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+            return true;
+        }
+
+        private boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
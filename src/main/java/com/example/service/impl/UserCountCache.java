@@ -0,0 +1,134 @@
+package com.example.service.impl;
+
+import cn.hutool.cache.impl.LRUCache;
+import com.example.mapper.UserMapper;
+import com.example.vo.CountedPage.TotalType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * 用户列表总数缓存
+ * 按规范化后的查询条件（关键字）缓存COUNT(*)结果，避免每次分页都执行一次全量计数；
+ * 可选地对无条件查询读取表统计信息进行估算
+ * 新增、删除用户或修改用户名/昵称时整体失效
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserCountCache {
+
+    private final UserMapper userMapper;
+
+    /**
+     * 缓存有效期（毫秒），0表示不缓存
+     */
+    @Value("${user.list-count.ttl:30000}")
+    private long ttl;
+
+    /**
+     * 最大缓存条数
+     */
+    @Value("${user.list-count.max-size:1024}")
+    private int maxSize;
+
+    /**
+     * 无关键字查询是否使用表统计信息估算总数
+     */
+    @Value("${user.list-count.estimate:false}")
+    private boolean estimate;
+
+    private LRUCache<String, Long> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new LRUCache<>(maxSize, ttl);
+    }
+
+    /**
+     * 获取总数
+     *
+     * @param keyword 查询关键字
+     * @param counter 精确计数查询
+     * @return 总数及其来源
+     */
+    public Count count(String keyword, LongSupplier counter) {
+        String key = normalize(keyword);
+        if (ttl > 0) {
+            Long cached = cache.get(key, false);
+            if (cached != null) {
+                return new Count(cached, TotalType.CACHED);
+            }
+        }
+
+        Count count = null;
+        if (estimate && key.isEmpty()) {
+            Long estimated = estimateTotal();
+            if (estimated != null) {
+                count = new Count(estimated, TotalType.ESTIMATED);
+            }
+        }
+        if (count == null) {
+            count = new Count(counter.getAsLong(), TotalType.EXACT);
+        }
+        if (ttl > 0) {
+            cache.put(key, count.getValue());
+        }
+        return count;
+    }
+
+    /**
+     * 使所有缓存的总数失效
+     */
+    public void invalidate() {
+        cache.clear();
+    }
+
+    /**
+     * 读取表统计信息中的行数估算值
+     *
+     * @return 估算行数，数据库不支持时返回null
+     */
+    private Long estimateTotal() {
+        try {
+            return userMapper.selectEstimatedCount();
+        } catch (RuntimeException e) {
+            log.warn("读取sys_user表统计信息失败，改用精确计数: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 规范化查询条件：去除首尾空白并转小写（与数据库不区分大小写的LIKE一致）
+     */
+    private static String normalize(String keyword) {
+        return keyword == null ? "" : keyword.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 总数及其来源
+     */
+    public static class Count {
+
+        private final long value;
+        private final TotalType type;
+
+        public Count(long value, TotalType type) {
+            this.value = value;
+            this.type = type;
+        }
+
+        public long getValue() {
+            return value;
+        }
+
+        public TotalType getType() {
+            return type;
+        }
+    }
+}
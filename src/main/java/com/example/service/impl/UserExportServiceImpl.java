@@ -0,0 +1,135 @@
+package com.example.service.impl;
+
+import cn.hutool.core.text.csv.CsvWriter;
+import cn.hutool.core.util.StrUtil;
+import com.example.mapper.UserMapper;
+import com.example.service.UserDataFormat;
+import com.example.service.UserExportService;
+import com.example.vo.UserExportVO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * 用户导出服务实现类
+ * 游标逐行读取，写入固定大小的缓冲区，每写入一定行数刷新一次，响应以分块传输编码发送
+ */
+@Slf4j
+@Service
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * CSV表头，与 {@link UserExportVO} 字段一致
+     */
+    private static final String[] CSV_HEADER = {
+            "id", "username", "nickname", "email", "phone", "status", "createTime", "updateTime"
+    };
+
+    private final UserMapper userMapper;
+
+    /**
+     * 逐行写JSON，不关闭也不刷新底层输出流
+     */
+    private final ObjectWriter jsonWriter;
+
+    /**
+     * 写缓冲区大小（字符）
+     */
+    @Value("${user.export.buffer-size:8192}")
+    private int bufferSize;
+
+    /**
+     * 每写入多少行刷新一次输出流
+     */
+    @Value("${user.export.flush-rows:1000}")
+    private int flushRows;
+
+    public UserExportServiceImpl(UserMapper userMapper, ObjectMapper objectMapper) {
+        this.userMapper = userMapper;
+        this.jsonWriter = objectMapper.writerFor(UserExportVO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * 导出用户
+     * 游标需要在同一个SqlSession内遍历，因此在只读事务中执行
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(String keyword, UserDataFormat format, OutputStream output) throws IOException {
+        long start = System.currentTimeMillis();
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), bufferSize);
+        CsvWriter csvWriter = null;
+        if (format == UserDataFormat.CSV) {
+            // 写入BOM，便于Excel正确识别UTF-8编码
+            writer.write('\uFEFF');
+            csvWriter = new CsvWriter(writer);
+            csvWriter.writeLine(CSV_HEADER);
+        }
+
+        try (Cursor<UserExportVO> cursor = userMapper.selectExportCursor(StrUtil.emptyToNull(keyword))) {
+            for (UserExportVO user : cursor) {
+                if (csvWriter != null) {
+                    csvWriter.writeLine(toCsvRow(user));
+                } else {
+                    jsonWriter.writeValue(writer, user);
+                    writer.write('\n');
+                }
+                if (++rows % flushRows == 0) {
+                    flush(csvWriter, writer);
+                }
+            }
+        }
+        flush(csvWriter, writer);
+
+        log.info("导出用户完成: format={}, keyword={}, rows={}, elapsed={}ms",
+                format, keyword, rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    /**
+     * 把缓冲区中的数据写出到客户端
+     */
+    private static void flush(CsvWriter csvWriter, Writer writer) throws IOException {
+        if (csvWriter != null) {
+            csvWriter.flush();
+        }
+        writer.flush();
+    }
+
+    private static String[] toCsvRow(UserExportVO user) {
+        return new String[]{
+                String.valueOf(user.getId()),
+                user.getUsername(),
+                user.getNickname(),
+                user.getEmail(),
+                user.getPhone(),
+                user.getStatus() == null ? null : String.valueOf(user.getStatus()),
+                format(user.getCreateTime()),
+                format(user.getUpdateTime())
+        };
+    }
+
+    private static String format(TemporalAccessor time) {
+        return time == null ? null : DATE_TIME_FORMATTER.format(time);
+    }
+}
@@ -0,0 +1,329 @@
+package com.example.service.impl;
+
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.text.csv.CsvReadConfig;
+import cn.hutool.core.text.csv.CsvReader;
+import cn.hutool.core.text.csv.CsvRow;
+import cn.hutool.core.util.StrUtil;
+import com.example.dto.UserImportDTO;
+import com.example.entity.User;
+import com.example.mapper.UserMapper;
+import com.example.security.BoundedPasswordEncoder;
+import com.example.service.UserDataFormat;
+import com.example.service.UserImportService;
+import com.example.service.UserSearchIndex;
+import com.example.vo.UserImportResultVO;
+import com.example.vo.UserImportResultVO.Status;
+import com.example.vo.UserImportSummaryVO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 用户批量导入服务实现类
+ *
+ * 每块的处理步骤：
+ * 1. 逐行校验，并剔除块内重复的用户名
+ * 2. 一次IN查询找出已存在的用户名（包含逻辑删除的用户）
+ * 3. 在密码哈希线程池中并行计算密码哈希
+ * 4. 在独立事务中用一条多行INSERT写入；与并发注册冲突时回退为逐行插入
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportServiceImpl implements UserImportService {
+
+    private final UserMapper userMapper;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final UserSearchIndex searchIndex;
+    private final UserCountCache countCache;
+    private final UsernameFilter usernameFilter;
+
+    /**
+     * 每块处理的行数
+     */
+    @Value("${user.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public UserImportSummaryVO importUsers(InputStream input, UserDataFormat format,
+                                           Consumer<List<UserImportResultVO>> listener) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportContext context = new ImportContext(listener);
+
+        BufferedReader reader = new BufferedReader(IoUtil.getBomReader(input));
+        if (format == UserDataFormat.CSV) {
+            readCsv(reader, context);
+        } else {
+            readJsonLines(reader, context);
+        }
+        context.flush();
+
+        UserImportSummaryVO summary = context.summary.setElapsedMillis(System.currentTimeMillis() - start);
+        log.info("批量导入用户完成: total={}, created={}, duplicate={}, invalid={}, failed={}, elapsed={}ms",
+                summary.getTotal(), summary.getCreated(), summary.getDuplicate(),
+                summary.getInvalid(), summary.getFailed(), summary.getElapsedMillis());
+        return summary;
+    }
+
+    /**
+     * 读取JSON Lines数据，跳过空行
+     */
+    private void readJsonLines(BufferedReader reader, ImportContext context) throws IOException {
+        long lineNo = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (!StringUtils.hasText(line)) {
+                continue;
+            }
+            UserImportDTO data;
+            try {
+                data = objectMapper.readValue(line, UserImportDTO.class);
+            } catch (JsonProcessingException e) {
+                data = null;
+            }
+            context.add(lineNo, data);
+        }
+    }
+
+    /**
+     * 读取带表头的CSV数据
+     */
+    private void readCsv(BufferedReader reader, ImportContext context) {
+        CsvReadConfig config = CsvReadConfig.defaultConfig()
+                .setContainsHeader(true)
+                .setSkipEmptyRows(true)
+                .setTrimField(true);
+        for (CsvRow row : new CsvReader(reader, config)) {
+            UserImportDTO data = new UserImportDTO();
+            data.setUsername(StrUtil.emptyToNull(row.getByName("username")));
+            data.setPassword(StrUtil.emptyToNull(row.getByName("password")));
+            data.setNickname(StrUtil.emptyToNull(row.getByName("nickname")));
+            data.setEmail(StrUtil.emptyToNull(row.getByName("email")));
+            data.setPhone(StrUtil.emptyToNull(row.getByName("phone")));
+            context.add(row.getOriginalLineNumber() + 1, data);
+        }
+    }
+
+    /**
+     * 处理一块数据，处理完成后每行都带有结果
+     */
+    private void processChunk(List<ImportRow> rows) {
+        // 1. 校验并剔除块内重复（用户名按不区分大小写比较，与数据库排序规则一致）
+        Map<String, ImportRow> candidates = new LinkedHashMap<>();
+        for (ImportRow row : rows) {
+            if (row.data == null) {
+                row.finish(Status.INVALID, "数据格式错误");
+                continue;
+            }
+            row.result.setUsername(row.data.getUsername());
+            Set<ConstraintViolation<UserImportDTO>> violations = validator.validate(row.data);
+            if (!violations.isEmpty()) {
+                row.finish(Status.INVALID, violations.iterator().next().getMessage());
+            } else if (candidates.putIfAbsent(normalize(row.data.getUsername()), row) != null) {
+                row.finish(Status.DUPLICATE, "导入数据中用户名重复");
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // 2. 一次查询检查已存在的用户名
+        List<String> usernames = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates.values()) {
+            usernames.add(row.data.getUsername());
+        }
+        for (String existing : userMapper.selectExistingUsernames(usernames)) {
+            ImportRow row = candidates.remove(normalize(existing));
+            if (row != null) {
+                row.finish(Status.DUPLICATE, "用户名已存在");
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // 3. 并行计算密码哈希
+        List<ImportRow> accepted = new ArrayList<>(candidates.values());
+        List<String> rawPasswords = new ArrayList<>(accepted.size());
+        for (ImportRow row : accepted) {
+            rawPasswords.add(row.data.getPassword());
+        }
+        List<String> encodedPasswords = passwordEncoder.encodeAll(rawPasswords);
+
+        // 4. 批量写入
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            UserImportDTO data = accepted.get(i).data;
+            User user = new User();
+            user.setUsername(data.getUsername());
+            user.setPassword(encodedPasswords.get(i));
+            user.setNickname(data.getNickname());
+            user.setEmail(data.getEmail());
+            user.setPhone(data.getPhone());
+            user.setStatus(1);
+            user.setCreateTime(now);
+            user.setUpdateTime(now);
+            users.add(user);
+        }
+        insert(accepted, users);
+    }
+
+    /**
+     * 在一个事务中批量插入，与并发写入的用户名冲突时回退为逐行插入
+     */
+    private void insert(List<ImportRow> rows, List<User> users) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> userMapper.insertBatch(users));
+        } catch (DuplicateKeyException e) {
+            log.info("批量插入时用户名与并发写入冲突，改为逐行插入: rows={}", rows.size());
+            insertOneByOne(rows, users);
+            return;
+        } catch (DataAccessException e) {
+            log.error("批量插入用户失败: rows={}", rows.size(), e);
+            for (ImportRow row : rows) {
+                row.finish(Status.FAILED, "写入数据库失败");
+            }
+            return;
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            created(rows.get(i), users.get(i));
+        }
+        countCache.invalidate();
+    }
+
+    /**
+     * 逐行插入，每行单独提交
+     */
+    private void insertOneByOne(List<ImportRow> rows, List<User> users) {
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            User user = users.get(i);
+            try {
+                userMapper.insert(user);
+                created(row, user);
+            } catch (DuplicateKeyException e) {
+                usernameFilter.markTaken(user.getUsername());
+                row.finish(Status.DUPLICATE, "用户名已存在");
+            } catch (DataAccessException e) {
+                log.error("插入用户失败: {}", user.getUsername(), e);
+                row.finish(Status.FAILED, "写入数据库失败");
+            }
+        }
+        countCache.invalidate();
+    }
+
+    /**
+     * 记录创建成功的用户并更新搜索索引
+     */
+    private void created(ImportRow row, User user) {
+        row.result.setId(user.getId());
+        row.finish(Status.CREATED, null);
+        searchIndex.index(user.getId(), user.getUsername(), user.getNickname());
+        usernameFilter.markTaken(user.getUsername());
+    }
+
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 导入过程的状态：当前块的数据及汇总结果
+     */
+    private class ImportContext {
+
+        private final Consumer<List<UserImportResultVO>> listener;
+        private final UserImportSummaryVO summary = new UserImportSummaryVO();
+        private List<ImportRow> pending = new ArrayList<>();
+
+        ImportContext(Consumer<List<UserImportResultVO>> listener) {
+            this.listener = listener;
+        }
+
+        void add(long line, UserImportDTO data) {
+            pending.add(new ImportRow(line, data));
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<ImportRow> rows = pending;
+            pending = new ArrayList<>();
+            processChunk(rows);
+
+            List<UserImportResultVO> results = new ArrayList<>(rows.size());
+            for (ImportRow row : rows) {
+                results.add(row.result);
+                count(row.result.getStatus());
+            }
+            listener.accept(results);
+        }
+
+        private void count(Status status) {
+            summary.setTotal(summary.getTotal() + 1);
+            switch (status) {
+                case CREATED:
+                    summary.setCreated(summary.getCreated() + 1);
+                    break;
+                case DUPLICATE:
+                    summary.setDuplicate(summary.getDuplicate() + 1);
+                    break;
+                case INVALID:
+                    summary.setInvalid(summary.getInvalid() + 1);
+                    break;
+                default:
+                    summary.setFailed(summary.getFailed() + 1);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 一行导入数据及其结果
+     */
+    private static class ImportRow {
+
+        private final UserImportDTO data;
+        private final UserImportResultVO result;
+
+        ImportRow(long line, UserImportDTO data) {
+            this.data = data;
+            this.result = new UserImportResultVO().setLine(line);
+        }
+
+        void finish(Status status, String message) {
+            result.setStatus(status).setMessage(message);
+        }
+    }
+}
@@ -3,15 +3,37 @@ package com.example.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.common.datasource.DataSourceRoute;
+import com.example.common.datasource.RouteType;
 import com.example.common.exception.ApiException;
+import com.example.dto.UserAuthDTO;
 import com.example.entity.User;
 import com.example.mapper.UserMapper;
+import com.example.security.PrincipalCache;
+import com.example.service.UserSearchIndex;
 import com.example.service.UserService;
+import com.example.util.PageCursor;
+import com.example.util.TransactionUtil;
+import com.example.vo.CountedPage;
+import com.example.vo.CursorPageVO;
+import com.example.vo.UserDetailVO;
+import com.example.vo.UserListVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 用户服务实现类
@@ -31,23 +53,52 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     private final PasswordEncoder passwordEncoder;
 
+    /**
+     * 认证主体缓存
+     */
+    private final PrincipalCache principalCache;
+
+    /**
+     * 用户搜索索引
+     */
+    private final UserSearchIndex searchIndex;
+
+    /**
+     * 用户列表总数缓存
+     */
+    private final UserCountCache countCache;
+
+    /**
+     * 用户名占用过滤器
+     */
+    private final UsernameFilter usernameFilter;
+
+    /**
+     * 编程式事务，用于只让INSERT处于事务中
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 每页最大条数，超出时按该值查询
+     */
+    @Value("${user.list.max-page-size:100}")
+    private int maxPageSize;
+
     /**
      * 用户注册
+     * 先通过用户名过滤器排除明显重复的用户名（避免无谓的密码哈希），
+     * 然后直接插入，由唯一索引uk_username保证并发注册时用户名不重复
+     * 密码哈希在事务外计算，事务只包含INSERT，不会在哈希期间占用数据库连接
      *
      * @param user 用户信息
      * @throws ApiException 如果用户名已存在
      */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public void register(User user) {
         log.info("开始注册用户: {}", user.getUsername());
         
         // 检查用户名是否已存在
-        boolean exists = lambdaQuery()
-                .eq(User::getUsername, user.getUsername())
-                .exists();
-        
-        if (exists) {
+        if (usernameFilter.isTaken(user.getUsername())) {
             log.warn("用户名已存在: {}", user.getUsername());
             throw new ApiException("用户名已存在");
         }
@@ -59,13 +110,66 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         // 设置用户状态为启用
         user.setStatus(1);
         
-        // 保存用户信息
-        save(user);
+        // 保存用户信息，用户名冲突时由唯一索引拒绝
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                save(user);
+                TransactionUtil.afterCommit(() -> {
+                    usernameFilter.markTaken(user.getUsername());
+                    searchIndex.index(user.getId(), user.getUsername(), user.getNickname());
+                    countCache.invalidate();
+                });
+            });
+        } catch (DuplicateKeyException e) {
+            log.warn("用户名已存在: {}", user.getUsername());
+            usernameFilter.markTaken(user.getUsername());
+            throw new ApiException("用户名已存在");
+        }
         log.info("用户注册成功: {}", user.getUsername());
     }
 
+    /**
+     * 查询用户详情（不查询密码哈希）
+     *
+     * @param id 用户ID
+     * @return 用户详情，不存在时返回null
+     */
+    @Override
+    public UserDetailVO getUserDetail(Long id) {
+        return baseMapper.selectDetailById(id);
+    }
+
+    /**
+     * 按用户名查询登录认证信息（包含密码哈希）
+     * 始终查询主库，保证刚注册的用户可以立即登录
+     *
+     * @param username 用户名
+     * @return 认证信息，不存在时返回null
+     */
+    @Override
+    @DataSourceRoute(RouteType.PRIMARY)
+    public UserAuthDTO getAuthByUsername(String username) {
+        return baseMapper.selectAuthByUsername(username);
+    }
+
+    /**
+     * 按ID查询认证信息（不包含密码哈希）
+     * 始终查询主库，保证禁用、改名等变更在刷新token和重新加载用户主体时立即生效，不受从库延迟影响
+     *
+     * @param id 用户ID
+     * @return 认证信息，不存在时返回null
+     */
+    @Override
+    @DataSourceRoute(RouteType.PRIMARY)
+    public UserAuthDTO getAuthById(Long id) {
+        return baseMapper.selectAuthById(id);
+    }
+
     /**
      * 分页查询用户列表
+     * 有关键字且搜索索引可用时，从索引获取按相关度排序的用户ID再按主键查询；
+     * 否则使用数据库LIKE查询，总数从计数缓存获取，不再每次执行COUNT(*)
+     * 只查询列表展示需要的列
      *
      * @param pageNum   页码
      * @param pageSize  每页大小
@@ -73,22 +177,222 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      * @return 用户列表
      */
     @Override
-    public Page<User> listUsers(Integer pageNum, Integer pageSize, String keyword) {
+    public CountedPage<UserListVO> listUsers(Integer pageNum, Integer pageSize, String keyword) {
         log.info("查询用户列表: pageNum={}, pageSize={}, keyword={}", pageNum, pageSize, keyword);
+        pageNum = Math.max(1, pageNum);
+        pageSize = pageSize(pageSize);
+        boolean hasKeyword = StringUtils.hasText(keyword);
+
+        List<Long> ids = hasKeyword ? searchIndex.search(keyword) : null;
+        if (ids != null) {
+            return searchUsers(pageNum, pageSize, ids);
+        }
         
-        // 创建分页对象
-        Page<User> page = new Page<>(pageNum, pageSize);
+        // 创建分页对象，总数单独获取
+        CountedPage<UserListVO> page = new CountedPage<>(pageNum, pageSize);
+        page.setSearchCount(false);
         
         // 创建查询条件
         LambdaQueryWrapper<User> wrapper = new LambdaQueryWrapper<User>()
-                .like(keyword != null, User::getUsername, keyword)
-                .or()
-                .like(keyword != null, User::getNickname, keyword)
+                .eq(User::getDeleted, 0)
+                .and(hasKeyword, w -> w.like(User::getUsername, keyword).or().like(User::getNickname, keyword))
                 .orderByDesc(User::getCreateTime);
         
         // 执行分页查询
-        Page<User> result = page(page, wrapper);
-        log.info("查询到{}条用户记录", result.getTotal());
+        baseMapper.selectListPage(page, wrapper);
+
+        // 获取总数
+        UserCountCache.Count count = countCache.count(keyword, () -> lambdaQuery()
+                .and(hasKeyword, w -> w.like(User::getUsername, keyword).or().like(User::getNickname, keyword))
+                .count());
+        page.setTotal(count.getValue());
+        page.setTotalType(count.getType());
+        log.info("查询到{}条用户记录", page.getTotal());
+        return page;
+    }
+
+    /**
+     * 通过搜索索引分页查询用户
+     *
+     * @param pageNum   页码
+     * @param pageSize  每页大小
+     * @param ids       搜索索引返回的用户ID
+     * @return 用户列表，按相关度排序
+     */
+    private CountedPage<UserListVO> searchUsers(Integer pageNum, Integer pageSize, List<Long> ids) {
+        CountedPage<UserListVO> result = new CountedPage<>(pageNum, pageSize, ids.size());
+
+        int from = (int) Math.min((long) (pageNum - 1) * pageSize, ids.size());
+        int to = Math.min(from + pageSize, ids.size());
+        List<Long> pageIds = ids.subList(from, to);
+        if (pageIds.isEmpty()) {
+            result.setRecords(Collections.emptyList());
+            return result;
+        }
+
+        // 按主键查询后恢复索引给出的顺序
+        Map<Long, Integer> order = new HashMap<>(pageIds.size() * 2);
+        for (int i = 0; i < pageIds.size(); i++) {
+            order.put(pageIds.get(i), i);
+        }
+        List<UserListVO> records = baseMapper.selectListRows(new LambdaQueryWrapper<User>()
+                .eq(User::getDeleted, 0)
+                .in(User::getId, pageIds));
+        records.sort(Comparator.comparing(user -> order.get(user.getId())));
+        result.setRecords(records);
+        log.info("搜索索引查询到{}条用户记录", ids.size());
+        return result;
+    }
+
+    /**
+     * 游标分页查询用户列表
+     * 使用 WHERE (create_time, id) < (游标位置) ORDER BY create_time DESC, id DESC LIMIT n+1，
+     * 通过idx_create_time_id索引直接定位，不使用OFFSET，多取一条用于判断是否还有下一页
+     *
+     * @param cursor    上一页返回的游标，为空时查询第一页
+     * @param pageSize  每页大小
+     * @param keyword   关键字
+     * @param withTotal 是否查询总数
+     * @return 用户列表
+     */
+    @Override
+    public CursorPageVO<UserListVO> listUsersByCursor(String cursor, Integer pageSize, String keyword, boolean withTotal) {
+        log.debug("游标查询用户列表: cursor={}, pageSize={}, keyword={}", cursor, pageSize, keyword);
+        int size = pageSize(pageSize);
+        boolean hasKeyword = StringUtils.hasText(keyword);
+
+        // 解析游标位置
+        LocalDateTime cursorTime = null;
+        Long cursorId = null;
+        if (StringUtils.hasText(cursor)) {
+            PageCursor position = PageCursor.decode(cursor);
+            cursorTime = position.getCreateTime();
+            cursorId = position.getId();
+        }
+        LocalDateTime time = cursorTime;
+        Long id = cursorId;
+
+        List<UserListVO> records = baseMapper.selectListRows(new LambdaQueryWrapper<User>()
+                .eq(User::getDeleted, 0)
+                .and(hasKeyword, w -> w.like(User::getUsername, keyword).or().like(User::getNickname, keyword))
+                .and(time != null, w -> w.lt(User::getCreateTime, time)
+                        .or(x -> x.eq(User::getCreateTime, time).lt(User::getId, id)))
+                .orderByDesc(User::getCreateTime)
+                .orderByDesc(User::getId)
+                .last("LIMIT " + (size + 1)));
+
+        boolean hasMore = records.size() > size;
+        if (hasMore) {
+            records = records.subList(0, size);
+        }
+        CursorPageVO<UserListVO> result = new CursorPageVO<UserListVO>()
+                .setRecords(records)
+                .setHasMore(hasMore);
+        if (hasMore) {
+            UserListVO last = records.get(records.size() - 1);
+            result.setNextCursor(PageCursor.encode(last.getCreateTime(), last.getId()));
+        }
+
+        // 仅在调用方需要时查询总数
+        if (withTotal) {
+            result.setTotal(countCache.count(keyword, () -> lambdaQuery()
+                    .and(hasKeyword, w -> w.like(User::getUsername, keyword).or().like(User::getNickname, keyword))
+                    .count()).getValue());
+        }
         return result;
     }
+
+    /**
+     * 将每页大小限制在 [1, user.list.max-page-size] 范围内
+     *
+     * @param pageSize 请求的每页大小
+     * @return 实际使用的每页大小
+     */
+    private int pageSize(Integer pageSize) {
+        return Math.min(Math.max(1, pageSize), maxPageSize);
+    }
+
+    /**
+     * 更新密码哈希
+     *
+     * @param id          用户ID
+     * @param oldPassword 旧的密码哈希
+     * @param newPassword 新的密码哈希
+     * @return 是否更新成功
+     */
+    @Override
+    public boolean updatePasswordHash(Long id, String oldPassword, String newPassword) {
+        boolean updated = lambdaUpdate()
+                .set(User::getPassword, newPassword)
+                .eq(User::getId, id)
+                .eq(User::getPassword, oldPassword)
+                .update();
+        if (updated) {
+            TransactionUtil.afterCommit(() -> principalCache.evict(id));
+        }
+        return updated;
+    }
+
+    /**
+     * 根据ID更新用户
+     * 更新成功后使该用户的认证主体缓存失效，用户名或昵称变化时更新搜索索引
+     *
+     * @param entity 用户信息
+     * @return 是否更新成功
+     */
+    @Override
+    public boolean updateById(User entity) {
+        boolean updated = super.updateById(entity);
+        if (updated) {
+            Long userId = entity.getId();
+            String username = entity.getUsername();
+            boolean nameChanged = username != null || entity.getNickname() != null;
+            TransactionUtil.afterCommit(() -> {
+                principalCache.evict(userId);
+                if (username != null) {
+                    usernameFilter.renamed(username);
+                }
+                if (nameChanged) {
+                    reindex(userId);
+                    countCache.invalidate();
+                }
+            });
+        }
+        return updated;
+    }
+
+    /**
+     * 根据ID删除用户
+     * 删除成功后使该用户的认证主体缓存失效，并从搜索索引中移除
+     *
+     * @param id 用户ID
+     * @return 是否删除成功
+     */
+    @Override
+    public boolean removeById(Serializable id) {
+        boolean removed = super.removeById(id);
+        if (removed) {
+            Long userId = Long.valueOf(id.toString());
+            TransactionUtil.afterCommit(() -> {
+                principalCache.evict(userId);
+                searchIndex.remove(userId);
+                countCache.invalidate();
+            });
+        }
+        return removed;
+    }
+
+    /**
+     * 重新读取用户并更新搜索索引
+     *
+     * @param userId 用户ID
+     */
+    private void reindex(Long userId) {
+        User user = getById(userId);
+        if (user == null) {
+            searchIndex.remove(userId);
+        } else {
+            searchIndex.index(user.getId(), user.getUsername(), user.getNickname());
+        }
+    }
 }
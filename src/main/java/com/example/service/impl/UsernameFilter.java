@@ -0,0 +1,169 @@
+package com.example.service.impl;
+
+import cn.hutool.cache.impl.LRUCache;
+import com.example.entity.User;
+import com.example.mapper.UserMapper;
+import com.example.auth.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 用户名占用过滤器
+ * 注册前用于判断用户名是否已被占用，尽量避免数据库查询和无谓的密码哈希计算：
+ * 1. 最近确认已占用的用户名保存在LRU缓存中，重复提交直接拒绝，不访问数据库
+ * 2. 布隆过滤器判断"一定未占用"时跳过查询，直接插入，由唯一索引兜底
+ * 3. 布隆过滤器判断"可能已占用"时才查询数据库确认
+ * 用户名只会被逻辑删除，唯一索引仍然占用，因此过滤器只增不减
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UsernameFilter {
+
+    /**
+     * 构建布隆过滤器时每批读取的行数
+     */
+    private static final int BATCH_SIZE = 5000;
+
+    private final UserMapper userMapper;
+
+    /**
+     * 是否启用
+     */
+    @Value("${user.username-filter.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 预计用户数，超出后误判率上升
+     */
+    @Value("${user.username-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    /**
+     * 期望误判率
+     */
+    @Value("${user.username-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    /**
+     * 已确认占用的用户名缓存条数
+     */
+    @Value("${user.username-filter.taken-cache-size:10000}")
+    private int takenCacheSize;
+
+    private BloomFilter bloomFilter;
+
+    private LRUCache<String, Boolean> taken;
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void init() {
+        bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        taken = new LRUCache<>(takenCacheSize);
+    }
+
+    /**
+     * 应用启动完成后在后台加载已有用户名
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            log.info("用户名过滤器未启用");
+            return;
+        }
+        Thread builder = new Thread(this::load, "username-filter-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * 按主键分批读取用户名并写入布隆过滤器
+     */
+    private void load() {
+        long start = System.currentTimeMillis();
+        long lastId = 0;
+        long total = 0;
+        try {
+            while (true) {
+                List<User> users = userMapper.selectUsernamesAfter(lastId, BATCH_SIZE);
+                for (User user : users) {
+                    bloomFilter.put(normalize(user.getUsername()));
+                }
+                total += users.size();
+                if (users.size() < BATCH_SIZE) {
+                    break;
+                }
+                lastId = users.get(users.size() - 1).getId();
+            }
+            ready = true;
+            log.info("用户名过滤器构建完成: {}个用户名, {}位, {}个哈希函数, 耗时{}ms",
+                    total, bloomFilter.getBitSize(), bloomFilter.getHashCount(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("用户名过滤器构建失败，注册时将始终查询数据库", e);
+        }
+    }
+
+    /**
+     * 判断用户名是否已被占用
+     * 布隆过滤器未就绪或判断可能存在时查询数据库确认
+     *
+     * @param username 用户名
+     * @return 是否已占用
+     */
+    public boolean isTaken(String username) {
+        String key = normalize(username);
+        if (enabled && taken.get(key, false) != null) {
+            return true;
+        }
+        if (enabled && ready && !bloomFilter.mightContain(key)) {
+            return false;
+        }
+        boolean exists = !userMapper.selectExistingUsernames(Collections.singletonList(username)).isEmpty();
+        if (exists) {
+            markTaken(username);
+        }
+        return exists;
+    }
+
+    /**
+     * 记录已被占用的用户名（注册成功或插入时唯一索引冲突）
+     *
+     * @param username 用户名
+     */
+    public void markTaken(String username) {
+        if (enabled) {
+            String key = normalize(username);
+            bloomFilter.put(key);
+            taken.put(key, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 用户改名后调用：记录新用户名，并清空已确认占用缓存（原用户名已释放）
+     *
+     * @param newUsername 新用户名
+     */
+    public void renamed(String newUsername) {
+        if (enabled) {
+            taken.clear();
+            bloomFilter.put(normalize(newUsername));
+        }
+    }
+
+    /**
+     * 规范化用户名：转小写，与数据库不区分大小写的唯一索引一致
+     */
+    private static String normalize(String username) {
+        return username == null ? "" : username.toLowerCase(Locale.ROOT);
+    }
+}
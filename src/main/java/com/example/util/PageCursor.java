@@ -0,0 +1,57 @@
+package com.example.util;
+
+import com.example.common.exception.ApiException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * 游标分页的游标
+ * 游标为Base64URL("创建时间秒数:用户ID")，创建时间按UTC换算为秒数，秒以下的部分被截断
+ */
+@Getter
+public final class PageCursor {
+
+    private final LocalDateTime createTime;
+    private final Long id;
+
+    private PageCursor(LocalDateTime createTime, Long id) {
+        this.createTime = createTime;
+        this.id = id;
+    }
+
+    /**
+     * 生成游标
+     *
+     * @param createTime 本页最后一条记录的创建时间
+     * @param id         本页最后一条记录的ID
+     * @return 游标字符串
+     */
+    public static String encode(LocalDateTime createTime, Long id) {
+        String raw = createTime.toEpochSecond(ZoneOffset.UTC) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param cursor 游标字符串
+     * @return 游标位置
+     * @throws ApiException 游标格式错误
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            LocalDateTime createTime = LocalDateTime.ofEpochSecond(
+                    Long.parseLong(raw.substring(0, separator)), 0, ZoneOffset.UTC);
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new PageCursor(createTime, id);
+        } catch (RuntimeException e) {
+            throw new ApiException("无效的分页游标");
+        }
+    }
+}
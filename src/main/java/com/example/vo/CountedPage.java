@@ -0,0 +1,55 @@
+package com.example.vo;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * 带总数来源说明的分页结果
+ * 总数可能来自实时计数、计数缓存或表统计信息估算
+ *
+ * @param <T> 记录类型
+ */
+public class CountedPage<T> extends Page<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 总数来源
+     */
+    public enum TotalType {
+        /**
+         * 实时精确计数
+         */
+        EXACT,
+
+        /**
+         * 来自计数缓存，在缓存有效期内可能略有滞后
+         */
+        CACHED,
+
+        /**
+         * 根据表统计信息估算
+         */
+        ESTIMATED
+    }
+
+    @ApiModelProperty("总数来源：EXACT-精确，CACHED-缓存，ESTIMATED-估算")
+    private TotalType totalType = TotalType.EXACT;
+
+    public CountedPage(long current, long size) {
+        super(current, size);
+    }
+
+    public CountedPage(long current, long size, long total) {
+        super(current, size, total);
+    }
+
+    public TotalType getTotalType() {
+        return totalType;
+    }
+
+    public CountedPage<T> setTotalType(TotalType totalType) {
+        this.totalType = totalType;
+        return this;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ *
+ * @param <T> 记录类型
+ */
+@Data
+@Accessors(chain = true)
+@ApiModel("游标分页结果")
+public class CursorPageVO<T> {
+
+    @ApiModelProperty("当前页记录")
+    private List<T> records;
+
+    @ApiModelProperty("下一页游标，为空表示没有更多数据")
+    private String nextCursor;
+
+    @ApiModelProperty("是否还有更多数据")
+    private Boolean hasMore;
+
+    @ApiModelProperty("总记录数，仅在请求时返回")
+    private Long total;
+}
@@ -22,6 +22,12 @@ public class LoginVO {
     @ApiModelProperty("昵称")
     private String nickname;
 
-    @ApiModelProperty("JWT Token")
+    @ApiModelProperty("访问token")
     private String token;
+
+    @ApiModelProperty("访问token有效期（秒）")
+    private Long expiresIn;
+
+    @ApiModelProperty("刷新token，用于在访问token过期后换取新的token")
+    private String refreshToken;
 }
@@ -0,0 +1,44 @@
+package com.example.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户导出数据（不包含密码）
+ */
+@Data
+@ApiModel("用户导出数据")
+@JsonPropertyOrder({"id", "username", "nickname", "email", "phone", "status", "createTime", "updateTime"})
+public class UserExportVO {
+
+    @ApiModelProperty("用户ID")
+    private Long id;
+
+    @ApiModelProperty("用户名")
+    private String username;
+
+    @ApiModelProperty("昵称")
+    private String nickname;
+
+    @ApiModelProperty("邮箱")
+    private String email;
+
+    @ApiModelProperty("手机号")
+    private String phone;
+
+    @ApiModelProperty("状态：0-禁用，1-启用")
+    private Integer status;
+
+    @ApiModelProperty("创建时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createTime;
+
+    @ApiModelProperty("更新时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updateTime;
+}
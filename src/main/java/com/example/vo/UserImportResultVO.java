@@ -0,0 +1,55 @@
+package com.example.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 批量导入用户的单行结果
+ */
+@Data
+@Accessors(chain = true)
+@ApiModel("批量导入用户单行结果")
+public class UserImportResultVO {
+
+    /**
+     * 导入结果状态
+     */
+    public enum Status {
+        /**
+         * 已创建
+         */
+        CREATED,
+
+        /**
+         * 用户名已存在或在导入数据中重复
+         */
+        DUPLICATE,
+
+        /**
+         * 数据格式或校验不通过
+         */
+        INVALID,
+
+        /**
+         * 写入数据库失败
+         */
+        FAILED
+    }
+
+    @ApiModelProperty("行号")
+    private Long line;
+
+    @ApiModelProperty("用户名")
+    private String username;
+
+    @ApiModelProperty("导入结果：CREATED-已创建，DUPLICATE-重复，INVALID-校验失败，FAILED-写入失败")
+    private Status status;
+
+    @ApiModelProperty("创建的用户ID")
+    private Long id;
+
+    @ApiModelProperty("失败原因")
+    private String message;
+}
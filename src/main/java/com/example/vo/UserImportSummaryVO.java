@@ -0,0 +1,33 @@
+package com.example.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 批量导入用户汇总结果
+ */
+@Data
+@Accessors(chain = true)
+@ApiModel("批量导入用户汇总结果")
+public class UserImportSummaryVO {
+
+    @ApiModelProperty("处理行数")
+    private long total;
+
+    @ApiModelProperty("创建成功数")
+    private long created;
+
+    @ApiModelProperty("重复数")
+    private long duplicate;
+
+    @ApiModelProperty("校验失败数")
+    private long invalid;
+
+    @ApiModelProperty("写入失败数")
+    private long failed;
+
+    @ApiModelProperty("耗时（毫秒）")
+    private long elapsedMillis;
+}
@@ -0,0 +1,125 @@
+package com.example.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.example.common.logging.CountingAsyncAppender;
+import com.example.common.logging.StructuredLogEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 同步与异步文件日志对请求线程的开销
+ * 每次调用模拟一个请求：work个单位的业务计算，加上3条带参数的INFO日志和1条被级别过滤的DEBUG日志
+ * sync：请求线程直接编码并写入文件（原prod配置）
+ * async：CountingAsyncAppender包装同一文件追加器（现prod配置：queueSize 8192、neverBlock），请求线程只入队
+ * 使用SampleTime输出分位数；work=0时是纯日志压测，后台线程写不过来，async大部分INFO日志被丢弃，测到的是丢弃路径；
+ * work>0时日志量接近真实请求，结束时打印丢弃条数，确认async的结果不是靠丢弃得到的
+ * <p>
+ * mvn -Pjmh -DskipTests verify -Djmh.args="AsyncLoggingBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class AsyncLoggingBenchmark {
+
+    @Param({"sync", "async"})
+    private String mode;
+
+    @Param({"false", "true"})
+    private boolean json;
+
+    @Param({"0", "20000"})
+    private long work;
+
+    private LoggerContext context;
+    private Logger logger;
+    private CountingAsyncAppender async;
+    private File directory;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("async-logging").toFile();
+        context = new LoggerContext();
+
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} %5p --- [%t] %-40.40logger{39} : %m%n");
+        encoder.setJson(json);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("BUSINESS_FILE");
+        file.setFile(new File(directory, "business.log").getPath());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if ("async".equals(mode)) {
+            async = new CountingAsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_BUSINESS");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setMaxFlushTime(2000);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+
+        logger = context.getLogger("com.example.service.impl.UserServiceImpl");
+        logger.setLevel(ch.qos.logback.classic.Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (async != null) {
+            System.out.printf("%ndropped: work=%d, json=%s, discarded=%d, overflowed=%d%n",
+                    work, json, async.getDiscardedCount(), async.getOverflowCount());
+        }
+        context.stop();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public void request() {
+        Blackhole.consumeCPU(work);
+        logger.info("查询用户列表: pageNum={}, pageSize={}, keyword={}", 1, 20, "alice");
+        logger.debug("跳过的调试日志: {}", "alice");
+        logger.info("搜索索引查询到{}条用户记录", 42);
+        logger.info("请求完成: uri={}, status={}, millis={}", "/user/list", 200, 12);
+    }
+}
@@ -0,0 +1,389 @@
+package com.example.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 大量并发连接下各请求执行模式（server.execution.mode）的对比压测
+ * 单线程NIO客户端保持connections个keep-alive连接，每个连接收到响应后等待think毫秒再发下一个请求，
+ * 模拟大量在线用户；运行期间每秒从管理端口抓取一次/actuator/prometheus，记录服务端线程数和堆内存的峰值，
+ * 结束时输出吞吐量、延迟分位数和错误数
+ * 客户端与服务端同机运行时两者争用CPU，结果只用于同一环境下不同模式的相对比较
+ * <p>
+ * 参数：url token [connections=5000] [seconds=60] [think=100] [metrics=http://应用主机:8091/actuator/prometheus]
+ * metrics与应用共用端口时需要管理员权限，抓取时同样携带token，此时token须属于security.admin-usernames中的用户
+ * mvn -Pjmh -DskipTests verify -Djmh.main=com.example.benchmark.ConnectionScaleHarness \
+ * -Djmh.args="http://localhost:8080/api/user/info eyJ... 5000 60 100"
+ */
+public class ConnectionScaleHarness {
+
+    private static final Pattern CONTENT_LENGTH = Pattern.compile("(?im)^content-length:\\s*(\\d+)\\s*$");
+    private static final Pattern CHUNKED = Pattern.compile("(?im)^transfer-encoding:\\s*chunked\\s*$");
+    private static final Pattern STATUS = Pattern.compile("^HTTP/1\\.1 (\\d{3})");
+    private static final byte[] HEADER_END = "\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+    private static final byte[] CHUNKED_END = "\r\n0\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+    /**
+     * 建立连接的速率：每轮最多新建的连接数，避免压满服务端accept队列
+     */
+    private static final int CONNECT_BATCH = 250;
+    private static final long CONNECT_INTERVAL_MILLIS = 50;
+
+    /**
+     * 延迟直方图精度：按微秒记录，上限60秒
+     */
+    private static final int MAX_LATENCY_MICROS = 60_000_000;
+
+    private final InetSocketAddress address;
+    private final byte[] request;
+    private final URL prometheus;
+    private final String authorization;
+    private final int connections;
+    private final long durationNanos;
+    private final long thinkNanos;
+
+    private final long[] latencies = new long[1 << 20];
+    private int latencyCount;
+    private long completed;
+    private long errors;
+    private long failedConnects;
+    private long closed;
+    private volatile double peakThreads;
+    private volatile double peakHeapBytes;
+
+    ConnectionScaleHarness(URI uri, String token, int connections, int seconds, int thinkMillis, URL prometheus) throws IOException {
+        int port = uri.getPort() > 0 ? uri.getPort() : 80;
+        this.address = new InetSocketAddress(uri.getHost(), port);
+        String path = uri.getRawPath() + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+        this.request = ("GET " + path + " HTTP/1.1\r\n"
+                + "Host: " + uri.getHost() + ":" + port + "\r\n"
+                + "Authorization: Bearer " + token + "\r\n"
+                + "Accept: application/json\r\n"
+                + "Connection: keep-alive\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1);
+        this.prometheus = prometheus;
+        this.authorization = "Bearer " + token;
+        this.connections = connections;
+        this.durationNanos = TimeUnit.SECONDS.toNanos(seconds);
+        this.thinkNanos = TimeUnit.MILLISECONDS.toNanos(thinkMillis);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: ConnectionScaleHarness url token [connections=5000] [seconds=60] [think=100] [metrics]");
+            System.exit(1);
+        }
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 5000;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 60;
+        int think = args.length > 4 ? Integer.parseInt(args[4]) : 100;
+        URI uri = URI.create(args[0]);
+        URL metrics = args.length > 5 ? new URL(args[5]) : new URL(uri.getScheme(), uri.getHost(), 8091, "/actuator/prometheus");
+        new ConnectionScaleHarness(uri, args[1], connections, seconds, think, metrics).run();
+    }
+
+    void run() throws IOException, InterruptedException {
+        Thread sampler = new Thread(this::sample, "prometheus-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+
+        PriorityQueue<Connection> idle = new PriorityQueue<>((a, b) -> Long.compare(a.nextSendAt, b.nextSendAt));
+        long start = System.nanoTime();
+        long deadline = start + durationNanos;
+        int opened = 0;
+        long nextConnectAt = start;
+        try (Selector selector = Selector.open()) {
+            while (true) {
+                long now = System.nanoTime();
+                if (now >= deadline) {
+                    break;
+                }
+                if (opened < connections && now >= nextConnectAt) {
+                    int batch = Math.min(CONNECT_BATCH, connections - opened);
+                    for (int i = 0; i < batch; i++) {
+                        connect(selector);
+                    }
+                    opened += batch;
+                    nextConnectAt = now + TimeUnit.MILLISECONDS.toNanos(CONNECT_INTERVAL_MILLIS);
+                }
+                while (!idle.isEmpty() && idle.peek().nextSendAt <= now) {
+                    idle.poll().send(now);
+                }
+
+                long waitNanos = Math.min(deadline - now, TimeUnit.MILLISECONDS.toNanos(CONNECT_INTERVAL_MILLIS));
+                if (!idle.isEmpty()) {
+                    waitNanos = Math.min(waitNanos, idle.peek().nextSendAt - now);
+                }
+                selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Connection connection = (Connection) key.attachment();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isConnectable()) {
+                        connection.finishConnect();
+                    } else if (key.isWritable()) {
+                        connection.flush();
+                    } else if (key.isReadable() && connection.read() && key.isValid()) {
+                        connection.nextSendAt = System.nanoTime() + thinkNanos;
+                        idle.add(connection);
+                    }
+                }
+            }
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+        }
+        sampler.interrupt();
+        report(System.nanoTime() - start, opened);
+    }
+
+    private void connect(Selector selector) {
+        try {
+            SocketChannel channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Connection connection = new Connection(channel);
+            if (channel.connect(address)) {
+                channel.register(selector, 0, connection);
+                connection.key = channel.keyFor(selector);
+                connection.send(System.nanoTime());
+            } else {
+                connection.key = channel.register(selector, SelectionKey.OP_CONNECT, connection);
+            }
+        } catch (IOException e) {
+            failedConnects++;
+        }
+    }
+
+    private void record(long latencyNanos) {
+        if (latencyCount < latencies.length) {
+            latencies[latencyCount++] = Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        } else {
+            // 样本数超过数组容量后按蓄水池抽样替换，保持分位数无偏
+            long index = (long) (Math.random() * completed);
+            if (index < latencies.length) {
+                latencies[(int) index] = Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            }
+        }
+    }
+
+    /**
+     * 每秒抓取一次服务端的线程数和堆内存用量，记录峰值
+     */
+    private void sample() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                HttpURLConnection connection = (HttpURLConnection) prometheus.openConnection();
+                connection.setRequestProperty("Authorization", authorization);
+                connection.setConnectTimeout(5000);
+                connection.setReadTimeout(5000);
+                String body;
+                try (InputStream in = connection.getInputStream()) {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[8192];
+                    int n;
+                    while ((n = in.read(buffer)) > 0) {
+                        out.write(buffer, 0, n);
+                    }
+                    body = new String(out.toByteArray(), StandardCharsets.UTF_8);
+                }
+                double threads = 0;
+                double heap = 0;
+                for (String line : body.split("\n")) {
+                    if (line.startsWith("jvm_threads_live_threads")) {
+                        threads = value(line);
+                    } else if (line.startsWith("jvm_memory_used_bytes") && line.contains("area=\"heap\"")) {
+                        heap += value(line);
+                    }
+                }
+                peakThreads = Math.max(peakThreads, threads);
+                peakHeapBytes = Math.max(peakHeapBytes, heap);
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                // 服务端过载时抓取超时，跳过本次采样
+            }
+        }
+    }
+
+    private static double value(String line) {
+        return Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+    }
+
+    private void report(long elapsedNanos, int opened) {
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("connections: opened=%d, failed=%d, closed=%d%n", opened, failedConnects, closed);
+        System.out.printf("requests: completed=%d, errors=%d, throughput=%.1f req/s%n",
+                completed, errors, completed / seconds);
+        System.out.printf("latency(ms): p50=%.1f, p90=%.1f, p99=%.1f, p999=%.1f, max=%.1f%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), percentile(sorted, 1.0));
+        System.out.printf("server: peakThreads=%.0f, peakHeap=%.1fMB%n", peakThreads, peakHeapBytes / 1024 / 1024);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1000.0;
+    }
+
+    /**
+     * 一个keep-alive连接，同一时间最多一个未完成的请求
+     */
+    private final class Connection {
+
+        private final SocketChannel channel;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(16384);
+        private final ByteArrayOutputStream response = new ByteArrayOutputStream(1024);
+        private ByteBuffer writeBuffer;
+        private SelectionKey key;
+        private long sentAt;
+        private long nextSendAt;
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        private void finishConnect() {
+            try {
+                channel.finishConnect();
+                send(System.nanoTime());
+            } catch (IOException e) {
+                failedConnects++;
+                close();
+            }
+        }
+
+        private void send(long now) {
+            if (!channel.isOpen()) {
+                return;
+            }
+            sentAt = now;
+            response.reset();
+            writeBuffer = ByteBuffer.wrap(request);
+            flush();
+        }
+
+        private void flush() {
+            try {
+                channel.write(writeBuffer);
+                key.interestOps(writeBuffer.hasRemaining() ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            } catch (IOException e) {
+                errors++;
+                close();
+            }
+        }
+
+        /**
+         * 读取响应，读到完整响应时返回true
+         */
+        private boolean read() {
+            try {
+                readBuffer.clear();
+                int n = channel.read(readBuffer);
+                if (n < 0) {
+                    errors++;
+                    close();
+                    return false;
+                }
+                response.write(readBuffer.array(), 0, n);
+                byte[] data = response.toByteArray();
+                int headerEnd = indexOf(data, HEADER_END, 0);
+                if (headerEnd < 0) {
+                    return false;
+                }
+                String headers = new String(data, 0, headerEnd, StandardCharsets.ISO_8859_1);
+                int bodyStart = headerEnd + HEADER_END.length;
+                Matcher length = CONTENT_LENGTH.matcher(headers);
+                boolean complete;
+                if (length.find()) {
+                    complete = data.length - bodyStart >= Integer.parseInt(length.group(1));
+                } else if (CHUNKED.matcher(headers).find()) {
+                    // 最后一个分块以"0\r\n\r\n"结尾，空响应体时该标记紧跟在响应头之后
+                    complete = endsWith(data, CHUNKED_END, bodyStart - 2);
+                } else {
+                    complete = true;
+                }
+                if (!complete) {
+                    return false;
+                }
+                long now = System.nanoTime();
+                completed++;
+                record(now - sentAt);
+                Matcher status = STATUS.matcher(headers);
+                if (!status.find() || !"200".equals(status.group(1))) {
+                    errors++;
+                }
+                key.interestOps(0);
+                return true;
+            } catch (IOException e) {
+                errors++;
+                close();
+                return false;
+            }
+        }
+
+        private void close() {
+            closed++;
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 关闭失败不影响统计
+            }
+        }
+    }
+
+    /**
+     * data在from之后是否以target结尾
+     */
+    private static boolean endsWith(byte[] data, byte[] target, int from) {
+        int start = data.length - target.length;
+        if (start < from) {
+            return false;
+        }
+        for (int j = 0; j < target.length; j++) {
+            if (data[start + j] != target[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] data, byte[] target, int from) {
+        outer:
+        for (int i = from; i <= data.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (data[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
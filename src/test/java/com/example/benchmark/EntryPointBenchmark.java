@@ -0,0 +1,174 @@
+package com.example.benchmark;
+
+import com.example.common.api.Result;
+import com.example.security.AuthMetrics;
+import com.example.security.JwtAuthenticationEntryPoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.AuthenticationException;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 未认证请求返回401响应体的开销
+ * legacy：原实现，每个请求新建ObjectMapper再序列化
+ * sharedMapper：使用全局ObjectMapper，每个请求序列化一次
+ * cached：JwtAuthenticationEntryPoint.commence，按提示信息缓存序列化后的字节
+ * baseline：只重置响应，其余各项减去该值即为响应体处理的开销
+ * 各项复用同一个只记录状态和字节数的响应（MockHttpServletResponse逐字节写入，本身约7us，会掩盖差异），
+ * 提示信息为未携带token时Spring Security的默认信息
+ * <p>
+ * mvn -Pjmh -DskipTests verify -Djmh.args="EntryPointBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntryPointBenchmark {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/list");
+    private final AuthenticationException exception =
+            new InsufficientAuthenticationException("Full authentication is required to access this resource");
+
+    private final DiscardingResponse response = new DiscardingResponse();
+
+    private ObjectMapper objectMapper;
+    private JwtAuthenticationEntryPoint entryPoint;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        entryPoint = new JwtAuthenticationEntryPoint(new AuthMetrics(new SimpleMeterRegistry()), objectMapper);
+        entryPoint.init();
+    }
+
+    @Benchmark
+    public HttpServletResponse baseline() {
+        response.reset();
+        return response;
+    }
+
+    @Benchmark
+    public HttpServletResponse legacy() throws IOException {
+        response.reset();
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        byte[] body = new ObjectMapper().writeValueAsBytes(Result.unauthorized(exception.getMessage()));
+        response.getOutputStream().write(body);
+        return response;
+    }
+
+    @Benchmark
+    public HttpServletResponse sharedMapper() throws IOException {
+        response.reset();
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        byte[] body = objectMapper.writeValueAsBytes(Result.unauthorized(exception.getMessage()));
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return response;
+    }
+
+    @Benchmark
+    public HttpServletResponse cached() throws IOException {
+        response.reset();
+        entryPoint.commence(request, response, exception);
+        return response;
+    }
+
+    /**
+     * 只记录状态、内容类型和写入字节数的响应
+     */
+    private static final class DiscardingResponse extends HttpServletResponseWrapper {
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                written++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                written += len;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        };
+
+        private int status;
+        private String contentType;
+        private long contentLength;
+        private long written;
+
+        private DiscardingResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public void reset() {
+            status = 0;
+            contentType = null;
+            contentLength = -1;
+            written = 0;
+        }
+
+        @Override
+        public void setStatus(int sc) {
+            status = sc;
+        }
+
+        @Override
+        public int getStatus() {
+            return status;
+        }
+
+        @Override
+        public void setContentType(String type) {
+            contentType = type;
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            contentLength = len;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.benchmark;
+
+import com.example.support.JwtFixtures;
+import com.example.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT签名和验签吞吐量：jjwt每次传入字符串密钥（原实现） vs 启动时构建密钥、线程本地Mac（JwtUtil）
+ * sign：签发token；verify：验证有效token；verifyInvalid：验证签名被篡改的token
+ * 验签关闭已验证token缓存，每次都计算HMAC
+ * <p>
+ * 单次运行：mvn -Pjmh -DskipTests verify -Djmh.args="JwtCodecBenchmark -t 4"
+ * 1-32线程：mvn -Pjmh -DskipTests verify -Djmh.main=com.example.benchmark.JwtCodecBenchmark，
+ * 依次以1、2、4、8、16、32个线程运行
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtCodecBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32};
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private String tampered;
+
+    @Setup
+    public void setup() {
+        jwtUtil = JwtFixtures.jwtUtil(false);
+        token = jwtUtil.generateToken(JwtFixtures.authentication());
+        // 修改签名的第一个字符
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char first = token.charAt(signatureStart);
+        tampered = token.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A') + token.substring(signatureStart + 1);
+    }
+
+    @Benchmark
+    public String legacySign() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject("1")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 300000))
+                .signWith(SignatureAlgorithm.HS512, JwtFixtures.SECRET)
+                .compact();
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtUtil.generateToken(JwtFixtures.authentication());
+    }
+
+    @Benchmark
+    public Jws<Claims> legacyVerify() {
+        return Jwts.parser().setSigningKey(JwtFixtures.SECRET).parseClaimsJws(token);
+    }
+
+    @Benchmark
+    public Object verify() {
+        return jwtUtil.verifyToken(token);
+    }
+
+    @Benchmark
+    public Object legacyVerifyInvalid() {
+        try {
+            return Jwts.parser().setSigningKey(JwtFixtures.SECRET).parseClaimsJws(tampered);
+        } catch (JwtException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public Object verifyInvalid() {
+        return jwtUtil.verifyToken(tampered);
+    }
+
+    /**
+     * 依次以1-32个线程运行，其余参数可按JMH命令行格式传入
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        for (int threads : THREADS) {
+            OptionsBuilder options = new OptionsBuilder();
+            options.parent(cli).threads(threads);
+            if (cli.getIncludes().isEmpty()) {
+                options.include(JwtCodecBenchmark.class.getSimpleName());
+            }
+            new Runner(options.build()).run();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.benchmark;
+
+import com.example.auth.jwt.TokenVerification;
+import com.example.support.JwtFixtures;
+import com.example.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter每个请求的token处理开销
+ * legacy：原来的validateToken + getUserIdFromToken，每次新建jjwt parser，验签两次
+ * singlePass：verifyToken一次完成验签和claims提取（关闭已验证token缓存）
+ * cached：同一token重复请求，命中已验证token缓存，不计算HMAC
+ * <p>
+ * mvn -Pjmh -DskipTests verify -Djmh.args="JwtVerifyBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerifyBenchmark {
+
+    private JwtUtil uncached;
+    private JwtUtil cached;
+    private String token;
+
+    @Setup
+    public void setup() {
+        uncached = JwtFixtures.jwtUtil(false);
+        cached = JwtFixtures.jwtUtil(true);
+        token = uncached.generateToken(JwtFixtures.authentication());
+        cached.verifyToken(token);
+    }
+
+    @Benchmark
+    public Long legacy(Blackhole blackhole) {
+        // validateToken
+        blackhole.consume(Jwts.parser().setSigningKey(JwtFixtures.SECRET).parseClaimsJws(token));
+        // getUserIdFromToken
+        Claims claims = Jwts.parser().setSigningKey(JwtFixtures.SECRET).parseClaimsJws(token).getBody();
+        return Long.parseLong(claims.getSubject());
+    }
+
+    @Benchmark
+    public Long singlePass() {
+        TokenVerification verification = uncached.verifyToken(token);
+        return uncached.getUserId(verification.getClaims());
+    }
+
+    @Benchmark
+    public Long cached() {
+        TokenVerification verification = cached.verifyToken(token);
+        return cached.getUserId(verification.getClaims());
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.benchmark;
+
+import com.example.service.impl.NGramUserSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 关键字搜索延迟随用户数的变化
+ * index：NGramUserSearchIndex.search，候选数超过上限时返回null（调用方回退到数据库），只计索引本身的耗时
+ * scan：逐行对用户名和昵称做子串匹配，相当于LIKE '%keyword%'全表扫描在内存中的下限
+ * keyword：rare-取某个用户名中的6个字符，只匹配极少数用户；gram-3个字符；short-2个字符
+ * 构建完成后在日志中打印各规模的估算内存
+ * <p>
+ * mvn -Pjmh -DskipTests verify -Djmh.args="UserSearchBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class UserSearchBenchmark {
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789";
+    private static final String NICKNAME_ALPHABET = "张王李赵刘陈杨黄小明华强丽芳军伟abcdefghijklmnopqrstuvwxyz";
+
+    @Param({"10000", "100000", "500000"})
+    private int users;
+
+    @Param({"rare", "gram", "short"})
+    private String keyword;
+
+    private NGramUserSearchIndex index;
+    private String[] usernames;
+    private String[] nicknames;
+    private String term;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(users);
+        usernames = new String[users];
+        nicknames = new String[users];
+        index = new NGramUserSearchIndex(null);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxMemoryMb", 4096L);
+        ReflectionTestUtils.setField(index, "maxCandidates", 10000);
+        for (int i = 0; i < users; i++) {
+            usernames[i] = randomText(random, ALPHABET, 6, 14);
+            nicknames[i] = randomText(random, NICKNAME_ALPHABET, 2, 8);
+            index.index((long) i + 1, usernames[i], nicknames[i]);
+        }
+        ReflectionTestUtils.setField(index, "ready", true);
+        System.out.printf("%n%d users, estimated %d KB%n", users,
+                (Long) ReflectionTestUtils.invokeMethod(index, "estimatedBytes") / 1024);
+
+        String sample = usernames[users / 2];
+        switch (keyword) {
+            case "rare":
+                term = sample.substring(0, 6);
+                break;
+            case "gram":
+                term = sample.substring(0, 3);
+                break;
+            default:
+                term = sample.substring(0, 2);
+                break;
+        }
+    }
+
+    @Benchmark
+    public List<Long> index() {
+        return index.search(term);
+    }
+
+    @Benchmark
+    public List<Long> scan() {
+        List<Long> result = new ArrayList<>();
+        for (int i = 0; i < usernames.length; i++) {
+            if (usernames[i].toLowerCase(Locale.ROOT).contains(term)
+                    || nicknames[i].toLowerCase(Locale.ROOT).contains(term)) {
+                result.add((long) i + 1);
+            }
+        }
+        return result;
+    }
+
+    private static String randomText(Random random, String alphabet, int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
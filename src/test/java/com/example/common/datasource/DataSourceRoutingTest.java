@@ -0,0 +1,337 @@
+package com.example.common.datasource;
+
+import com.example.config.DataSourceRoutingConfig;
+import com.example.dto.UserAuthDTO;
+import com.example.entity.User;
+import com.example.mapper.UserMapper;
+import com.example.security.PrincipalCache;
+import com.example.service.UserSearchIndex;
+import com.example.service.UserService;
+import com.example.service.impl.UserCountCache;
+import com.example.service.impl.UserServiceImpl;
+import com.example.service.impl.UsernameFilter;
+import com.example.vo.UserDetailVO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 读写分离路由：主库和从库是两个内存H2数据库，同一用户的昵称分别为primary和replica，
+ * 查询结果的昵称即实际访问的数据库
+ */
+@SpringJUnitConfig(DataSourceRoutingTest.Config.class)
+@TestPropertySource(properties = {
+        "datasource.routing.enabled=true",
+        "datasource.routing.replica-urls=" + DataSourceRoutingTest.REPLICA_URL,
+        "datasource.routing.read-your-writes-window=60000",
+        "datasource.routing.health-check-interval=0",
+        "spring.datasource.url=" + DataSourceRoutingTest.PRIMARY_URL,
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=2"
+})
+class DataSourceRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1";
+
+    private static final long ALICE = 1L;
+    private static final long BOB = 2L;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReportQueries reportQueries;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        initDatabase(PRIMARY_URL, "primary");
+        initDatabase(REPLICA_URL, "replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void queriesOutsideTransactionsUsePrimary() {
+        assertThat(nickname(ALICE)).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        assertThat(inTransaction(true, () -> nickname(ALICE))).isEqualTo("replica");
+        assertThat(inTransaction(false, () -> nickname(ALICE))).isEqualTo("primary");
+    }
+
+    @Test
+    void annotatedMethodsUseDeclaredRoute() {
+        assertThat(reportQueries.replicaNickname(ALICE)).isEqualTo("replica");
+        assertThat(reportQueries.primaryNickname(ALICE)).isEqualTo("primary");
+
+        // 读写事务中始终使用主库
+        assertThat(inTransaction(false, () -> reportQueries.replicaNickname(ALICE))).isEqualTo("primary");
+    }
+
+    @Test
+    void userServiceQueriesUseReplica() {
+        assertThat(userService.getUserDetail(ALICE).getNickname()).isEqualTo("replica");
+    }
+
+    @Test
+    void authLookupsArePinnedToPrimary() {
+        assertThat(userService.getAuthById(ALICE).getNickname()).isEqualTo("primary");
+        assertThat(userService.getAuthByUsername("alice").getNickname()).isEqualTo("primary");
+    }
+
+    @Test
+    void readsFollowOwnWritesToPrimary() {
+        login("alice");
+        User user = new User();
+        user.setId(ALICE);
+        user.setNickname("updated");
+        assertThat(userService.updateById(user)).isTrue();
+
+        // 写入只发生在主库，读己之写窗口内alice的查询读到刚写入的数据
+        assertThat(userService.getUserDetail(ALICE).getNickname()).isEqualTo("updated");
+
+        // 其他用户的查询仍使用从库
+        login("bob");
+        assertThat(userService.getUserDetail(BOB).getNickname()).isEqualTo("replica");
+    }
+
+    @Test
+    void failsOverWhenReplicaHealthCheckFails() throws Exception {
+        ToggleDataSource replica = new ToggleDataSource(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        RoutingDataSource routing = new RoutingDataSource(new DriverManagerDataSource(PRIMARY_URL, "sa", ""),
+                Collections.singletonMap("replica-1", replica));
+        routing.startHealthCheck(20, 1);
+        try {
+            assertThat(replicaRead(routing)).isEqualTo("replica");
+
+            // 健康检查摘除从库后，读请求回退到主库
+            replica.available = false;
+            awaitReplicaStatus(routing, false);
+            assertThat(replicaRead(routing)).isEqualTo("primary");
+
+            // 从库恢复后重新使用
+            replica.available = true;
+            awaitReplicaStatus(routing, true);
+            assertThat(replicaRead(routing)).isEqualTo("replica");
+        } finally {
+            routing.destroy();
+        }
+    }
+
+    @Test
+    void failsOverWhenReplicaConnectionFails() throws Exception {
+        ToggleDataSource replica = new ToggleDataSource(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.available = false;
+        RoutingDataSource routing = new RoutingDataSource(new DriverManagerDataSource(PRIMARY_URL, "sa", ""),
+                Collections.singletonMap("replica-1", replica));
+        try {
+            assertThat(replicaRead(routing)).isEqualTo("primary");
+            assertThat(routing.getFailovers()).isEqualTo(1);
+            assertThat(routing.getReplicaStatus()).containsEntry("replica-1", false);
+        } finally {
+            routing.destroy();
+        }
+    }
+
+    private String inTransaction(boolean readOnly, Supplier<String> query) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> query.get());
+    }
+
+    private String nickname(long id) {
+        return jdbcTemplate.queryForObject("SELECT nickname FROM sys_user WHERE id = ?", String.class, id);
+    }
+
+    private static String replicaRead(RoutingDataSource routing) {
+        RoutingContext.push(RouteType.REPLICA);
+        try {
+            return new JdbcTemplate(routing).queryForObject("SELECT nickname FROM sys_user WHERE id = ?", String.class, ALICE);
+        } finally {
+            RoutingContext.pop();
+        }
+    }
+
+    private static void awaitReplicaStatus(RoutingDataSource routing, boolean healthy) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!routing.getReplicaStatus().get("replica-1").equals(healthy) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(routing.getReplicaStatus()).containsEntry("replica-1", healthy);
+    }
+
+    private static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList()));
+    }
+
+    private static void initDatabase(String url, String nickname) {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        jdbc.execute("DROP TABLE IF EXISTS sys_user");
+        jdbc.execute("CREATE TABLE sys_user (id BIGINT PRIMARY KEY, username VARCHAR(64), nickname VARCHAR(64))");
+        jdbc.update("INSERT INTO sys_user VALUES (?, ?, ?)", ALICE, "alice", nickname);
+        jdbc.update("INSERT INTO sys_user VALUES (?, ?, ?)", BOB, "bob", nickname);
+    }
+
+    /**
+     * 通过注解指定路由的查询
+     */
+    static class ReportQueries {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        ReportQueries(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @DataSourceRoute(RouteType.REPLICA)
+        public String replicaNickname(long id) {
+            return jdbcTemplate.queryForObject("SELECT nickname FROM sys_user WHERE id = ?", String.class, id);
+        }
+
+        @DataSourceRoute(RouteType.PRIMARY)
+        public String primaryNickname(long id) {
+            return jdbcTemplate.queryForObject("SELECT nickname FROM sys_user WHERE id = ?", String.class, id);
+        }
+    }
+
+    /**
+     * 可模拟不可用的数据源
+     */
+    static class ToggleDataSource extends DelegatingDataSource {
+
+        private volatile boolean available = true;
+
+        ToggleDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!available) {
+                throw new SQLException("replica down");
+            }
+            return super.getConnection();
+        }
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @EnableConfigurationProperties(DataSourceProperties.class)
+    @Import(DataSourceRoutingConfig.class)
+    static class Config {
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        ReportQueries reportQueries(JdbcTemplate jdbcTemplate) {
+            return new ReportQueries(jdbcTemplate);
+        }
+
+        /**
+         * Mapper的查询和更新直接在路由后的数据源上执行
+         */
+        @Bean
+        UserMapper userMapper(JdbcTemplate jdbcTemplate) {
+            UserMapper mapper = mock(UserMapper.class);
+            when(mapper.selectDetailById(anyLong())).thenAnswer(invocation -> {
+                List<UserDetailVO> rows = jdbcTemplate.query("SELECT id, username, nickname FROM sys_user WHERE id = ?",
+                        (rs, i) -> {
+                            UserDetailVO detail = new UserDetailVO();
+                            detail.setId(rs.getLong(1));
+                            detail.setUsername(rs.getString(2));
+                            detail.setNickname(rs.getString(3));
+                            return detail;
+                        },
+                        invocation.<Long>getArgument(0));
+                return rows.isEmpty() ? null : rows.get(0);
+            });
+            when(mapper.selectAuthById(anyLong())).thenAnswer(invocation -> auth(jdbcTemplate,
+                    "SELECT id, username, nickname FROM sys_user WHERE id = ?", invocation.getArgument(0)));
+            when(mapper.selectAuthByUsername(anyString())).thenAnswer(invocation -> auth(jdbcTemplate,
+                    "SELECT id, username, nickname FROM sys_user WHERE username = ?", invocation.getArgument(0)));
+            when(mapper.updateById(any(User.class))).thenAnswer(invocation -> {
+                User user = invocation.getArgument(0);
+                return jdbcTemplate.update("UPDATE sys_user SET nickname = ? WHERE id = ?", user.getNickname(), user.getId());
+            });
+            return mapper;
+        }
+
+        @Bean
+        UserServiceImpl userService(TransactionTemplate transactionTemplate) {
+            return new UserServiceImpl(mock(PasswordEncoder.class), mock(PrincipalCache.class), mock(UserSearchIndex.class),
+                    mock(UserCountCache.class), mock(UsernameFilter.class), transactionTemplate);
+        }
+
+        @Bean
+        TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+            return new TransactionTemplate(transactionManager);
+        }
+
+        private static UserAuthDTO auth(JdbcTemplate jdbcTemplate, String sql, Object arg) {
+            List<UserAuthDTO> rows = jdbcTemplate.query(sql, (rs, i) -> {
+                UserAuthDTO auth = new UserAuthDTO();
+                auth.setId(rs.getLong(1));
+                auth.setUsername(rs.getString(2));
+                auth.setNickname(rs.getString(3));
+                return auth;
+            }, arg);
+            return rows.isEmpty() ? null : rows.get(0);
+        }
+    }
+}
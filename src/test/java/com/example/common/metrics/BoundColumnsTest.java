@@ -0,0 +1,46 @@
+package com.example.common.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundColumnsTest {
+
+    @Test
+    void resolvesWrapperUpdate() {
+        String sql = "UPDATE sys_user SET password=? WHERE deleted=0 AND (id = ? AND password = ?)";
+
+        assertThat(BoundColumns.resolve(sql)).containsExactly("password", "id", "password");
+    }
+
+    @Test
+    void resolvesComparisonsLikeAndIn() {
+        String sql = "SELECT id FROM sys_user u WHERE u.`email` <> ? AND (username LIKE ? OR nickname NOT LIKE ?)"
+                + " AND phone IN (?, ?,?) AND create_time >= ? LIMIT ?";
+
+        assertThat(BoundColumns.resolve(sql))
+                .containsExactly("email", "username", "nickname", "phone", "phone", "phone", "create_time", "limit");
+    }
+
+    @Test
+    void resolvesInsertColumns() {
+        String sql = "INSERT INTO sys_user ( username, password, email ) VALUES ( ?, ?, ? ), (?, ?, ?)";
+
+        assertThat(BoundColumns.resolve(sql))
+                .containsExactly("username", "password", "email", "username", "password", "email");
+    }
+
+    @Test
+    void unknownPositionsAreNull() {
+        String sql = "SELECT * FROM sys_user WHERE create_time BETWEEN ? AND ? AND COALESCE(?, 1) = 1";
+
+        assertThat(BoundColumns.resolve(sql)).containsExactly(null, null, null);
+    }
+
+    @Test
+    void ignoresQuestionMarksInLiterals() {
+        String sql = "SELECT * FROM sys_user WHERE nickname = 'who?' AND id = ?";
+
+        assertThat(BoundColumns.resolve(sql)).containsExactly("id");
+    }
+}
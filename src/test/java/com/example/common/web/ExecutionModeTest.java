@@ -0,0 +1,41 @@
+package com.example.common.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExecutionModeTest {
+
+    @Test
+    void defaultsToPlatform() {
+        assertThat(ExecutionMode.resolve(new MockEnvironment())).isEqualTo(ExecutionMode.PLATFORM);
+    }
+
+    @Test
+    void ignoresCaseAndWhitespace() {
+        assertThat(ExecutionMode.of("Async")).isEqualTo(ExecutionMode.ASYNC);
+        assertThat(ExecutionMode.of(" PLATFORM ")).isEqualTo(ExecutionMode.PLATFORM);
+        assertThat(ExecutionMode.of("virtual")).isEqualTo(ExecutionMode.VIRTUAL);
+    }
+
+    @Test
+    void rejectsUnknownModeListingValidValues() {
+        MockEnvironment environment = new MockEnvironment().withProperty(ExecutionMode.PROPERTY, "reactive");
+
+        assertThatThrownBy(() -> ExecutionMode.resolve(environment))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(ExecutionMode.PROPERTY)
+                .hasMessageContaining("platform、virtual、async")
+                .hasMessageContaining("reactive");
+    }
+
+    @Test
+    void virtualFallsBackToAsyncWithoutVirtualThreads() {
+        MockEnvironment environment = new MockEnvironment().withProperty(ExecutionMode.PROPERTY, "Virtual");
+
+        ExecutionMode expected = ExecutionMode.virtualThreadsSupported() ? ExecutionMode.VIRTUAL : ExecutionMode.ASYNC;
+        assertThat(ExecutionMode.resolve(environment)).isEqualTo(expected);
+    }
+}
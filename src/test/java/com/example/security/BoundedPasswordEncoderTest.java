@@ -0,0 +1,131 @@
+package com.example.security;
+
+import com.example.common.exception.ApiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final Set<String> hashThreads = ConcurrentHashMap.newKeySet();
+    private volatile CountDownLatch blocker;
+    private BoundedPasswordEncoder encoder;
+    private ExecutorService callers;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.destroy();
+        }
+        if (callers != null) {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void encodeAllRunsEverySliceInPoolAndKeepsOrder() {
+        encoder = new BoundedPasswordEncoder(new RecordingEncoder(), 2, 2, 1000);
+
+        List<String> encoded = encoder.encodeAll(passwords(10));
+
+        assertThat(encoded).containsExactlyElementsOf(expected(10));
+        assertThat(hashThreads).isNotEmpty().allMatch(name -> name.startsWith("password-hash-"));
+    }
+
+    @Test
+    void encodeAllWaitsForCapacityInsteadOfHashingOnCaller() throws Exception {
+        encoder = new BoundedPasswordEncoder(new RecordingEncoder(), 1, 1, 5000);
+        blocker = new CountDownLatch(1);
+        callers = Executors.newSingleThreadExecutor();
+        fillPool();
+
+        Future<List<String>> batch = callers.submit(() -> encoder.encodeAll(passwords(3)));
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertThat(batch.isDone()).isFalse();
+
+        blocker.countDown();
+
+        assertThat(batch.get(5, TimeUnit.SECONDS)).containsExactlyElementsOf(expected(3));
+        assertThat(hashThreads).allMatch(name -> name.startsWith("password-hash-"));
+    }
+
+    @Test
+    void encodeAllRejectsAfterTimeout() throws Exception {
+        encoder = new BoundedPasswordEncoder(new RecordingEncoder(), 1, 1, 200);
+        blocker = new CountDownLatch(1);
+        fillPool();
+
+        assertThatThrownBy(() -> encoder.encodeAll(passwords(2))).isInstanceOf(ApiException.class);
+        assertThat(encoder.getRejectedCount()).isGreaterThanOrEqualTo(1);
+        blocker.countDown();
+    }
+
+    /**
+     * 占满唯一的哈希线程和队列
+     */
+    private void fillPool() throws InterruptedException {
+        assertThat(encoder.encodeAsync("busy", encoded -> { })).isTrue();
+        assertThat(encoder.encodeAsync("queued", encoded -> { })).isTrue();
+        waitUntil(() -> encoder.getActiveCount() == 1 && encoder.getQueueDepth() == 1);
+    }
+
+    private static List<String> passwords(int count) {
+        List<String> passwords = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            passwords.add("password" + i);
+        }
+        return passwords;
+    }
+
+    private static List<String> expected(int count) {
+        List<String> encoded = new ArrayList<>(count);
+        for (String password : passwords(count)) {
+            encoded.add("{hash}" + password);
+        }
+        return encoded;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private class RecordingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            CountDownLatch latch = blocker;
+            if (latch != null && "busy".contentEquals(rawPassword)) {
+                try {
+                    latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            hashThreads.add(Thread.currentThread().getName());
+            return "{hash}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.example.entity.User;
+import com.example.mapper.UserMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NGramUserSearchIndexTest {
+
+    private UserMapper userMapper;
+    private NGramUserSearchIndex index;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // 构建索引使用Lambda条件，需要实体的表信息
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), User.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        userMapper = mock(UserMapper.class);
+        index = newIndex(userMapper, 64, 10000);
+    }
+
+    @Test
+    void returnsNullUntilBuilt() {
+        index.index(1L, "alice", "Alice");
+
+        assertThat(index.search("ali")).isNull();
+
+        load(index);
+
+        assertThat(index.search("ali")).containsExactly(1L);
+    }
+
+    @Test
+    void loadsUsersFromDatabase() {
+        load(index, user(1L, "alice", "爱丽丝"), user(2L, "bob", null));
+
+        assertThat(index.search("bob")).containsExactly(2L);
+        assertThat(index.search("丽丝")).containsExactly(1L);
+        assertThat(index.search("ALI")).containsExactly(1L);
+        assertThat(index.search("zzz")).isEmpty();
+    }
+
+    @Test
+    void matchesLikeForEveryKeywordLength() {
+        Random random = new Random(42);
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            users.add(user(id, randomText(random, 4, 12), random.nextInt(5) == 0 ? null : randomText(random, 1, 8)));
+        }
+        load(index, users.toArray(new User[0]));
+
+        for (int i = 0; i < 300; i++) {
+            String keyword = randomText(random, 1, 5);
+            assertThat(new TreeSet<>(index.search(keyword)))
+                    .as("keyword %s", keyword)
+                    .isEqualTo(like(users, keyword));
+        }
+    }
+
+    @Test
+    void matchesAtEndOfField() {
+        load(index, user(1L, "abcd", "xy"));
+
+        assertThat(index.search("d")).containsExactly(1L);
+        assertThat(index.search("cd")).containsExactly(1L);
+        assertThat(index.search("y")).containsExactly(1L);
+        assertThat(index.search("xy")).containsExactly(1L);
+        assertThat(index.search("dx")).isEmpty();
+    }
+
+    @Test
+    void ranksUsernameBeforeNicknameAndNewerUsersFirst() {
+        load(index,
+                user(1L, "xtomx", null),
+                user(2L, "tommy", null),
+                user(3L, "tom", null),
+                user(4L, "jerry", "tom"),
+                user(5L, "jerry2", "tomcat"),
+                user(6L, "jerry3", "a tom"),
+                user(7L, "atom", null));
+
+        assertThat(index.search("tom")).containsExactly(3L, 2L, 7L, 1L, 4L, 5L, 6L);
+    }
+
+    @Test
+    void updateReplacesOldTerms() {
+        load(index, user(1L, "alice", "old name"));
+
+        index.index(1L, "alice", "new name");
+
+        assertThat(index.search("old")).isEmpty();
+        assertThat(index.search("new")).containsExactly(1L);
+        assertThat(index.search("name")).containsExactly(1L);
+    }
+
+    @Test
+    void removeDropsUser() {
+        load(index, user(1L, "alice", null), user(2L, "alicia", null));
+
+        index.remove(1L);
+
+        assertThat(index.search("ali")).containsExactly(2L);
+        assertThat(index.search("e")).isEmpty();
+    }
+
+    @Test
+    void incrementalChangesDuringBuildWin() {
+        // 构建读到的是旧数据：用户1随后被更新，用户2随后被删除
+        when(userMapper.selectList(any())).thenAnswer(invocation -> {
+            index.index(1L, "alice", "renamed");
+            index.remove(2L);
+            return Arrays.asList(user(1L, "alice", "stale"), user(2L, "bob", null), user(3L, "carol", null));
+        });
+
+        index.load();
+
+        assertThat(index.search("stale")).isEmpty();
+        assertThat(index.search("renamed")).containsExactly(1L);
+        assertThat(index.search("bob")).isEmpty();
+        assertThat(index.search("carol")).containsExactly(3L);
+    }
+
+    @Test
+    void fallsBackWhenCandidatesExceedLimit() {
+        index = newIndex(userMapper, 64, 3);
+        load(index, user(1L, "anna", null), user(2L, "andy", null), user(3L, "alan", null), user(4L, "amos", null),
+                user(5L, "bob", null));
+
+        assertThat(index.search("a")).isNull();
+        assertThat(index.search("an")).containsExactly(2L, 1L, 3L);
+        assertThat(index.search("bob")).containsExactly(5L);
+    }
+
+    @Test
+    void releasesIndexWhenOverBudget() {
+        index = newIndex(userMapper, 1, 10000);
+        load(index, user(1L, "alice", null));
+        assertThat(index.search("alice")).containsExactly(1L);
+
+        // 约1MB的索引数据
+        for (long id = 2; id <= 3000; id++) {
+            index.index(id, "user" + id + "abcdefghijklmnopqrst", "nick" + id + "uvwxyzabcdefghijklmn");
+        }
+
+        assertThat(index.search("alice")).isNull();
+        assertThat(index.estimatedBytes()).isZero();
+        index.index(1L, "alice", null);
+        assertThat(index.estimatedBytes()).isZero();
+    }
+
+    @Test
+    void buildStopsWhenOverBudget() {
+        index = newIndex(userMapper, 1, 10000);
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            users.add(user(id, "user" + id + "abcdefghijklmnopqrst", "nick" + id + "uvwxyzabcdefghijklmn"));
+        }
+        when(userMapper.selectList(any())).thenReturn(users, Collections.emptyList());
+
+        index.load();
+
+        assertThat(index.search("user1")).isNull();
+    }
+
+    @Test
+    void disabledIndexIgnoresUpdates() {
+        ReflectionTestUtils.setField(index, "enabled", false);
+
+        index.index(1L, "alice", null);
+
+        assertThat(index.estimatedBytes()).isZero();
+    }
+
+    static NGramUserSearchIndex newIndex(UserMapper userMapper, long maxMemoryMb, int maxCandidates) {
+        NGramUserSearchIndex index = new NGramUserSearchIndex(userMapper);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxMemoryMb", maxMemoryMb);
+        ReflectionTestUtils.setField(index, "maxCandidates", maxCandidates);
+        return index;
+    }
+
+    private void load(NGramUserSearchIndex target, User... users) {
+        when(userMapper.selectList(any())).thenReturn(Arrays.asList(users));
+        target.load();
+    }
+
+    private static User user(Long id, String username, String nickname) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setNickname(nickname);
+        return user;
+    }
+
+    private static String randomText(Random random, int minLength, int maxLength) {
+        String alphabet = "abcAB张三";
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    private static Set<Long> like(List<User> users, String keyword) {
+        String term = keyword.toLowerCase(Locale.ROOT);
+        Set<Long> ids = new TreeSet<>();
+        for (User user : users) {
+            if (user.getUsername().toLowerCase(Locale.ROOT).contains(term)
+                    || (user.getNickname() != null && user.getNickname().toLowerCase(Locale.ROOT).contains(term))) {
+                ids.add(user.getId());
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.AbstractWrapper;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.example.entity.User;
+import com.example.mapper.UserMapper;
+import com.example.security.PrincipalCache;
+import com.example.service.UserSearchIndex;
+import com.example.vo.CountedPage;
+import com.example.vo.UserListVO;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+    private UserMapper userMapper;
+    private UserSearchIndex searchIndex;
+    private UserServiceImpl userService;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // 查询条件使用Lambda列名，需要实体的表信息
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), User.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        userMapper = mock(UserMapper.class);
+        searchIndex = mock(UserSearchIndex.class);
+        UserCountCache countCache = mock(UserCountCache.class);
+        when(countCache.count(any(), any())).thenReturn(new UserCountCache.Count(500, CountedPage.TotalType.EXACT));
+        userService = new UserServiceImpl(mock(PasswordEncoder.class), mock(PrincipalCache.class), searchIndex,
+                countCache, mock(UsernameFilter.class), mock(TransactionTemplate.class));
+        ReflectionTestUtils.setField(userService, "baseMapper", userMapper);
+        ReflectionTestUtils.setField(userService, "maxPageSize", 100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void cursorPageSizeIsClamped() {
+        ArgumentCaptor<Wrapper<User>> wrapper = ArgumentCaptor.forClass(Wrapper.class);
+        when(userMapper.selectListRows(wrapper.capture())).thenReturn(Collections.emptyList());
+
+        userService.listUsersByCursor(null, Integer.MAX_VALUE, null, false);
+        assertThat(wrapper.getValue().getSqlSegment()).endsWith("LIMIT 101");
+
+        userService.listUsersByCursor(null, 0, null, false);
+        assertThat(wrapper.getValue().getSqlSegment()).endsWith("LIMIT 2");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void offsetPageSizeIsClamped() {
+        ArgumentCaptor<IPage<UserListVO>> page = ArgumentCaptor.forClass(IPage.class);
+
+        CountedPage<UserListVO> result = userService.listUsers(Integer.MIN_VALUE, Integer.MAX_VALUE, null);
+
+        verify(userMapper).selectListPage(page.capture(), any());
+        assertThat(page.getValue().getSize()).isEqualTo(100);
+        assertThat(page.getValue().getCurrent()).isEqualTo(1);
+        assertThat(result.getTotal()).isEqualTo(500);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchPageSizeIsClamped() {
+        List<Long> ids = LongStream.rangeClosed(1, 500).boxed().collect(Collectors.toList());
+        when(searchIndex.search(anyString())).thenReturn(ids);
+        ArgumentCaptor<Wrapper<User>> wrapper = ArgumentCaptor.forClass(Wrapper.class);
+        when(userMapper.selectListRows(wrapper.capture())).thenReturn(Collections.emptyList());
+
+        CountedPage<UserListVO> result = userService.listUsers(2, Integer.MAX_VALUE, "al");
+
+        assertThat(result.getSize()).isEqualTo(100);
+        assertThat(result.getTotal()).isEqualTo(500);
+        // deleted = 0 加第二页的100个ID，参数在生成SQL片段时绑定
+        AbstractWrapper<User, ?, ?> query = (AbstractWrapper<User, ?, ?>) wrapper.getValue();
+        assertThat(query.getSqlSegment()).contains("IN");
+        Map<String, Object> params = query.getParamNameValuePairs();
+        assertThat(params).hasSize(101).containsValues(101L, 200L).doesNotContainValue(201L);
+    }
+}
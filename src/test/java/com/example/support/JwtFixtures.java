@@ -0,0 +1,84 @@
+package com.example.support;
+
+import com.example.security.Authorities;
+import com.example.security.AuthMetrics;
+import com.example.security.UserPrincipal;
+import com.example.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * 测试和基准测试共用的JwtUtil构建方法
+ * 不启动Spring容器，按application.yml的默认值设置配置项
+ */
+public final class JwtFixtures {
+
+    /**
+     * Base64编码的HS512测试密钥
+     */
+    public static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdGluZy1vbmx5LWMyVmpjbVYwTFd0bGVTMW1iM0l0ZEdWemRHbHVadw==";
+
+    /**
+     * reactive应用用{@link #SECRET}签发的访问token（用户900002/reactive，ROLE_USER，2100年过期）
+     * 用于验证两个应用签发的token可以互相识别，reactive应用的测试中有对应的servlet应用签发的token
+     */
+    public static final String REACTIVE_ACCESS_TOKEN = "eyJhbGciOiJIUzUxMiJ9"
+            + ".eyJzdWIiOiI5MDAwMDIiLCJpYXQiOjE3OTIzMDI4MDUsImV4cCI6NDEwMjQ0NDgwMCwianRpIjoiMGYwMTZiY2YzNTcyNGJhOTk0Mjc4ZWMyNzYyYzUzMGUiLCJ0eXAiOiJhY2Nlc3MiLCJ1c2VybmFtZSI6InJlYWN0aXZlIiwibmlja25hbWUiOiJSZWFjdGl2ZSIsInN0YXR1cyI6MSwiYXV0aCI6WyJST0xFX1VTRVIiXX0"
+            + ".FK2QAi8tZZY-fsvunyvMPICYAmHypvHGDJXyu5bb1W7HVMLjy7KG8EB9ofMZUZJDfeNApoS8mO56t7KvM7xnzg";
+
+    private JwtFixtures() {
+    }
+
+    /**
+     * 构建JwtUtil
+     *
+     * @param verifiedCacheEnabled 是否启用已验证token缓存
+     */
+    public static JwtUtil jwtUtil(boolean verifiedCacheEnabled) {
+        return jwtUtil(SECRET, 300000L, verifiedCacheEnabled);
+    }
+
+    /**
+     * 构建JwtUtil
+     *
+     * @param secret               Base64编码的密钥
+     * @param expiration           访问token有效期（毫秒）
+     * @param verifiedCacheEnabled 是否启用已验证token缓存
+     */
+    public static JwtUtil jwtUtil(String secret, long expiration, boolean verifiedCacheEnabled) {
+        JwtUtil jwtUtil = new JwtUtil(new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", secret);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationInMs", expiration);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpirationInMs", 604800000L);
+        ReflectionTestUtils.setField(jwtUtil, "acceptLegacyTokens", true);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheEnabled", verifiedCacheEnabled);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 10000);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheTtl", 60000L);
+        ReflectionTestUtils.setField(jwtUtil, "failureLogInterval", 60000L);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    /**
+     * 已启用的测试用户
+     */
+    public static UserPrincipal principal() {
+        return UserPrincipal.builder()
+                .id(1L)
+                .username("alice")
+                .nickname("Alice")
+                .status(1)
+                .authorities(Authorities.DEFAULT)
+                .build();
+    }
+
+    /**
+     * 测试用户的认证信息
+     */
+    public static Authentication authentication() {
+        UserPrincipal principal = principal();
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
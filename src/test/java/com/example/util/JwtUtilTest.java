@@ -0,0 +1,226 @@
+package com.example.util;
+
+import com.example.auth.jwt.TokenStatus;
+import com.example.auth.jwt.TokenVerification;
+import com.example.security.PrincipalClaims;
+import com.example.security.UserPrincipal;
+import com.example.support.JwtFixtures;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = JwtFixtures.jwtUtil(false);
+    }
+
+    @Test
+    void generatedTokenIsValidAndCarriesClaims() {
+        String token = jwtUtil.generateToken(JwtFixtures.authentication());
+
+        TokenVerification verification = jwtUtil.verifyToken(token);
+
+        assertThat(verification.isValid()).isTrue();
+        Claims claims = verification.getClaims();
+        assertThat(jwtUtil.getUserId(claims)).isEqualTo(1L);
+        assertThat(claims.getId()).isNotBlank();
+        assertThat(claims.getExpiration()).isAfter(new Date());
+        assertThat(jwtUtil.isRefreshToken(claims)).isFalse();
+        assertThat(verification.getPrincipal(PrincipalClaims::read).getUsername()).isEqualTo("alice");
+    }
+
+    @Test
+    void generatedTokenIsAcceptedByJjwt() {
+        String token = jwtUtil.generateToken(JwtFixtures.authentication());
+
+        Claims claims = Jwts.parser().setSigningKey(JwtFixtures.SECRET).parseClaimsJws(token).getBody();
+
+        assertThat(claims.getSubject()).isEqualTo("1");
+    }
+
+    @Test
+    void reactiveIssuedTokenIsAccepted() {
+        ReflectionTestUtils.setField(jwtUtil, "acceptLegacyTokens", false);
+
+        TokenVerification verification = jwtUtil.verifyToken(JwtFixtures.REACTIVE_ACCESS_TOKEN);
+
+        assertThat(verification.isValid()).isTrue();
+        assertThat(jwtUtil.isRefreshToken(verification.getClaims())).isFalse();
+        assertThat(jwtUtil.rejectsLegacyToken(verification.getClaims())).isFalse();
+        UserPrincipal principal = verification.getPrincipal(PrincipalClaims::read);
+        assertThat(principal.getId()).isEqualTo(900002L);
+        assertThat(principal.getUsername()).isEqualTo("reactive");
+        assertThat(principal.getNickname()).isEqualTo("Reactive");
+        assertThat(principal.getStatus()).isEqualTo(1);
+        assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void jjwtTokenIsAcceptedAsLegacyAccessToken() {
+        String token = jjwt(SignatureAlgorithm.HS512, JwtFixtures.SECRET, new Date(System.currentTimeMillis() + 60000));
+
+        TokenVerification verification = jwtUtil.verifyToken(token);
+
+        assertThat(verification.isValid()).isTrue();
+        assertThat(jwtUtil.isRefreshToken(verification.getClaims())).isFalse();
+        assertThat(verification.getPrincipal(PrincipalClaims::read)).isNull();
+    }
+
+    @Test
+    void legacyTokensAreRejectedOnlyWhenDisabled() {
+        String legacy = jjwt(SignatureAlgorithm.HS512, JwtFixtures.SECRET, new Date(System.currentTimeMillis() + 60000));
+        Claims legacyClaims = jwtUtil.verifyToken(legacy).getClaims();
+        Claims accessClaims = jwtUtil.verifyToken(jwtUtil.generateAccessToken(JwtFixtures.principal())).getClaims();
+        Claims refreshClaims = jwtUtil.verifyToken(jwtUtil.generateRefreshToken(1L)).getClaims();
+
+        assertThat(jwtUtil.rejectsLegacyToken(legacyClaims)).isFalse();
+
+        ReflectionTestUtils.setField(jwtUtil, "acceptLegacyTokens", false);
+        assertThat(jwtUtil.rejectsLegacyToken(legacyClaims)).isTrue();
+        assertThat(jwtUtil.rejectsLegacyToken(accessClaims)).isFalse();
+        assertThat(jwtUtil.rejectsLegacyToken(refreshClaims)).isFalse();
+    }
+
+    @Test
+    void refreshTokenIsRecognized() {
+        String token = jwtUtil.generateRefreshToken(1L);
+
+        TokenVerification verification = jwtUtil.verifyToken(token);
+
+        assertThat(verification.isValid()).isTrue();
+        assertThat(jwtUtil.isRefreshToken(verification.getClaims())).isTrue();
+        assertThat(verification.getPrincipal(PrincipalClaims::read)).isNull();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = jjwt(SignatureAlgorithm.HS512, JwtFixtures.SECRET, new Date(System.currentTimeMillis() - 1000));
+
+        assertThat(jwtUtil.verifyToken(token).getStatus()).isEqualTo(TokenStatus.EXPIRED);
+    }
+
+    @Test
+    void tokenNotYetValidIsRejected() {
+        String token = Jwts.builder()
+                .setSubject("1")
+                .setNotBefore(new Date(System.currentTimeMillis() + 60000))
+                .signWith(SignatureAlgorithm.HS512, JwtFixtures.SECRET)
+                .compact();
+
+        assertThat(jwtUtil.verifyToken(token).getStatus()).isEqualTo(TokenStatus.EXPIRED);
+    }
+
+    @Test
+    void tokenSignedWithOtherKeyIsRejected() {
+        String otherKey = Base64.getEncoder().encodeToString("another-secret-key-used-only-by-tests".getBytes(StandardCharsets.UTF_8));
+        String token = jjwt(SignatureAlgorithm.HS512, otherKey, new Date(System.currentTimeMillis() + 60000));
+
+        assertThat(jwtUtil.verifyToken(token).getStatus()).isEqualTo(TokenStatus.BAD_SIGNATURE);
+    }
+
+    @Test
+    void otherAlgorithmIsRejected() {
+        String token = jjwt(SignatureAlgorithm.HS256, JwtFixtures.SECRET, new Date(System.currentTimeMillis() + 60000));
+        // HS256签名长度不同，结构检查即拒绝
+        assertThat(jwtUtil.verifyToken(token).isValid()).isFalse();
+
+        // 伪造alg=none的头部，但保留合法长度的签名
+        String valid = jwtUtil.generateToken(JwtFixtures.authentication());
+        String noneHeader = BASE64_URL.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        String forged = noneHeader + valid.substring(valid.indexOf('.'));
+        assertThat(jwtUtil.verifyToken(forged).getStatus()).isEqualTo(TokenStatus.BAD_SIGNATURE);
+
+        // 替换为内容等价但编码不同的HS512头部，签名覆盖头部原文，不再匹配
+        String spacedHeader = BASE64_URL.encodeToString("{ \"alg\" : \"HS512\" }".getBytes(StandardCharsets.UTF_8));
+        String respaced = spacedHeader + valid.substring(valid.indexOf('.'));
+        assertThat(jwtUtil.verifyToken(respaced).getStatus()).isEqualTo(TokenStatus.BAD_SIGNATURE);
+    }
+
+    @Test
+    void tamperedSignatureIsRejectedAtAnyPosition() {
+        String token = jwtUtil.generateToken(JwtFixtures.authentication());
+        int start = token.lastIndexOf('.') + 1;
+
+        // 首字符和末字符都必须参与比较（完整比较，不提前返回）
+        for (int position : new int[]{start, token.length() - 2}) {
+            char c = token.charAt(position);
+            String tampered = token.substring(0, position) + (c == 'A' ? 'B' : 'A') + token.substring(position + 1);
+            assertThat(jwtUtil.verifyToken(tampered).getStatus()).isEqualTo(TokenStatus.BAD_SIGNATURE);
+        }
+    }
+
+    @Test
+    void tamperedPayloadIsRejected() {
+        String token = jwtUtil.generateToken(JwtFixtures.authentication());
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("\"sub\":\"1\"", "\"sub\":\"2\"");
+        String tampered = parts[0] + '.' + BASE64_URL.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + '.' + parts[2];
+
+        assertThat(jwtUtil.verifyToken(tampered).getStatus()).isEqualTo(TokenStatus.BAD_SIGNATURE);
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        String valid = jwtUtil.generateToken(JwtFixtures.authentication());
+
+        assertThat(jwtUtil.verifyToken(null).getStatus()).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(jwtUtil.verifyToken("").getStatus()).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(jwtUtil.verifyToken("abc").getStatus()).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(jwtUtil.verifyToken("a.b").getStatus()).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(jwtUtil.verifyToken(valid + "A").getStatus()).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(jwtUtil.verifyToken(valid.replaceFirst("\\.", ".+")).getStatus()).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(jwtUtil.getFailureCount(TokenStatus.MALFORMED)).isEqualTo(6);
+    }
+
+    @Test
+    void verifiedCacheReturnsSameResultAndSkipsInvalidTokens() {
+        JwtUtil cached = JwtFixtures.jwtUtil(true);
+        String token = cached.generateToken(JwtFixtures.authentication());
+
+        TokenVerification first = cached.verifyToken(token);
+        TokenVerification second = cached.verifyToken(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getPrincipal(PrincipalClaims::read)).isSameAs(first.getPrincipal(PrincipalClaims::read));
+        assertThat(cached.verifyToken(token + "A").isValid()).isFalse();
+    }
+
+    @Test
+    void resolveTokenReadsBearerHeader() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        assertThat(jwtUtil.resolveToken(request)).isNull();
+
+        request.addHeader("Authorization", "Basic abc");
+        assertThat(jwtUtil.resolveToken(request)).isNull();
+
+        MockHttpServletRequest bearer = new MockHttpServletRequest();
+        bearer.addHeader("Authorization", "Bearer abc.def.ghi");
+        assertThat(jwtUtil.resolveToken(bearer)).isEqualTo("abc.def.ghi");
+    }
+
+    private static String jjwt(SignatureAlgorithm algorithm, String key, Date expiration) {
+        return Jwts.builder()
+                .setSubject("1")
+                .setIssuedAt(new Date())
+                .setExpiration(expiration)
+                .signWith(algorithm, key)
+                .compact();
+    }
+}
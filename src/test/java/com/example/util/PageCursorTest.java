@@ -0,0 +1,82 @@
+package com.example.util;
+
+import com.example.common.exception.ApiException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void roundTrip() {
+        LocalDateTime createTime = LocalDateTime.of(2024, 3, 1, 12, 30, 45);
+
+        PageCursor cursor = PageCursor.decode(PageCursor.encode(createTime, 42L));
+
+        assertThat(cursor.getCreateTime()).isEqualTo(createTime);
+        assertThat(cursor.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void truncatesToSeconds() {
+        LocalDateTime createTime = LocalDateTime.of(2024, 3, 1, 12, 30, 45, 999_000_000);
+
+        PageCursor cursor = PageCursor.decode(PageCursor.encode(createTime, 1L));
+
+        assertThat(cursor.getCreateTime()).isEqualTo(LocalDateTime.of(2024, 3, 1, 12, 30, 45));
+    }
+
+    @Test
+    void encodesEpochSecondsAndIdAsUrlSafeBase64WithoutPadding() {
+        String cursor = PageCursor.encode(LocalDateTime.of(1970, 1, 1, 0, 1, 40), Long.MAX_VALUE);
+
+        assertThat(cursor).doesNotContain("=", "+", "/");
+        assertThat(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8))
+                .isEqualTo("100:" + Long.MAX_VALUE);
+    }
+
+    @Test
+    void supportsTimesBeforeEpoch() {
+        LocalDateTime createTime = LocalDateTime.of(1960, 6, 15, 8, 0);
+
+        assertThat(PageCursor.decode(PageCursor.encode(createTime, 7L)).getCreateTime()).isEqualTo(createTime);
+    }
+
+    @Test
+    void rejectsInvalidBase64() {
+        assertInvalid("not base64!");
+    }
+
+    @Test
+    void rejectsMissingSeparator() {
+        assertInvalid(encodeRaw("1700000000"));
+    }
+
+    @Test
+    void rejectsNonNumericParts() {
+        assertInvalid(encodeRaw("abc:1"));
+        assertInvalid(encodeRaw("1700000000:abc"));
+        assertInvalid(encodeRaw(":1"));
+        assertInvalid(encodeRaw("1700000000:"));
+    }
+
+    @Test
+    void rejectsOutOfRangeTime() {
+        assertInvalid(encodeRaw(Long.MAX_VALUE + ":1"));
+    }
+
+    private static void assertInvalid(String cursor) {
+        assertThatThrownBy(() -> PageCursor.decode(cursor))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("无效的分页游标");
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}